@@ -8,16 +8,21 @@ import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
 import budgetbuddy.exceptions.InvalidCategoryException;
 import budgetbuddy.exceptions.InvalidEditTransactionData;
 import budgetbuddy.exceptions.InvalidIndexException;
+import budgetbuddy.exceptions.InvalidTransactionIdException;
 import budgetbuddy.exceptions.InvalidTransactionTypeException;
 import budgetbuddy.insights.Insight;
 import budgetbuddy.parser.Parser;
 import budgetbuddy.storage.DataStorage;
+import budgetbuddy.storage.PersistenceWorker;
 import budgetbuddy.transaction.TransactionList;
 import budgetbuddy.ui.UserInterface;
 
 import java.io.File;
 import java.io.IOException;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.Scanner;
 import java.util.logging.FileHandler;
 import java.util.logging.Level;
@@ -39,9 +44,15 @@ public class BudgetBuddy {
     public static final String DELETE_ACC = "delete-acc";
     public static final String EDIT_ACC = "edit-acc";
     public static final String SEARCH = "search";
+    public static final String QUERY = "query";
+    public static final String BATCH_OPTION = "--batch";
+    public static final String STANDARD_INPUT = "-";
+    public static final String COMMENT = "#";
     public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private final AccountManager accountManager;
     private final TransactionList transactions;
+    private final Object stateLock = new Object();
+    private final PersistenceWorker persistenceWorker;
 
     /**
      * Creates a BudgetBuddy object with the account manager and transaction list.
@@ -50,6 +61,11 @@ public class BudgetBuddy {
         DataStorage dataStorage = new DataStorage();
         this.accountManager = dataStorage.loadAccounts();
         this.transactions = dataStorage.loadTransactions(accountManager.getExistingAccountNumbers());
+        HashMap<Integer, Long> balanceDrift = transactions.checkBalances(accountManager.getAccounts());
+        if (!balanceDrift.isEmpty()) {
+            UserInterface.printBalanceDrift(balanceDrift);
+        }
+        this.persistenceWorker = new PersistenceWorker(transactions, accountManager, stateLock);
     }
 
     /**
@@ -74,10 +90,26 @@ public class BudgetBuddy {
 
     /**
      * Main entry-point for the java.BudgetBuddy application.
+     * Started with `--batch FILE`, the commands are read from the file instead of the user, or from the standard
+     * input if no file or `-` is given.
      */
     public static void main(String[] args) {
         setupLogger();
-        new BudgetBuddy().run();
+        if (args.length == 0 || !args[0].equals(BATCH_OPTION)) {
+            new BudgetBuddy().run();
+            return;
+        }
+        UserInterface.setBatchMode(true);
+        if (args.length == 1 || args[1].equals(STANDARD_INPUT)) {
+            new BudgetBuddy().runBatch(UserInterface.in);
+            return;
+        }
+        try (Scanner commands = new Scanner(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            new BudgetBuddy().runBatch(commands);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error reading batch file " + args[1]);
+            UserInterface.printBatchFileError(args[1]);
+        }
     }
 
     /**
@@ -93,82 +125,144 @@ public class BudgetBuddy {
 
         boolean isRunning = true;
 
-        while (isRunning) {
-            String input = in.nextLine();
-            try {
-                if (input.contains(",")){
-                    throw new InvalidArgumentSyntaxException("Input cannot contain ',' comma.");
+        try {
+            while (isRunning) {
+                String input = in.nextLine();
+                isRunning = executeCommand(input);
+            }
+        } finally {
+            persistenceWorker.shutdown();
+        }
+    }
+
+    /**
+     * Runs the commands read from the scanner, one per line, until they run out or one of them is `bye`.
+     * Blank lines and lines starting with `#` are skipped. No command asks the user for anything, so every
+     * value must be given in the command itself. The changes are saved once, after the last command.
+     *
+     * @param commands The scanner to read the commands from.
+     */
+    public void runBatch(Scanner commands) {
+        boolean isRunning = true;
+        try {
+            while (isRunning && commands.hasNextLine()) {
+                String input = commands.nextLine().trim();
+                if (input.isEmpty() || input.startsWith(COMMENT)) {
+                    continue;
                 }
-                switch (input.split(" ")[0].toLowerCase()) {
-                case BYE:
-                    Insight.closeInsightFrames();
-                    UserInterface.printGoodBye();
-                    isRunning = false;
-                    break;
-                case LIST:
-                    transactions.processList(accountManager.getAccounts(), accountManager);
-                    break;
-                case DELETE:
+                isRunning = executeCommand(input);
+            }
+        } finally {
+            persistenceWorker.shutdown();
+        }
+    }
+
+    /**
+     * Executes a single command and schedules the resulting changes to be saved.
+     * In batch mode, the changes are left for the save after the last command instead.
+     * Commands that change the transactions or accounts hold the state lock while they change them, so that
+     * the persistence worker never saves half a change. Anything such a command asks the user for is read
+     * before the lock is taken, so a save never waits for the user to answer. Commands that only read run
+     * without the lock, since this is the only thread that changes the state.
+     *
+     * @param input The command entered by the user.
+     * @return false if the command ends the application, true otherwise.
+     */
+    private boolean executeCommand(String input) {
+        boolean isRunning = true;
+        try {
+            if (input.contains(",")){
+                throw new InvalidArgumentSyntaxException("Input cannot contain ',' comma.");
+            }
+            switch (input.split(" ")[0].toLowerCase()) {
+            case BYE:
+                Insight.closeInsightFrames();
+                UserInterface.printGoodBye();
+                isRunning = false;
+                break;
+            case LIST:
+                transactions.processList(input, accountManager.getAccounts(), accountManager);
+                break;
+            case DELETE:
+                synchronized (stateLock) {
                     transactions.removeTransaction(input, accountManager);
-                    break;
-                case ADD:
-                    int accountNumber = Parser.parseAccountNumber(input);
-                    Account account = accountManager.getAccountByAccountNumber(accountNumber);
-                    transactions.processTransaction(input, account);
-                    break;
-                case EDIT:
-                    transactions.processEditTransaction(input, accountManager);
-                    break;
-                case HELP:
-                    transactions.helpWithUserCommands(input);
-                    break;
-                case ADD_ACC:
+                }
+                break;
+            case ADD:
+                int accountNumber = Parser.parseAccountNumber(input);
+                Account account = accountManager.getAccountByAccountNumber(accountNumber);
+                String addCommand = transactions.completeAddCommand(input);
+                synchronized (stateLock) {
+                    transactions.processTransaction(addCommand, account);
+                }
+                break;
+            case EDIT:
+                String newValues = transactions.readEditValues(input);
+                synchronized (stateLock) {
+                    transactions.processEditTransaction(input, newValues, accountManager);
+                }
+                break;
+            case HELP:
+                transactions.helpWithUserCommands(input);
+                break;
+            case ADD_ACC:
+                synchronized (stateLock) {
                     accountManager.processAddAccount(input);
-                    break;
-                case INSIGHTS:
-                    transactions.displayInsights();
-                    break;
-                case LIST_ACC:
-                    UserInterface.printListOfAccounts(accountManager.getAccounts());
-                    break;
-                case DELETE_ACC:
+                }
+                break;
+            case INSIGHTS:
+                transactions.displayInsights();
+                break;
+            case LIST_ACC:
+                UserInterface.printListOfAccounts(accountManager.getAccounts());
+                break;
+            case DELETE_ACC:
+                synchronized (stateLock) {
                     accountManager.removeAccount(input, transactions);
-                    break;
-                case EDIT_ACC:
-                    accountManager.processEditAccount(input);
-                    break;
-                case SEARCH:
-                    transactions.searchTransactions(input);
-                    break;
-                default:
-                    UserInterface.printNoCommandExists();
                 }
-                transactions.saveTransactionList();
-                accountManager.saveAccounts();
-
-            } catch (InvalidAddTransactionSyntax e) {
-                UserInterface.printInvalidAddSyntax(e.getMessage());
-            } catch (NumberFormatException e) {
-                UserInterface.printNumberFormatError(e.getMessage());
-            } catch (InvalidTransactionTypeException e) {
-                UserInterface.printTransactionTypeError(e.getMessage());
-            } catch (EmptyArgumentException e) {
-                UserInterface.printEmptyArgumentError(e.getMessage());
-            } catch (InvalidIndexException e) {
-                UserInterface.printInvalidIndex("Given index id is out of bound",
-                        Integer.parseInt(e.getMessage()));
-            } catch (IndexOutOfBoundsException ignored) {
-                UserInterface.printInvalidInput("Please check your command syntax");
-            } catch (InvalidEditTransactionData e) {
-                UserInterface.printInvalidInput(e.getMessage());
-            } catch (InvalidArgumentSyntaxException e) {
-                UserInterface.printInvalidArgumentSyntax(e.getMessage());
-            } catch (InvalidCategoryException e) {
-                UserInterface.printInvalidCategoryError();
-            } catch (Exception e) {
-                UserInterface.printExceptionErrorMessage(e.getMessage());
+                break;
+            case EDIT_ACC:
+                String newName = accountManager.readNewAccountName(input);
+                synchronized (stateLock) {
+                    accountManager.processEditAccount(input, newName);
+                }
+                break;
+            case SEARCH:
+                transactions.searchTransactions(input);
+                break;
+            case QUERY:
+                transactions.queryTransactions(input);
+                break;
+            default:
+                UserInterface.printNoCommandExists();
             }
+        } catch (InvalidAddTransactionSyntax e) {
+            UserInterface.printInvalidAddSyntax(e.getMessage());
+        } catch (NumberFormatException e) {
+            UserInterface.printNumberFormatError(e.getMessage());
+        } catch (InvalidTransactionTypeException e) {
+            UserInterface.printTransactionTypeError(e.getMessage());
+        } catch (EmptyArgumentException e) {
+            UserInterface.printEmptyArgumentError(e.getMessage());
+        } catch (InvalidTransactionIdException e) {
+            UserInterface.printInvalidTransactionId(e.getMessage());
+        } catch (InvalidIndexException e) {
+            UserInterface.printInvalidIndex("Given index id is out of bound",
+                    Integer.parseInt(e.getMessage()));
+        } catch (IndexOutOfBoundsException ignored) {
+            UserInterface.printInvalidInput("Please check your command syntax");
+        } catch (InvalidEditTransactionData e) {
+            UserInterface.printInvalidInput(e.getMessage());
+        } catch (InvalidArgumentSyntaxException e) {
+            UserInterface.printInvalidArgumentSyntax(e.getMessage());
+        } catch (InvalidCategoryException e) {
+            UserInterface.printInvalidCategoryError();
+        } catch (Exception e) {
+            UserInterface.printExceptionErrorMessage(e.getMessage());
         }
-
+        if (!UserInterface.isBatchMode()) {
+            persistenceWorker.requestFlush();
+        }
+        return isRunning;
     }
 }
@@ -1,15 +1,22 @@
 package budgetbuddy.account;
 
+import budgetbuddy.money.Money;
+
 import java.util.logging.Logger;
 
 /**
  * Represents an account in the budget buddy system.
+ * Besides its current balance, an account remembers the balance it was opened with, so that the current balance
+ * can be checked against the opening balance plus the amounts of its transactions.
  */
 public class Account {
     public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private final int accountNumber;
     private String name;
-    private double balance;
+    private long balanceInCents;
+    private long openingBalanceInCents;
+    private boolean hasOpeningBalance = true;
+    private boolean isModified;
 
     /**
      * Creates an account with the given account number, and default name and balance.
@@ -20,7 +27,7 @@ public class Account {
         assert accountNumber > 0 : "Account number must be positive";
         this.accountNumber = accountNumber;
         this.name = "";
-        this.balance = 0.00;
+        this.balanceInCents = 0;
         LOGGER.info("Account created with default name and balance");
     }
 
@@ -36,17 +43,71 @@ public class Account {
         assert name != null : "Name cannot be null";
         this.accountNumber = accountNumber;
         this.name = name;
-        this.balance = balance;
+        this.balanceInCents = Money.fromDouble(balance);
+        this.openingBalanceInCents = balanceInCents;
         LOGGER.info("Account created with specified name and balance");
     }
 
+    /**
+     * Creates an account with the given account number, name and balance in cents.
+     *
+     * @param accountNumber  the account number
+     * @param name           the name
+     * @param balanceInCents the balance in cents
+     * @return the account
+     */
+    public static Account withBalanceInCents(int accountNumber, String name, long balanceInCents) {
+        return withBalancesInCents(accountNumber, name, balanceInCents, balanceInCents);
+    }
+
+    /**
+     * Creates an account with the given account number, name, opening balance and current balance in cents.
+     *
+     * @param accountNumber         the account number
+     * @param name                  the name
+     * @param openingBalanceInCents the balance the account was opened with, in cents
+     * @param balanceInCents        the current balance in cents
+     * @return the account
+     */
+    public static Account withBalancesInCents(int accountNumber, String name, long openingBalanceInCents,
+                                              long balanceInCents) {
+        Account account = new Account(accountNumber, name, 0);
+        account.openingBalanceInCents = openingBalanceInCents;
+        account.balanceInCents = balanceInCents;
+        return account;
+    }
+
+    /**
+     * Creates an account with the given account number, name and balance in cents, whose opening balance
+     * was not saved. The opening balance must be set before the balance can be checked.
+     *
+     * @param accountNumber  the account number
+     * @param name           the name
+     * @param balanceInCents the current balance in cents
+     * @return the account
+     */
+    public static Account withoutOpeningBalance(int accountNumber, String name, long balanceInCents) {
+        Account account = withBalanceInCents(accountNumber, name, balanceInCents);
+        account.hasOpeningBalance = false;
+        return account;
+    }
+
     /**
      * Returns the current balance of the account.
      *
      * @return the current balance
      */
     public double getBalance() {
-        return balance;
+        return Money.toDouble(balanceInCents);
+    }
+
+    /**
+     * Returns the current balance of the account in cents.
+     *
+     * @return the current balance in cents
+     */
+    public long getBalanceInCents() {
+        return balanceInCents;
     }
 
     /**
@@ -55,10 +116,59 @@ public class Account {
      * @param balance the new balance
      */
     public void setBalance(double balance) {
-        this.balance = balance;
+        setBalanceInCents(Money.fromDouble(balance));
+    }
+
+    /**
+     * Sets the balance of the account to the given amount in cents.
+     *
+     * @param balanceInCents the new balance in cents
+     */
+    public void setBalanceInCents(long balanceInCents) {
+        this.balanceInCents = balanceInCents;
+        this.isModified = true;
         LOGGER.info("Account balance updated");
     }
 
+    /**
+     * Returns the balance the account was opened with, in cents.
+     *
+     * @return the opening balance in cents
+     */
+    public long getOpeningBalanceInCents() {
+        return openingBalanceInCents;
+    }
+
+    /**
+     * Returns whether the opening balance of the account is known.
+     *
+     * @return false if the account was loaded from a file that did not save its opening balance
+     */
+    public boolean hasOpeningBalance() {
+        return hasOpeningBalance;
+    }
+
+    /**
+     * Sets the balance the account was opened with, in cents.
+     *
+     * @param openingBalanceInCents the opening balance in cents
+     */
+    public void setOpeningBalanceInCents(long openingBalanceInCents) {
+        this.openingBalanceInCents = openingBalanceInCents;
+        this.hasOpeningBalance = true;
+        this.isModified = true;
+        LOGGER.info("Account opening balance updated");
+    }
+
+    /**
+     * Adds the given amount in cents to the balance of the account.
+     *
+     * @param amountInCents the amount to add in cents, negative to decrease the balance
+     */
+    public void adjustBalance(long amountInCents) {
+        setBalanceInCents(balanceInCents + amountInCents);
+    }
+
     /**
      * Returns the account number.
      *
@@ -85,9 +195,26 @@ public class Account {
     public void setName(String name) {
         assert name != null : "Name cannot be null";
         this.name = name;
+        this.isModified = true;
         LOGGER.info("Account name updated");
     }
 
+    /**
+     * Returns whether the name or balance of the account changed since it was last saved.
+     *
+     * @return true if the account has unsaved changes
+     */
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Marks the account as saved.
+     */
+    public void clearModified() {
+        this.isModified = false;
+    }
+
     /**
      * Returns a string representation of the account, including the account number, name, and balance.
      *
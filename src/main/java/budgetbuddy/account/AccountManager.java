@@ -3,6 +3,7 @@ package budgetbuddy.account;
 import budgetbuddy.exceptions.EmptyArgumentException;
 import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
 import budgetbuddy.exceptions.InvalidIndexException;
+import budgetbuddy.money.Money;
 import budgetbuddy.parser.Parser;
 import budgetbuddy.storage.DataStorage;
 import budgetbuddy.transaction.TransactionList;
@@ -10,19 +11,25 @@ import budgetbuddy.transaction.type.Transaction;
 import budgetbuddy.ui.UserInterface;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages the accounts in the budget buddy system.
+ * The accounts are kept in a list in the order they were added, for listing, and in a map keyed by account
+ * number, so that looking up the account of a transaction does not scan the list.
  */
 public class AccountManager {
     public static final int INDEX_OFFSET = 1;
     public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private final DataStorage dataStorage = new DataStorage();
     private final ArrayList<Account> accounts;
-    private final ArrayList<Integer> existingAccountNumbers;
+    private final HashMap<Integer, Account> accountsByNumber = new HashMap<>();
+    private final HashSet<Integer> existingAccountNumbers;
+    private final AccountNumberAllocator accountNumberAllocator = new AccountNumberAllocator();
+    private boolean isAccountListModified;
 
 
     /**
@@ -30,7 +37,7 @@ public class AccountManager {
      */
     public AccountManager() {
         this.accounts = new ArrayList<>();
-        this.existingAccountNumbers = new ArrayList<>();
+        this.existingAccountNumbers = new HashSet<>();
         LOGGER.log(Level.INFO, "AccountManager created with empty account and account number lists");
     }
 
@@ -38,13 +45,17 @@ public class AccountManager {
      * Creates an AccountManager with the given account and account number lists.
      *
      * @param accounts               the list of accounts
-     * @param existingAccountNumbers the list of existing account numbers
+     * @param existingAccountNumbers the set of existing account numbers
      */
-    public AccountManager(ArrayList<Account> accounts, ArrayList<Integer> existingAccountNumbers) {
+    public AccountManager(ArrayList<Account> accounts, HashSet<Integer> existingAccountNumbers) {
         assert accounts != null : "Accounts list cannot be null";
-        assert existingAccountNumbers != null : "Existing account numbers list cannot be null";
+        assert existingAccountNumbers != null : "Existing account numbers set cannot be null";
         this.accounts = accounts;
         this.existingAccountNumbers = existingAccountNumbers;
+        for (Account account : accounts) {
+            accountsByNumber.put(account.getAccountNumber(), account);
+            accountNumberAllocator.markTaken(account.getAccountNumber());
+        }
         LOGGER.log(Level.INFO, "AccountManager created with specified account and account number lists");
     }
 
@@ -55,35 +66,37 @@ public class AccountManager {
      * @param initialBalance the initial balance of the account
      */
     public void addAccount(String name, double initialBalance) {
+        addAccountWithBalanceInCents(name, Money.fromDouble(initialBalance));
+    }
+
+    /**
+     * Adds an account with the given name and initial balance in cents.
+     *
+     * @param name                  the name of the account
+     * @param initialBalanceInCents the initial balance of the account in cents
+     * @throws IllegalStateException if every account number is taken
+     */
+    public void addAccountWithBalanceInCents(String name, long initialBalanceInCents) {
         assert name != null : "Name cannot be null";
         int newAccountNumber = generateAccountNumber();
-        accounts.add(new Account(newAccountNumber, name, initialBalance));
+        Account account = Account.withBalanceInCents(newAccountNumber, name, initialBalanceInCents);
+        accounts.add(account);
+        accountsByNumber.put(newAccountNumber, account);
         existingAccountNumbers.add(newAccountNumber);
+        isAccountListModified = true;
         LOGGER.log(Level.INFO, "Account added");
     }
 
     /**
-     * Generates a unique four-digit account number.
+     * Generates a unique account number and reserves it for a new account.
      *
      * @return the generated account number
+     * @throws IllegalStateException if every account number is taken
      */
     public int generateAccountNumber() {
-        Random random = new Random();
-        boolean noMatchFound = true;
-        int fourDigitNumber;
-        do {
-            fourDigitNumber = 1000 + random.nextInt(9000);
-            for (int accountNumber : existingAccountNumbers) {
-                if (accountNumber == fourDigitNumber) {
-                    noMatchFound = false;
-                    LOGGER.log(Level.WARNING, "Account number already exists. Generating new account number.");
-                    break;
-                }
-            }
-        } while (!noMatchFound);
-
+        int accountNumber = accountNumberAllocator.allocate();
         LOGGER.log(Level.INFO, "Account number generated");
-        return fourDigitNumber;
+        return accountNumber;
     }
 
     /**
@@ -106,7 +119,12 @@ public class AccountManager {
             }
         }
         String[] parsedData = Parser.parseAddAccount(input);
-        addAccount(parsedData[0], Double.parseDouble(parsedData[1]));
+        if (!accountNumberAllocator.hasFreeNumber()) {
+            UserInterface.printNoFreeAccountNumberMessage();
+            LOGGER.log(Level.WARNING, "No free account number left.");
+            return;
+        }
+        addAccountWithBalanceInCents(parsedData[0], Money.parseCents(parsedData[1]));
         UserInterface.printAddAccountMessage(getAccount(accounts.size() - INDEX_OFFSET).toString());
         LOGGER.log(Level.INFO, "Account added successfully");
     }
@@ -135,7 +153,10 @@ public class AccountManager {
             return;
         }
         accounts.remove(accountRemoved);
-        existingAccountNumbers.remove(Integer.valueOf(accountNumber));
+        accountsByNumber.remove(accountNumber);
+        existingAccountNumbers.remove(accountNumber);
+        accountNumberAllocator.release(accountNumber);
+        isAccountListModified = true;
         ArrayList<Transaction> transactionsRemoved = transactions.removeTransactionsByAccountNumber(accountNumber);
         UserInterface.printDeleteAccountMessage(accountRemoved.toString(), transactionsRemoved);
         LOGGER.log(Level.INFO, "Account removed successfully");
@@ -161,17 +182,17 @@ public class AccountManager {
      */
     public Account getAccountByAccountNumber(int accountNumber) {
         assert accountNumber > 0 : "Account number must be positive";
-        for (Account account : accounts) {
-            if (account.getAccountNumber() == accountNumber) {
-                return account;
-            }
+        Account account = accountsByNumber.get(accountNumber);
+        if (account != null) {
+            return account;
         }
         LOGGER.log(Level.WARNING, "Account not found.");
         throw new IllegalArgumentException("Account not found.");
     }
 
     /**
-     * Returns the list of accounts.
+     * Returns the list of accounts, in the order they were added.
+     * The list must not be modified directly, as the accounts are also indexed by account number.
      *
      * @return the list of accounts
      */
@@ -180,38 +201,82 @@ public class AccountManager {
     }
 
     /**
-     * Processes the editing of an account from the given input.
+     * Reads the new name of the account named by an `edit-acc` command.
+     * The new name can be given in the command, such as `edit-acc 1234 /n/Savings`, and is asked for otherwise.
+     * Nothing is changed, so the state lock does not need to be held while the user answers.
      *
      * @param input the input string
+     * @return the new name of the account
      * @throws EmptyArgumentException   if the input is empty
      * @throws IllegalArgumentException if the input is invalid
      */
-    public void processEditAccount(String input) throws EmptyArgumentException, IllegalArgumentException,
+    public String readNewAccountName(String input) throws EmptyArgumentException, IllegalArgumentException,
             InvalidArgumentSyntaxException {
         assert input != null : "Input cannot be null";
+        Account account = getAccountByAccountNumber(Parser.parseEditAccount(Parser.parseCommandHead(input)));
+        String newName = Parser.parseInlineArgument(input, "n");
+        return newName == null ? UserInterface.getNewAccountName(account.toString()) : newName;
+    }
+
+    /**
+     * Processes the editing of an account from the given input.
+     *
+     * @param input   the input string
+     * @param newName the new name of the account, as returned by {@link #readNewAccountName(String)}
+     * @throws EmptyArgumentException   if the input is empty
+     * @throws IllegalArgumentException if the input is invalid
+     */
+    public void processEditAccount(String input, String newName) throws EmptyArgumentException,
+            IllegalArgumentException {
+        assert input != null : "Input cannot be null";
         LOGGER.log(Level.INFO, "Processing edit account command");
-        int accountNumber = Parser.parseEditAccount(input);
+        int accountNumber = Parser.parseEditAccount(Parser.parseCommandHead(input));
         Account account = getAccountByAccountNumber(accountNumber);
-        String newName = UserInterface.getNewAccountName(account.toString());
         account.setName(newName);
         UserInterface.printUpdatedAccount(account.toString());
         LOGGER.log(Level.INFO, "Account edited successfully");
     }
 
     /**
-     * Saves the accounts to the data storage.
+     * Saves the accounts to the data storage if any account was added, removed or changed since the
+     * last save. Otherwise, no I/O is performed.
      */
     public void saveAccounts() {
         assert accounts != null : "Accounts list cannot be null";
+        if (!hasUnsavedChanges()) {
+            LOGGER.log(Level.INFO, "Accounts unchanged. Skipping save.");
+            return;
+        }
         dataStorage.saveAccounts(accounts);
+        for (Account account : accounts) {
+            account.clearModified();
+        }
+        isAccountListModified = false;
+    }
+
+    /**
+     * Returns whether any account was added, removed or changed since the last save.
+     *
+     * @return true if the accounts have unsaved changes
+     */
+    public boolean hasUnsavedChanges() {
+        if (isAccountListModified) {
+            return true;
+        }
+        for (Account account : accounts) {
+            if (account.isModified()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Returns the list of existing account numbers.
+     * Returns the set of existing account numbers.
      *
-     * @return the list of existing account numbers
+     * @return the set of existing account numbers
      */
-    public ArrayList<Integer> getExistingAccountNumbers() {
+    public HashSet<Integer> getExistingAccountNumbers() {
         return existingAccountNumbers;
     }
 }
@@ -0,0 +1,142 @@
+package budgetbuddy.account;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hands out unique account numbers drawn uniformly at random from a fixed range.
+ * The numbers in use are kept in a bitset with one bit per number of the range, so an allocation takes O(1)
+ * expected time while the range has room, and fails at once when every number is taken.
+ */
+public class AccountNumberAllocator {
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    public static final int LOWEST_ACCOUNT_NUMBER = 1000;
+    public static final int DEFAULT_HIGHEST_ACCOUNT_NUMBER = 9999;
+    public static final String HIGHEST_NUMBER_PROPERTY = "budgetbuddy.account.highestNumber";
+    private static final int MAX_RANDOM_ATTEMPTS = 32;
+
+    private final int lowest;
+    private final int rangeSize;
+    private final BitSet takenNumbers = new BitSet();
+    private final Random random;
+    private int takenCount;
+
+    /**
+     * Creates an allocator for the numbers from the given lowest to the given highest number, inclusive.
+     *
+     * @param lowest  the lowest account number
+     * @param highest the highest account number
+     * @param random  the source of random numbers
+     */
+    public AccountNumberAllocator(int lowest, int highest, Random random) {
+        assert lowest > 0 : "Lowest account number must be positive";
+        assert highest >= lowest : "Highest account number cannot be below the lowest one";
+        this.lowest = lowest;
+        this.rangeSize = highest - lowest + 1;
+        this.random = random;
+    }
+
+    /**
+     * Creates an allocator for the numbers from {@value #LOWEST_ACCOUNT_NUMBER} to the highest number set by
+     * the "budgetbuddy.account.highestNumber" system property, which defaults to
+     * {@value #DEFAULT_HIGHEST_ACCOUNT_NUMBER}.
+     */
+    public AccountNumberAllocator() {
+        this(LOWEST_ACCOUNT_NUMBER, getConfiguredHighestNumber(), new Random());
+    }
+
+    /**
+     * Returns the highest account number set by the "budgetbuddy.account.highestNumber" system property.
+     * The range can only be widened, so that the accounts created with the default range stay valid.
+     *
+     * @return the highest account number
+     */
+    public static int getConfiguredHighestNumber() {
+        int highest = Integer.getInteger(HIGHEST_NUMBER_PROPERTY, DEFAULT_HIGHEST_ACCOUNT_NUMBER);
+        if (highest < DEFAULT_HIGHEST_ACCOUNT_NUMBER) {
+            LOGGER.log(Level.WARNING, "Highest account number is below the default. Using the default.");
+            return DEFAULT_HIGHEST_ACCOUNT_NUMBER;
+        }
+        return highest;
+    }
+
+    /**
+     * Returns whether the given number lies in the range of this allocator.
+     *
+     * @param accountNumber the account number
+     * @return true if the number is in the range
+     */
+    public boolean isInRange(int accountNumber) {
+        return accountNumber >= lowest && accountNumber - lowest < rangeSize;
+    }
+
+    /**
+     * Returns whether there is still a number left to allocate.
+     *
+     * @return true if at least one number in the range is free
+     */
+    public boolean hasFreeNumber() {
+        return takenCount < rangeSize;
+    }
+
+    /**
+     * Marks a number as taken, such as the number of an account loaded from the disk.
+     * Numbers outside the range are ignored, as they can never be allocated.
+     *
+     * @param accountNumber the account number
+     */
+    public void markTaken(int accountNumber) {
+        if (!isInRange(accountNumber) || takenNumbers.get(accountNumber - lowest)) {
+            return;
+        }
+        takenNumbers.set(accountNumber - lowest);
+        takenCount++;
+    }
+
+    /**
+     * Frees a number, after its account was removed.
+     *
+     * @param accountNumber the account number
+     */
+    public void release(int accountNumber) {
+        if (!isInRange(accountNumber) || !takenNumbers.get(accountNumber - lowest)) {
+            return;
+        }
+        takenNumbers.clear(accountNumber - lowest);
+        takenCount--;
+    }
+
+    /**
+     * Picks a free number uniformly at random and marks it as taken.
+     * Random numbers are tried first, which takes few attempts unless the range is nearly full. After that,
+     * a random rank among the free numbers is chosen and the bitset is walked to it.
+     *
+     * @return the allocated account number
+     * @throws IllegalStateException if every number in the range is taken
+     */
+    public int allocate() {
+        if (!hasFreeNumber()) {
+            LOGGER.log(Level.WARNING, "All account numbers are taken.");
+            throw new IllegalStateException("All account numbers are taken.");
+        }
+        int offset = -1;
+        for (int attempt = 0; attempt < MAX_RANDOM_ATTEMPTS && offset < 0; attempt++) {
+            int candidate = random.nextInt(rangeSize);
+            if (!takenNumbers.get(candidate)) {
+                offset = candidate;
+            }
+        }
+        if (offset < 0) {
+            LOGGER.log(Level.INFO, "Account numbers are nearly exhausted. Picking from the free numbers.");
+            offset = takenNumbers.nextClearBit(0);
+            for (int rank = random.nextInt(rangeSize - takenCount); rank > 0; rank--) {
+                offset = takenNumbers.nextClearBit(offset + 1);
+            }
+        }
+        takenNumbers.set(offset);
+        takenCount++;
+        return lowest + offset;
+    }
+}
@@ -0,0 +1,7 @@
+package budgetbuddy.exceptions;
+
+public class InvalidTransactionIdException extends InvalidIndexException {
+    public InvalidTransactionIdException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,9 @@
 package budgetbuddy.insights;
 
 import budgetbuddy.categories.Category;
-import budgetbuddy.transaction.type.Expense;
-import budgetbuddy.transaction.type.Income;
-import budgetbuddy.transaction.type.Transaction;
+import budgetbuddy.money.Money;
+import budgetbuddy.transaction.TransactionTable;
+import budgetbuddy.transaction.index.CategoryTotals;
 import org.knowm.xchart.PieChart;
 import org.knowm.xchart.PieChartBuilder;
 import org.knowm.xchart.XChartPanel;
@@ -13,36 +13,17 @@ import org.knowm.xchart.style.PieStyler;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import java.awt.BorderLayout;
-import java.util.ArrayList;
 import java.awt.Window;
 
-import static java.lang.Math.abs;
-
 public class Insight {
     //@@author ShyamKrishna33
-    public static void displayCategoryInsight(ArrayList<Transaction> transactionArrayList) {
-        Category[] categoryArray = Category.values();
-        Double[] expenseArray =  new Double[categoryArray.length];
-        Double[] incomeArray =  new Double[categoryArray.length];
-
-        for (int i = 0; i < categoryArray.length; i++) {
-            expenseArray[i] =  0.0;
-            incomeArray[i] =  0.0;
-        }
-        for(Transaction t : transactionArrayList){
-            Category category = t.getCategory();
-            int index = indexOf(categoryArray, category);
-            if (t instanceof Expense) {
-                expenseArray[index] += abs(t.getAmount());
-            } else if (t instanceof Income){
-                incomeArray[index] += abs(t.getAmount());
-            }
-        }
-        displayPieChart(categoryArray, incomeArray, expenseArray);
+    public static void displayCategoryInsight(TransactionTable transactions) {
+        CategoryTotals totals = transactions.getCategoryTotals();
+        displayPieChart(Category.values(), totals.getIncomeTotals(), totals.getExpenseTotals());
     }
 
     //@@author
-    private static void displayPieChart(Category[] categoryArray, Double[] incomeArray, Double[] expenseArray) {
+    private static void displayPieChart(Category[] categoryArray, long[] incomeTotals, long[] expenseTotals) {
         JFrame incomeFrame = new JFrame("Income Insights");
         incomeFrame.setLayout(new BorderLayout());
         JFrame expenseFrame = new JFrame("Expense Insights");
@@ -61,8 +42,8 @@ public class Insight {
         incomeChart.getStyler().setAnnotationType(PieStyler.AnnotationType.LabelAndPercentage);
 
         for (int i = 0; i < categoryArray.length; i++) {
-            if (incomeArray[i] != 0) {
-                incomeChart.addSeries(categoryArray[i].getCategoryName(), incomeArray[i]);
+            if (incomeTotals[i] != 0) {
+                incomeChart.addSeries(categoryArray[i].getCategoryName(), Money.toDouble(incomeTotals[i]));
             }
         }
 
@@ -80,8 +61,8 @@ public class Insight {
         expenseChart.getStyler().setAnnotationType(PieStyler.AnnotationType.LabelAndPercentage);
 
         for (int i = 0; i < categoryArray.length; i++) {
-            if (expenseArray[i] != 0) {
-                expenseChart.addSeries(categoryArray[i].getCategoryName(), expenseArray[i]);
+            if (expenseTotals[i] != 0) {
+                expenseChart.addSeries(categoryArray[i].getCategoryName(), Money.toDouble(expenseTotals[i]));
             }
         }
 
@@ -93,16 +74,6 @@ public class Insight {
 
     }
 
-    //@@author ShyamKrishna33
-    private static int indexOf(Category[] array, Category target) {
-        for (int i = 0; i < array.length; i++) {
-            if (array[i].equals(target)) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
     //@@author Vavinan
     public static void closeInsightFrames() {
         // Close any open insight frames here
@@ -0,0 +1,136 @@
+package budgetbuddy.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts amounts of money between their text form and a whole number of cents.
+ * Amounts are held as cents everywhere in the ledger so that sums and balances are exact.
+ */
+public final class Money {
+    public static final int CENTS_PER_UNIT = 100;
+    private static final int FRACTION_DIGITS = 2;
+    private static final int MAX_FAST_PATH_DIGITS = 16;
+
+    private Money() {
+    }
+
+    /**
+     * Parses a decimal amount such as "12", "-3.5" or "1250.75" into cents.
+     * Amounts with more than two decimal places, or in exponent notation, are rounded half up to the nearest cent.
+     *
+     * @param text The amount to parse.
+     * @return The amount in cents.
+     * @throws NumberFormatException If the text is not a decimal number or does not fit in a long.
+     */
+    public static long parseCents(String text) throws NumberFormatException {
+        return parseCents(text, 0, text.length());
+    }
+
+    /**
+     * Parses the decimal amount between the given indices of the text into cents.
+     *
+     * @param text  The text holding the amount.
+     * @param start The index of the first character of the amount.
+     * @param end   The index after the last character of the amount.
+     * @return The amount in cents.
+     * @throws NumberFormatException If the characters are not a decimal number or do not fit in a long.
+     */
+    public static long parseCents(CharSequence text, int start, int end) throws NumberFormatException {
+        int position = start;
+        boolean isNegative = false;
+        if (position < end && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+            isNegative = text.charAt(position) == '-';
+            position++;
+        }
+        long units = 0;
+        int unitDigits = 0;
+        while (position < end && isDigit(text.charAt(position)) && unitDigits < MAX_FAST_PATH_DIGITS) {
+            units = units * 10 + (text.charAt(position) - '0');
+            unitDigits++;
+            position++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (position < end && text.charAt(position) == '.') {
+            position++;
+            while (position < end && isDigit(text.charAt(position)) && fractionDigits < FRACTION_DIGITS) {
+                fraction = fraction * 10 + (text.charAt(position) - '0');
+                fractionDigits++;
+                position++;
+            }
+        }
+        if (position != end || unitDigits + fractionDigits == 0) {
+            return parseCentsExactly(text.subSequence(start, end).toString());
+        }
+        for (int i = fractionDigits; i < FRACTION_DIGITS; i++) {
+            fraction *= 10;
+        }
+        long cents = units * CENTS_PER_UNIT + fraction;
+        return isNegative ? -cents : cents;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long parseCentsExactly(String text) throws NumberFormatException {
+        try {
+            return new BigDecimal(text.trim()).setScale(FRACTION_DIGITS, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Converts an amount given as a double into cents, using the shortest decimal form of the double.
+     *
+     * @param amount The amount to convert.
+     * @return The amount in cents, rounded half up to the nearest cent.
+     * @throws NumberFormatException If the amount is not finite or does not fit in a long.
+     */
+    public static long fromDouble(double amount) throws NumberFormatException {
+        return parseCentsExactly(Double.toString(amount));
+    }
+
+    /**
+     * Converts an amount in cents into a double, for display and for callers that still work with doubles.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in units of currency.
+     */
+    public static double toDouble(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    /**
+     * Formats an amount in cents as a plain decimal with exactly two decimal places, such as "-3.50".
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(), cents).toString();
+    }
+
+    /**
+     * Appends an amount in cents to the builder as a plain decimal with exactly two decimal places.
+     *
+     * @param builder The builder to append to.
+     * @param cents   The amount in cents.
+     * @return The builder.
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long cents) {
+        long units = cents / CENTS_PER_UNIT;
+        int fraction = (int) Math.abs(cents % CENTS_PER_UNIT);
+        if (cents < 0 && units == 0) {
+            builder.append('-');
+        }
+        builder.append(units).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+}
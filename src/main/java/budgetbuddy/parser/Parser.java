@@ -9,12 +9,16 @@ import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
 import budgetbuddy.exceptions.InvalidCategoryException;
 import budgetbuddy.exceptions.InvalidEditTransactionData;
 import budgetbuddy.exceptions.InvalidTransactionTypeException;
+import budgetbuddy.money.Money;
+import budgetbuddy.transaction.PageRequest;
 import budgetbuddy.transaction.TransactionList;
+import budgetbuddy.transaction.TransactionQuery;
 import budgetbuddy.transaction.type.Expense;
 import budgetbuddy.transaction.type.Income;
 import budgetbuddy.transaction.type.Transaction;
 import budgetbuddy.ui.UserInterface;
 
+import java.time.format.DateTimeParseException;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -27,6 +31,9 @@ public class Parser {
     public static final int HELP_BEGIN_INDEX = 4;
     public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
     private static final int ADD_ACC_COMMAND_INDEX = 7;
+    private static final int QUERY_COMMAND_INDEX = 5;
+    private static final String LIMIT_OPTION = "/limit/";
+    private static final String PAGE_OPTION = "/page/";
 
     /**
      * The function `parseAccountNumber` extracts and returns an account number from a given input
@@ -98,9 +105,8 @@ public class Parser {
         assert type != null;
 
         if (category == -1) {
-            LOGGER.log(Level.INFO, "Category not entered. Prompting for category.");
-            UserInterface.listCategories();
-            category = UserInterface.getCategoryNum();
+            LOGGER.log(Level.WARNING, "Category not entered");
+            throw new EmptyArgumentException("category ");
         }
 
         if (category < 1 || category > 9) {
@@ -108,7 +114,8 @@ public class Parser {
             throw new InvalidCategoryException("Category Index out of bounds");
         }
 
-        if (Double.parseDouble(amount) < 0) {
+        long amountInCents = Money.parseCents(amount);
+        if (amountInCents < 0) {
             LOGGER.log(Level.SEVERE, "Received negative amount.");
             throw new InvalidAddTransactionSyntax("Amount cannot be negative");
         }
@@ -118,13 +125,13 @@ public class Parser {
             throw new EmptyArgumentException("data for the arguments ");
         } else if (type.equalsIgnoreCase("income")) {
             Income income = new Income(account.getAccountNumber(), account.getName(), description,
-                    Double.parseDouble(amount), date, account);
+                    amountInCents, Transaction.parseDate(date));
             income.setCategory(Category.fromNumber(category));
             LOGGER.log(Level.INFO, "Successfully created transaction object");
             return income;
         } else if (type.equalsIgnoreCase("expense")) {
             Expense expense = new Expense(account.getAccountNumber(), account.getName(), description,
-                    Double.parseDouble(amount), date, account);
+                    amountInCents, Transaction.parseDate(date));
             expense.setCategory(Category.fromNumber(category));
             LOGGER.log(Level.INFO, "Successfully created transaction object");
             return expense;
@@ -158,17 +165,18 @@ public class Parser {
         String amount = parts[3].trim();
         String category = parts[4].trim();
         int categoryValue = Integer.parseInt(category);
+        long amountInCents = Money.parseCents(amount);
         if (categoryValue <= 0 || categoryValue > 9) {
             throw new InvalidEditTransactionData("Choose category number from the list 1-9");
         }
         if (type.equalsIgnoreCase("income")) {
             Income income = new Income(account.getAccountNumber(), account.getName(), description,
-                    Double.parseDouble(amount), date, account);
+                    amountInCents, Transaction.parseDate(date));
             income.setCategory(Category.fromNumber(categoryValue));
             return income;
         } else if (type.equalsIgnoreCase("expense")) {
             Expense expense = new Expense(account.getAccountNumber(), account.getName(), description,
-                    Double.parseDouble(amount), date, account);
+                    amountInCents, Transaction.parseDate(date));
             expense.setCategory(Category.fromNumber(categoryValue));
             return expense;
         } else {
@@ -176,6 +184,220 @@ public class Parser {
         }
     }
 
+    /**
+     * The function `parseQuery` parses the filters of a `query` command, such as
+     * `query /from/01-01-2024 /cat/1 /min/50`, into a query. Each filter is given as `/name/value`.
+     *
+     * @param input The `query` command entered by the user.
+     * @return      The query holding every filter that was given.
+     * @throws EmptyArgumentException          If no filter is given, or a filter has no value.
+     * @throws InvalidArgumentSyntaxException  If a filter name is unknown or a date is not in the DD-MM-YYYY format.
+     * @throws InvalidCategoryException        If the category number is not between 1 and 9.
+     * @throws InvalidTransactionTypeException If the type is neither income nor expense.
+     * @throws NumberFormatException           If an account number or amount is not a number.
+     */
+    public TransactionQuery parseQuery(String input) throws EmptyArgumentException, InvalidArgumentSyntaxException,
+            InvalidCategoryException, InvalidTransactionTypeException, NumberFormatException {
+        String data = input.length() > QUERY_COMMAND_INDEX ? input.substring(QUERY_COMMAND_INDEX).trim() : "";
+        String[] parseData = data.split("/", -1);
+        if (data.isEmpty() || !parseData[0].trim().isEmpty()) {
+            throw new EmptyArgumentException("query filters ");
+        }
+        TransactionQuery query = new TransactionQuery();
+        for (int i = 1; i < parseData.length; i += 2) {
+            String name = parseData[i].trim();
+            String value = i + 1 < parseData.length ? parseData[i + 1].trim() : "";
+            if (value.isEmpty()) {
+                throw new EmptyArgumentException("query filter " + name + " ");
+            }
+            try {
+                switch (name) {
+                case "from":
+                    query.setFromEpochDay((int) Transaction.parseDate(value).toEpochDay());
+                    break;
+                case "to":
+                    query.setToEpochDay((int) Transaction.parseDate(value).toEpochDay());
+                    break;
+                case "acc":
+                    query.setAccountNumber(Integer.parseInt(value));
+                    break;
+                case "cat":
+                    query.setCategory(Category.fromNumber(Integer.parseInt(value)));
+                    break;
+                case "type":
+                    query.setExpense(parseIsExpense(value));
+                    break;
+                case "min":
+                    query.setMinAmountInCents(Money.parseCents(value));
+                    break;
+                case "max":
+                    query.setMaxAmountInCents(Money.parseCents(value));
+                    break;
+                case "kw":
+                    query.setKeywords(value);
+                    break;
+                default:
+                    throw new InvalidArgumentSyntaxException("Unknown query filter /" + name + "/.");
+                }
+            } catch (DateTimeParseException e) {
+                throw new InvalidArgumentSyntaxException("Dates must be in the format DD-MM-YYYY.");
+            }
+        }
+        LOGGER.log(Level.INFO, "Parsed query filters");
+        return query;
+    }
+
+    private static boolean parseIsExpense(String type) throws InvalidTransactionTypeException {
+        if (type.equalsIgnoreCase("expense")) {
+            return true;
+        } else if (type.equalsIgnoreCase("income")) {
+            return false;
+        }
+        throw new InvalidTransactionTypeException(type);
+    }
+
+    /**
+     * The function `parsePageRequest` parses the `/limit/` and `/page/` options at the end of a `list`,
+     * `search` or `query` command, such as `list /limit/20 /page/2`. An option that is left out keeps its
+     * default value, and a command without either option gets the default page request.
+     *
+     * @param input The command entered by the user.
+     * @return      The page of the listing to show.
+     * @throws EmptyArgumentException         If an option has no value.
+     * @throws InvalidArgumentSyntaxException If an option is unknown or its value is not a positive whole number.
+     */
+    public PageRequest parsePageRequest(String input) throws EmptyArgumentException,
+            InvalidArgumentSyntaxException {
+        int optionsStart = findPageOptions(input);
+        if (optionsStart < 0) {
+            return PageRequest.getDefault();
+        }
+        String[] parseData = input.substring(optionsStart).split("/", -1);
+        int limit = PageRequest.DEFAULT_LIMIT;
+        int pageNumber = PageRequest.FIRST_PAGE;
+        for (int i = 1; i < parseData.length; i += 2) {
+            String name = parseData[i].trim();
+            String value = i + 1 < parseData.length ? parseData[i + 1].trim() : "";
+            if (value.isEmpty()) {
+                throw new EmptyArgumentException("page option " + name + " ");
+            }
+            int number;
+            try {
+                number = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidArgumentSyntaxException("The limit and page must be whole numbers.");
+            }
+            if (number < 1) {
+                throw new InvalidArgumentSyntaxException("The limit and page must be at least 1.");
+            }
+            switch (name) {
+            case "limit":
+                limit = number;
+                break;
+            case "page":
+                pageNumber = number;
+                break;
+            default:
+                throw new InvalidArgumentSyntaxException("Unknown page option /" + name + "/.");
+            }
+        }
+        LOGGER.log(Level.INFO, "Parsed page options");
+        return new PageRequest(limit, pageNumber, true);
+    }
+
+    /**
+     * The function `removePageOptions` returns a command without its `/limit/` and `/page/` options, which
+     * always come last.
+     *
+     * @param input The command entered by the user.
+     * @return      The command up to its page options.
+     */
+    public static String removePageOptions(String input) {
+        int optionsStart = findPageOptions(input);
+        return optionsStart < 0 ? input : input.substring(0, optionsStart);
+    }
+
+    /**
+     * The function `parseCommandHead` returns the part of a command before its first `/name/value` argument,
+     * such as `edit 3` for `edit 3 /$/12.50`.
+     *
+     * @param input The command entered by the user.
+     * @return      The command up to its first argument.
+     */
+    public static String parseCommandHead(String input) {
+        int argumentStart = input.indexOf(" /");
+        return argumentStart < 0 ? input : input.substring(0, argumentStart);
+    }
+
+    /**
+     * The function `parseInlineArgument` returns the value of an argument given in the command as
+     * `/name/value`, which runs up to the next argument. Commands that would otherwise ask for a value use it
+     * to take the value from the command instead, which is required in batch mode, where nothing is asked.
+     *
+     * @param input The command entered by the user.
+     * @param name  The name of the argument.
+     * @return      The value of the argument, or null if it is not given and can be asked for.
+     * @throws EmptyArgumentException If the argument has no value, or is not given in batch mode.
+     */
+    public static String parseInlineArgument(String input, String name) throws EmptyArgumentException {
+        String value = findArgumentValue(input, name);
+        if ((value == null && UserInterface.isBatchMode()) || (value != null && value.isEmpty())) {
+            throw new EmptyArgumentException("/" + name + "/ argument ");
+        }
+        return value;
+    }
+
+    /**
+     * The function `parseInlineEdit` reads the new values of a transaction from an `edit` command such as
+     * `edit 3 /$/12.50 /c/2`, in the form returned by `UserInterface.getEditInformation`. The arguments are the
+     * same as those of the `add` command, and each one that is left out keeps its current value.
+     *
+     * @param input       The `edit` command entered by the user.
+     * @param transaction The transaction being edited.
+     * @return            The new type, description, date, amount and category, separated by " | ".
+     * @throws EmptyArgumentException If an argument has no value.
+     */
+    public static String parseInlineEdit(String input, Transaction transaction) throws EmptyArgumentException {
+        String type = parseEditValue(input, "t", transaction.getTransactionType());
+        String description = parseEditValue(input, "n", transaction.getDescription());
+        String date = parseEditValue(input, "d", transaction.getDate().format(Transaction.DATE_FORMATTER));
+        String amount = parseEditValue(input, "$", Money.format(Math.abs(transaction.getAmountInCents())));
+        String category = parseEditValue(input, "c", String.valueOf(transaction.getCategory().getCategoryNum()));
+        return type + " | " + description + " | " + date + " | " + amount + " | " + category;
+    }
+
+    private static String parseEditValue(String input, String name, String currentValue)
+            throws EmptyArgumentException {
+        String value = findArgumentValue(input, name);
+        if (value == null) {
+            return currentValue;
+        }
+        if (value.isEmpty()) {
+            throw new EmptyArgumentException("/" + name + "/ argument ");
+        }
+        return value;
+    }
+
+    private static String findArgumentValue(String input, String name) {
+        String marker = "/" + name + "/";
+        int argumentStart = input.indexOf(marker);
+        if (argumentStart < 0) {
+            return null;
+        }
+        int valueStart = argumentStart + marker.length();
+        int valueEnd = input.indexOf(" /", valueStart);
+        return input.substring(valueStart, valueEnd < 0 ? input.length() : valueEnd).trim();
+    }
+
+    private static int findPageOptions(String input) {
+        int limitStart = input.indexOf(LIMIT_OPTION);
+        int pageStart = input.indexOf(PAGE_OPTION);
+        if (limitStart < 0 || pageStart < 0) {
+            return Math.max(limitStart, pageStart);
+        }
+        return Math.min(limitStart, pageStart);
+    }
+
     public String parseHelpCommand(String input) {
         return input.substring(HELP_BEGIN_INDEX).trim();
     }
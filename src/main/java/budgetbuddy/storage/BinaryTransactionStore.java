@@ -0,0 +1,245 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.TransactionTable;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores transactions in a compact binary file that is read into memory in one pass.
+ * The file holds a header, one fixed-width record per transaction, and a heap of the distinct strings.
+ * The header holds the record count, the heap size, and the next free transaction ID, so that the IDs of
+ * deleted transactions are not given out again after a restart.
+ * Each record holds the account number, the epoch day of the date, the category and type bytes, the amount
+ * in cents, the heap offsets of the description and the account name, and the transaction ID.
+ */
+class BinaryTransactionStore {
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    static final int MAGIC = 0x42554442;
+    static final int VERSION = 4;
+    static final int HEADER_SIZE = 20;
+    static final int RECORD_SIZE = 30;
+    private static final byte INCOME = 0;
+    private static final byte EXPENSE = 1;
+    private static final int STRING_LENGTH_SIZE = 4;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final boolean isFsyncEnabled;
+
+    /**
+     * Creates a store for the binary file at the given path.
+     *
+     * @param path           The path of the binary transactions file.
+     * @param isFsyncEnabled Whether the file is forced to the disk when it is written.
+     */
+    BinaryTransactionStore(Path path, boolean isFsyncEnabled) {
+        this.path = path;
+        this.isFsyncEnabled = isFsyncEnabled;
+    }
+
+    /**
+     * Writes the given transactions to the binary file.
+     * The file is written next to the old one and then moved over it, so a failed write leaves the old file intact.
+     *
+     * @param transactions The transactions to write.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    void write(TransactionTable transactions) throws IOException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        HashMap<String, Integer> heapOffsets = new HashMap<>();
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            channel.position(HEADER_SIZE);
+            for (Transaction t : transactions) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeFully(channel, buffer.flip());
+                    buffer.clear();
+                }
+                buffer.putInt(t.getAccountNumber());
+                buffer.putInt((int) t.getDate().toEpochDay());
+                buffer.put((byte) t.getCategory().getCategoryNum());
+                buffer.put(t instanceof Expense ? EXPENSE : INCOME);
+                buffer.putLong(t.getAmountInCents());
+                buffer.putInt(addToHeap(t.getDescription(), heapOffsets, heap));
+                buffer.putInt(addToHeap(t.getAccountName(), heapOffsets, heap));
+                buffer.putInt(t.getId());
+            }
+            writeFully(channel, buffer.flip());
+            writeFully(channel, ByteBuffer.wrap(heap.toByteArray()));
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(transactions.size()).putInt(heap.size())
+                    .putInt(transactions.getNextRowId());
+            channel.position(0);
+            writeFully(channel, header.flip());
+            if (isFsyncEnabled) {
+                channel.force(true);
+            }
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.log(Level.INFO, "Wrote " + transactions.size() + " transactions to the binary store");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Binary transactions file ended early");
+            }
+        }
+    }
+
+    private static int addToHeap(String string, HashMap<String, Integer> heapOffsets, ByteArrayOutputStream heap) {
+        Integer existingOffset = heapOffsets.get(string);
+        if (existingOffset != null) {
+            return existingOffset;
+        }
+        int offset = heap.size();
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        heap.write(bytes.length >>> 24);
+        heap.write(bytes.length >>> 16);
+        heap.write(bytes.length >>> 8);
+        heap.write(bytes.length);
+        heap.write(bytes, 0, bytes.length);
+        heapOffsets.put(string, offset);
+        return offset;
+    }
+
+    /**
+     * Reads all transactions from the binary file.
+     * The file is read whole into a heap buffer rather than mapped, since a mapping keeps the file open until it is
+     * garbage collected, and Windows does not allow the next write to move a new file over a mapped one.
+     * The records are copied straight into the columns of a table, and each account name is decoded once.
+     *
+     * @param existingAccountNumbers A set of existing account numbers.
+     * @return The table of transactions, in file order.
+     * @throws IOException              If an I/O error occurs while reading the file.
+     * @throws FileCorruptedException   If the file is not a valid binary transactions file.
+     * @throws InvalidCategoryException If a record has an invalid category.
+     */
+    TransactionTable read(HashSet<Integer> existingAccountNumbers)
+            throws IOException, FileCorruptedException, InvalidCategoryException {
+        long startTime = System.nanoTime();
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new FileCorruptedException("Binary transactions file is too large");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            readFully(channel, buffer);
+        }
+        int count = readHeader(buffer);
+        int heapOffset = HEADER_SIZE + count * RECORD_SIZE;
+        ByteBuffer heapView = buffer.duplicate();
+        byte[] scratch = new byte[0];
+        HashMap<Integer, String> accountNames = new HashMap<>();
+
+        TransactionTable transactions = new TransactionTable(count);
+        for (int i = 0; i < count; i++) {
+            int position = HEADER_SIZE + i * RECORD_SIZE;
+            int accountNumber = buffer.getInt(position);
+            int epochDay = buffer.getInt(position + 4);
+            Category category = Category.fromNumber(buffer.get(position + 8));
+            byte type = buffer.get(position + 9);
+            long amountInCents = buffer.getLong(position + 10);
+            int descriptionLength = readStringLength(heapView, heapOffset, buffer.getInt(position + 18));
+            if (scratch.length < descriptionLength) {
+                scratch = new byte[Math.max(descriptionLength, scratch.length * 2)];
+            }
+            heapView.get(scratch, 0, descriptionLength);
+            String description = new String(scratch, 0, descriptionLength, StandardCharsets.UTF_8);
+            int accountNameOffset = buffer.getInt(position + 22);
+            String accountName = accountNames.get(accountNameOffset);
+            if (accountName == null) {
+                byte[] bytes = new byte[readStringLength(heapView, heapOffset, accountNameOffset)];
+                heapView.get(bytes);
+                accountName = new String(bytes, StandardCharsets.UTF_8);
+                accountNames.put(accountNameOffset, accountName);
+            }
+            if (!existingAccountNumbers.contains(accountNumber)) {
+                throw new FileCorruptedException("Invalid account number");
+            }
+            if (type != INCOME && type != EXPENSE) {
+                throw new FileCorruptedException("Invalid transaction type");
+            }
+            int id = buffer.getInt(position + 26);
+            try {
+                transactions.addRow(id, accountNumber, accountName, description, amountInCents, epochDay, category,
+                        type == EXPENSE);
+            } catch (IllegalArgumentException e) {
+                throw new FileCorruptedException("Invalid transaction ID");
+            }
+        }
+        try {
+            transactions.setNextRowId(buffer.getInt(16));
+        } catch (IllegalArgumentException e) {
+            throw new FileCorruptedException("Invalid next transaction ID");
+        }
+        LOGGER.log(Level.INFO, String.format("Loaded %d transactions from the binary store in %.1f ms", count,
+                (System.nanoTime() - startTime) / 1_000_000.0));
+        return transactions;
+    }
+
+    private static int readHeader(ByteBuffer buffer) throws FileCorruptedException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new FileCorruptedException("Not a binary transactions file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new FileCorruptedException("Unsupported binary transactions file version");
+        }
+        int count = buffer.getInt(8);
+        int heapSize = buffer.getInt(12);
+        if (count < 0 || heapSize < 0 || (long) HEADER_SIZE + (long) count * RECORD_SIZE + heapSize
+                != buffer.capacity()) {
+            throw new FileCorruptedException("Invalid binary transactions file size");
+        }
+        return count;
+    }
+
+    /**
+     * Validates the heap string at the given offset and positions the view at its first byte.
+     *
+     * @return The length of the string in bytes.
+     */
+    private static int readStringLength(ByteBuffer heapView, int heapOffset, int offset)
+            throws FileCorruptedException {
+        int position = heapOffset + offset;
+        if (offset < 0 || position > heapView.capacity() - STRING_LENGTH_SIZE) {
+            throw new FileCorruptedException("Invalid string offset");
+        }
+        int length = heapView.getInt(position);
+        if (length < 0 || length > heapView.capacity() - position - STRING_LENGTH_SIZE) {
+            throw new FileCorruptedException("Invalid string length");
+        }
+        heapView.position(position + STRING_LENGTH_SIZE);
+        return length;
+    }
+}
@@ -2,25 +2,33 @@ package budgetbuddy.storage;
 
 import budgetbuddy.account.Account;
 import budgetbuddy.account.AccountManager;
+import budgetbuddy.account.AccountNumberAllocator;
 import budgetbuddy.categories.Category;
 import budgetbuddy.exceptions.FileCorruptedException;
 import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
 import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.money.Money;
 import budgetbuddy.transaction.TransactionList;
+import budgetbuddy.transaction.TransactionTable;
 import budgetbuddy.transaction.type.Expense;
 import budgetbuddy.transaction.type.Income;
 import budgetbuddy.transaction.type.Transaction;
 import budgetbuddy.ui.UserInterface;
 
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -32,30 +40,124 @@ import java.util.logging.Level;
 public class DataStorage {
     public static final String TRANSACTIONS_FILE_PATH = "./data/transactions.txt";
     public static final String ACCOUNTS_FILE_PATH = "./data/accounts.txt";
+    public static final String JOURNAL_FILE_PATH = "./data/transactions.journal";
+    public static final String BINARY_TRANSACTIONS_FILE_PATH = "./data/transactions.bin";
+    public static final String MIGRATED_TRANSACTIONS_FILE_PATH = "./data/transactions.txt.bak";
+    public static final String MIGRATED_BINARY_TRANSACTIONS_FILE_PATH = "./data/transactions.bin.bak";
+    public static final String TRIGRAM_INDEX_FILE_PATH = "./data/transactions.trigrams";
     public static final String FOLDER_PATH = "./data";
+    public static final long MIN_COMPACTION_JOURNAL_SIZE = 64 * 1024;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final String BUFFER_SIZE_PROPERTY = "budgetbuddy.storage.bufferSize";
+    public static final String FSYNC_PROPERTY = "budgetbuddy.storage.fsync";
+    public static final String FORMAT_PROPERTY = "budgetbuddy.storage.format";
+    public static final String TEXT_FORMAT = "text";
+    public static final String CORRUPT_FILE_SUFFIX = ".corrupt";
+    static final String SEPARATOR = " ,";
+    static final String NEXT_ID_HEADER = "next-id";
+    private static final int TRANSACTION_FIELD_COUNT = 8;
+    private static final int UNNUMBERED_TRANSACTION_FIELD_COUNT = 7;
+    private static final int ACCOUNT_FIELD_COUNT = 4;
+    private static final int UNOPENED_ACCOUNT_FIELD_COUNT = 3;
+    private static final String INCOME = "Income";
+    private static final String EXPENSE = "Expense";
+    private static final ThreadLocal<RecordScanner> RECORD_SCANNER = ThreadLocal.withInitial(RecordScanner::new);
     public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
+    private final int bufferSize;
+    private final boolean isFsyncEnabled;
+    private final boolean isBinaryFormat;
+
+    /**
+     * Creates a DataStorage object whose buffer size, fsync policy and snapshot format are read from the
+     * "budgetbuddy.storage.bufferSize", "budgetbuddy.storage.fsync" and "budgetbuddy.storage.format"
+     * system properties. Snapshots are binary unless the format is set to "text".
+     */
+    public DataStorage() {
+        this(Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE), Boolean.getBoolean(FSYNC_PROPERTY),
+                !TEXT_FORMAT.equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY)));
+    }
+
+    /**
+     * Creates a DataStorage object with the given buffer size and fsync policy that keeps binary snapshots.
+     *
+     * @param bufferSize     The size of the write buffer in characters.
+     * @param isFsyncEnabled Whether every save is forced to the disk before the file is closed.
+     */
+    public DataStorage(int bufferSize, boolean isFsyncEnabled) {
+        this(bufferSize, isFsyncEnabled, true);
+    }
+
+    /**
+     * Creates a DataStorage object with the given buffer size, fsync policy and snapshot format.
+     *
+     * @param bufferSize     The size of the write buffer in characters.
+     * @param isFsyncEnabled Whether every save is forced to the disk before the file is closed.
+     * @param isBinaryFormat Whether transaction snapshots are kept in the binary format instead of the text format.
+     */
+    public DataStorage(int bufferSize, boolean isFsyncEnabled, boolean isBinaryFormat) {
+        assert bufferSize > 0 : "Buffer size must be positive";
+        this.bufferSize = bufferSize;
+        this.isFsyncEnabled = isFsyncEnabled;
+        this.isBinaryFormat = isBinaryFormat;
+    }
+
     //@@author ShyamKrishna33
 
     /**
-     * Writes the provided string to a file at the given file path.
+     * Opens a buffered writer for the file at the given file path.
      *
-     * @param stringToWrite The string to write to the file.
-     * @param filePath      The path of the file to write to.
-     * @throws IOException If an I/O error occurs while writing to the file.
+     * @param filePath The path of the file to write to.
+     * @param isAppend Whether to append to the file instead of overwriting it.
+     * @return The writer for the file.
+     * @throws IOException If an I/O error occurs while opening the file.
      */
-    private static void writeToFile(String stringToWrite, String filePath) throws IOException {
-        FileWriter fw = new FileWriter(filePath, true);
-        fw.write(stringToWrite);
-        fw.close();
+    private StorageWriter openWriter(String filePath, boolean isAppend) throws IOException {
+        return new StorageWriter(Paths.get(filePath), isAppend, bufferSize, isFsyncEnabled);
     }
 
-    private static String getStringToWrite(Transaction t) {
-        LocalDate date = t.getDate();
-        String stringDate = date.format(DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-        return t.getDescription() + " ," + t.getCategory().getCategoryNum() + " ,"
-                + t.getTransactionType() + " ," + stringDate + " ," + t.getAmount() + " ," + t.getAccountNumber()
-                + " ," + t.getAccountName() + "\n";
+    private static void clearFile(String filePath) throws IOException {
+        Files.write(Paths.get(filePath), new byte[0]);
+    }
+
+    /**
+     * Appends the storage record of a transaction to the given builder, without a line terminator.
+     * The record starts with the transaction ID, which older records do not have.
+     *
+     * @param record The builder to append to.
+     * @param t      The transaction to append.
+     */
+    static void appendRecord(StringBuilder record, Transaction t) {
+        record.append(t.getId()).append(SEPARATOR)
+                .append(t.getDescription()).append(SEPARATOR)
+                .append(t.getCategory().getCategoryNum()).append(SEPARATOR)
+                .append(t.getTransactionType()).append(SEPARATOR);
+        appendDate(record, t.getDate());
+        Money.appendTo(record.append(SEPARATOR), t.getAmountInCents())
+                .append(SEPARATOR).append(t.getAccountNumber())
+                .append(SEPARATOR).append(t.getAccountName());
+    }
+
+    /**
+     * Appends a date in the fixed "dd-MM-yyyy" layout, without going through a DateTimeFormatter.
+     */
+    private static void appendDate(StringBuilder record, LocalDate date) {
+        appendTwoDigits(record, date.getDayOfMonth());
+        record.append('-');
+        appendTwoDigits(record, date.getMonthValue());
+        record.append('-');
+        int year = date.getYear();
+        for (int divisor = 1000; divisor > 1 && year < divisor; divisor /= 10) {
+            record.append('0');
+        }
+        record.append(year);
+    }
+
+    private static void appendTwoDigits(StringBuilder record, int value) {
+        if (value < 10) {
+            record.append('0');
+        }
+        record.append(value);
     }
 
     private static void createDataFolderIfNotExists() throws IOException {
@@ -68,6 +170,8 @@ public class DataStorage {
 
     /**
      * Saves the list of accounts to the file in the ACCOUNT_FILE_PATH.
+     * Each line holds the account number, name, current balance and opening balance. Files written before the
+     * opening balance was saved have only the first three fields.
      *
      * @param accounts The list of accounts to save.
      */
@@ -83,15 +187,16 @@ public class DataStorage {
                     throw new IOException("Failed to create file");
                 }
             }
-            FileWriter fw = new FileWriter(ACCOUNTS_FILE_PATH, false);
-            for (Account account : accounts) {
-                String stringToWrite = account.getAccountNumber() + " ," + account.getName() + " ,"
-                        + account.getBalance() + "\n";
-                writeToFile(stringToWrite, ACCOUNTS_FILE_PATH);
+            try (StorageWriter writer = openWriter(ACCOUNTS_FILE_PATH, false)) {
+                for (Account account : accounts) {
+                    String stringToWrite = account.getAccountNumber() + " ," + account.getName() + " ,"
+                            + Money.format(account.getBalanceInCents()) + " ,"
+                            + Money.format(account.getOpeningBalanceInCents()) + "\n";
+                    writer.write(stringToWrite);
+                }
             }
-            fw.close();
         } catch (IOException e) {
-            System.out.println("Error saving accounts.");
+            UserInterface.printSaveError("accounts");
             LOGGER.log(Level.SEVERE, "Error saving accounts");
         }
         LOGGER.log(Level.INFO, "Accounts saved to file");
@@ -101,100 +206,359 @@ public class DataStorage {
 
     /**
      * Saves the list of transactions to a file.
+     * The file is written under a temporary name and then moved over the old one, so that an interrupted save
+     * leaves the old file and the journal as they were.
+     * The next transaction ID in the header of the file is one more than the highest ID in the list.
      *
      * @param transactionArrayList The list of transactions to save.
      * @throws IOException If an I/O error occurs while saving the transactions.
      */
-    public void saveTransactions(ArrayList<Transaction> transactionArrayList) throws IOException {
-        LOGGER.log(Level.INFO, "Saving transactions to file");
-        File f = new File(TRANSACTIONS_FILE_PATH);
-
-        assert f.exists() : "File does not exist";
-        FileWriter fw = new FileWriter(TRANSACTIONS_FILE_PATH, false);
-
+    public void saveTransactions(List<Transaction> transactionArrayList) throws IOException {
+        int nextId = 1;
         for (Transaction transaction : transactionArrayList) {
             if (transaction == null) {
                 break;
             }
-            String stringToWrite = getStringToWrite(transaction);
-            writeToFile(stringToWrite, TRANSACTIONS_FILE_PATH);
+            nextId = Math.max(nextId, transaction.getId() + 1);
+        }
+        saveTransactions(transactionArrayList, nextId);
+    }
+
+    private void saveTransactions(List<Transaction> transactionArrayList, int nextId) throws IOException {
+        LOGGER.log(Level.INFO, "Saving transactions to file");
+        createDataFolderIfNotExists();
+        Path path = Paths.get(TRANSACTIONS_FILE_PATH);
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (StorageWriter writer = new StorageWriter(temporaryPath, false, bufferSize, isFsyncEnabled)) {
+            writer.write(NEXT_ID_HEADER + SEPARATOR + nextId + "\n");
+            StringBuilder record = new StringBuilder();
+            for (Transaction transaction : transactionArrayList) {
+                if (transaction == null) {
+                    break;
+                }
+                record.setLength(0);
+                appendRecord(record, transaction);
+                writer.write(record.append('\n'));
+            }
         }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        clearJournal();
         LOGGER.log(Level.INFO, "Transactions saved to file");
     }
 
+    /**
+     * Saves the table of transactions as a new snapshot in the configured format and clears the journal.
+     * The snapshot keeps the next free transaction ID of the table, so that deleted IDs are not reused.
+     *
+     * @param transactions The table of transactions to save.
+     * @throws IOException If an I/O error occurs while saving the transactions.
+     */
+    public void saveTransactionSnapshot(TransactionTable transactions) throws IOException {
+        if (!isBinaryFormat) {
+            saveTransactions(transactions, transactions.getNextRowId());
+            return;
+        }
+        createDataFolderIfNotExists();
+        new BinaryTransactionStore(Paths.get(BINARY_TRANSACTIONS_FILE_PATH), isFsyncEnabled).write(transactions);
+        clearJournal();
+    }
+
+    /**
+     * Saves the trigram index of the transaction descriptions, if it has been built, so that the next start
+     * can load it instead of building it again.
+     *
+     * @param transactions The table whose trigram index is saved.
+     * @return true if the index was saved, false if it has not been built.
+     * @throws IOException If an I/O error occurs while saving the index.
+     */
+    public boolean saveTrigramIndex(TransactionTable transactions) throws IOException {
+        if (!transactions.hasTrigramIndex()) {
+            return false;
+        }
+        createDataFolderIfNotExists();
+        new TrigramIndexStore(Paths.get(TRIGRAM_INDEX_FILE_PATH), isFsyncEnabled).write(transactions);
+        return true;
+    }
+
+    /**
+     * Loads the saved trigram index into the table, if there is one and it belongs to the same descriptions.
+     * A corrupted index file is deleted, since it can always be built again.
+     *
+     * @param transactions The table to load the index into.
+     * @return true if the index was loaded.
+     */
+    public boolean loadTrigramIndex(TransactionTable transactions) {
+        Path indexPath = Paths.get(TRIGRAM_INDEX_FILE_PATH);
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        try {
+            return new TrigramIndexStore(indexPath, isFsyncEnabled).read(transactions);
+        } catch (FileCorruptedException e) {
+            LOGGER.log(Level.WARNING, "Trigram index file got corrupted");
+            try {
+                Files.delete(indexPath);
+            } catch (IOException deleteError) {
+                LOGGER.log(Level.WARNING, "Could not delete the corrupted trigram index file");
+            }
+            return false;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read the trigram index file");
+            return false;
+        }
+    }
+
+    /**
+     * Appends the given entries to the transaction journal, starting a new journal with its version line.
+     * Only the new entries are written, so the cost does not depend on the size of the history.
+     * If the append fails, the journal is cut back to its previous size, so that no partial line is left behind
+     * and the same entries can be appended again.
+     *
+     * @param entries The journal entries to append.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public void appendToJournal(ArrayList<JournalEntry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        createDataFolderIfNotExists();
+        Path journalPath = Paths.get(JOURNAL_FILE_PATH);
+        long journalSize = Files.exists(journalPath) ? Files.size(journalPath) : 0;
+        try (StorageWriter writer = openWriter(JOURNAL_FILE_PATH, true)) {
+            StringBuilder line = new StringBuilder();
+            if (journalSize == 0) {
+                JournalEntry.appendVersionLine(line);
+                writer.write(line.append('\n'));
+            }
+            for (JournalEntry entry : entries) {
+                line.setLength(0);
+                entry.appendJournalLine(line);
+                writer.write(line.append('\n'));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Appending to the transaction journal failed, restoring its previous size");
+            truncateJournal(journalPath, journalSize, e);
+            throw e;
+        }
+        LOGGER.log(Level.INFO, "Appended " + entries.size() + " entries to the transaction journal");
+    }
+
+    /**
+     * Cuts the journal back to the given size. The interrupt status of the thread is cleared while doing so,
+     * since an interrupt is a common cause of the failed write and would also close the channel used here.
+     * A failure is recorded on the exception of the failed append.
+     */
+    private static void truncateJournal(Path journalPath, long size, IOException appendError) {
+        boolean isInterrupted = Thread.interrupted();
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Could not restore the size of the transaction journal");
+            appendError.addSuppressed(e);
+        } finally {
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the journal has grown large enough to be folded into the transactions file.
+     * Compaction is due once the journal is larger than half of the snapshot, which keeps the
+     * amortised cost of every change constant.
+     *
+     * @return true if the journal should be compacted.
+     * @throws IOException If an I/O error occurs while reading the file sizes.
+     */
+    public boolean isJournalCompactionDue() throws IOException {
+        Path journalPath = Paths.get(JOURNAL_FILE_PATH);
+        Path snapshotPath = Paths.get(isBinaryFormat ? BINARY_TRANSACTIONS_FILE_PATH : TRANSACTIONS_FILE_PATH);
+        if (!Files.exists(journalPath) || !Files.exists(snapshotPath)) {
+            return false;
+        }
+        long journalSize = Files.size(journalPath);
+        return journalSize > MIN_COMPACTION_JOURNAL_SIZE && journalSize > Files.size(snapshotPath) / 2;
+    }
+
+    private static void clearJournal() throws IOException {
+        Files.deleteIfExists(Paths.get(JOURNAL_FILE_PATH));
+    }
+
+    /**
+     * Replays the transaction journal on top of the transactions read from the transactions file.
+     * Replaying stops at the first invalid entry. The journal is then kept with a ".corrupt" suffix so that
+     * the entries after it can still be recovered by hand, the user is told how many entries were restored,
+     * and the restored state is written as a new snapshot.
+     *
+     * @param transactions           The transactions read from the transactions file.
+     * @param existingAccountNumbers A set of existing account numbers.
+     * @throws IOException If an I/O error occurs while reading the journal.
+     */
+    public void replayJournal(TransactionTable transactions, HashSet<Integer> existingAccountNumbers)
+            throws IOException {
+        File f = new File(JOURNAL_FILE_PATH);
+        if (!f.exists()) {
+            return;
+        }
+        LOGGER.log(Level.INFO, "Replaying transaction journal");
+        int entriesReplayed = 0;
+        try (Scanner s = new Scanner(f, StandardCharsets.UTF_8)) {
+            boolean isFirstLine = true;
+            while (s.hasNext()) {
+                String line = s.nextLine();
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                if (isFirstLine) {
+                    isFirstLine = false;
+                    checkJournalVersion(line);
+                    continue;
+                }
+                applyJournalEntry(line, transactions, existingAccountNumbers);
+                entriesReplayed++;
+            }
+        } catch (FileCorruptedException | InvalidCategoryException | IndexOutOfBoundsException e) {
+            LOGGER.log(Level.SEVERE, "Transaction journal is corrupted after " + entriesReplayed + " entries");
+            Path corruptPath = moveAsideCorruptFile(f.toPath());
+            UserInterface.printJournalCorruptedError(entriesReplayed, corruptPath.toString());
+            saveTransactionSnapshot(transactions);
+            return;
+        }
+        LOGGER.log(Level.INFO, "Replayed " + entriesReplayed + " journal entries");
+    }
+
+    /**
+     * Moves a corrupted file next to where it was, with a ".corrupt" suffix, so that it is no longer loaded but
+     * its contents are not lost.
+     *
+     * @param path The path of the corrupted file.
+     * @return The path the file was moved to.
+     * @throws IOException If the file cannot be moved.
+     */
+    private static Path moveAsideCorruptFile(Path path) throws IOException {
+        Path corruptPath = path.resolveSibling(path.getFileName() + CORRUPT_FILE_SUFFIX);
+        Files.move(path, corruptPath, StandardCopyOption.REPLACE_EXISTING);
+        LOGGER.log(Level.WARNING, "Moved corrupted file to " + corruptPath);
+        return corruptPath;
+    }
+
+    private static void checkJournalVersion(String line) throws FileCorruptedException {
+        if (!line.startsWith(JournalEntry.VERSION + SEPARATOR)) {
+            throw new FileCorruptedException("Missing journal version");
+        }
+        String version = line.substring(JournalEntry.VERSION.length() + SEPARATOR.length()).trim();
+        if (!version.equals(String.valueOf(JournalEntry.FORMAT_VERSION))) {
+            throw new FileCorruptedException("Unsupported journal version");
+        }
+    }
+
+    private void applyJournalEntry(String line, TransactionTable transactions,
+                                   HashSet<Integer> existingAccountNumbers)
+            throws FileCorruptedException, InvalidCategoryException {
+        String[] entry = line.split(SEPARATOR, 2);
+        if (entry.length != 2) {
+            throw new FileCorruptedException("Invalid journal entry");
+        }
+        try {
+            switch (entry[0]) {
+            case JournalEntry.ADD:
+                transactions.add(parseJournalTransaction(entry[1], existingAccountNumbers));
+                break;
+            case JournalEntry.EDIT:
+                Transaction edited = parseJournalTransaction(entry[1], existingAccountNumbers);
+                if (transactions.setById(edited.getId(), edited) == null) {
+                    throw new FileCorruptedException("Edited transaction does not exist");
+                }
+                break;
+            case JournalEntry.DELETE:
+                if (transactions.removeById(Integer.parseInt(entry[1])) == null) {
+                    throw new FileCorruptedException("Deleted transaction does not exist");
+                }
+                break;
+            case JournalEntry.DELETE_ACCOUNT:
+                transactions.removeAccountRows(Integer.parseInt(entry[1]));
+                break;
+            default:
+                throw new FileCorruptedException("Invalid journal operation");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new FileCorruptedException("Invalid journal entry");
+        }
+    }
+
+    private Transaction parseJournalTransaction(String s, HashSet<Integer> existingAccountNumbers)
+            throws FileCorruptedException, InvalidCategoryException {
+        Transaction transaction = parseDataToTransaction(s, existingAccountNumbers);
+        if (transaction.getId() == 0) {
+            throw new FileCorruptedException("Journal entry has no transaction ID");
+        }
+        return transaction;
+    }
+
     /**
      * Parses a string representing transaction data into a Transaction object.
      *
      * @param s                      The string representing the transaction data.
-     * @param existingAccountNumbers A list of existing account numbers.
+     * @param existingAccountNumbers A set of existing account numbers.
      * @return The parsed Transaction object.
      * @throws FileCorruptedException   If the file containing transaction data is corrupted.
      * @throws InvalidCategoryException If the category specified in the transaction data is invalid.
      */
-    private Transaction parseDataToTransaction(String s, ArrayList<Integer> existingAccountNumbers)
+    private Transaction parseDataToTransaction(String s, HashSet<Integer> existingAccountNumbers)
             throws FileCorruptedException, InvalidCategoryException {
-        String[] transactionInfo = s.split(" ,");
-        int categoryNum;
-        try {
-            categoryNum = Integer.parseInt(transactionInfo[1]);
-        } catch (NumberFormatException e) {
-            throw new FileCorruptedException("Invalid type for category number");
+        RecordScanner scanner = RECORD_SCANNER.get().reset(s);
+        int fieldCount = scanner.countRemainingFields();
+        if (fieldCount != TRANSACTION_FIELD_COUNT && fieldCount != UNNUMBERED_TRANSACTION_FIELD_COUNT) {
+            throw new FileCorruptedException("Invalid transaction information format");
         }
-
+        int id = fieldCount == TRANSACTION_FIELD_COUNT ? scanner.nextInt("transaction ID") : 0;
+        if (id < 0) {
+            throw new FileCorruptedException("Invalid transaction ID");
+        }
+        String description = scanner.nextString("description");
+        int categoryNum = scanner.nextInt("category number");
         if (categoryNum < 1 || categoryNum > 9) {
             throw new FileCorruptedException("Invalid category number");
         }
 
-        if (transactionInfo.length != 7) {
-            throw new FileCorruptedException("Invalid transaction information format");
-        }
-
-        if (!transactionInfo[2].equals("Income") && !transactionInfo[2].equals("Expense")) {
+        boolean isIncome = scanner.nextFieldEquals("transaction type", INCOME);
+        if (!isIncome && !scanner.nextFieldEquals("transaction type", EXPENSE)) {
             throw new FileCorruptedException("Invalid transaction type");
         }
 
-        double amount;
-
-        try {
-            amount = Double.parseDouble(transactionInfo[4]);
-        } catch (NumberFormatException e) {
-            throw new FileCorruptedException("Invalid type for transaction amount");
-        }
-
-        if (!existingAccountNumbers.contains(Integer.parseInt(transactionInfo[5]))) {
+        LocalDate date = scanner.nextDate("transaction date");
+        long amountInCents = scanner.nextCents("transaction amount");
+        int accountNumber = scanner.nextInt("account number");
+        if (!existingAccountNumbers.contains(accountNumber)) {
             throw new FileCorruptedException("Invalid account number");
         }
+        String accountName = scanner.nextString("account name");
 
-        switch (transactionInfo[2]) {
-        case "Income":
-            Income incomeObj = new Income(Integer.parseInt(transactionInfo[5]), transactionInfo[6], transactionInfo[0],
-                    amount, transactionInfo[3]);
-            incomeObj.setCategory(Category.fromNumber(categoryNum));
-            return incomeObj;
-        case "Expense":
-            Expense expenseObj = new Expense(Integer.parseInt(transactionInfo[5]), transactionInfo[6],
-                    transactionInfo[0], -amount, transactionInfo[3]);
-            expenseObj.setCategory(Category.fromNumber(categoryNum));
-            return expenseObj;
-        default:
-            return null;
+        Transaction transaction;
+        if (isIncome) {
+            transaction = new Income(accountNumber, accountName, description, amountInCents, date);
+        } else {
+            transaction = new Expense(accountNumber, accountName, description, -amountInCents, date);
         }
+        transaction.setCategory(Category.fromNumber(categoryNum));
+        transaction.setId(id);
+        return transaction;
     }
     //@@author
 
     /**
      * Reads account data from a file and returns a list of Account objects.
      *
-     * @param existingAccountNumbers A list of existing account numbers.
+     * @param existingAccountNumbers A set of existing account numbers.
      * @return The list of Account objects read from the file.
      * @throws IOException            If an I/O error occurs while reading the file.
      * @throws FileCorruptedException If the file containing account data is corrupted.
      */
-    public ArrayList<Account> readAccountFile(ArrayList<Integer> existingAccountNumbers)
+    public ArrayList<Account> readAccountFile(HashSet<Integer> existingAccountNumbers)
             throws IOException, FileCorruptedException {
         LOGGER.log(Level.INFO, "Reading accounts from file");
         File f = new File(ACCOUNTS_FILE_PATH);
-        Scanner s = new Scanner(f);
+        Scanner s = new Scanner(f, StandardCharsets.UTF_8);
 
         ArrayList<Account> accounts = new ArrayList<>();
         while (s.hasNext()) {
@@ -211,66 +575,58 @@ public class DataStorage {
     /**
      * Reads account data from a file and returns a list of Account objects.
      *
-     * @param existingAccountNumbers A list of existing account numbers.
+     * @param existingAccountNumbers A set of existing account numbers.
      * @return The list of Account objects read from the file.
      * @throws FileCorruptedException If the file containing account data is corrupted.
      */
-    private Account processAccountLine(String line, ArrayList<Integer> existingAccountNumbers)
+    private Account processAccountLine(String line, HashSet<Integer> existingAccountNumbers)
             throws FileCorruptedException {
         LOGGER.log(Level.INFO, "Processing account line");
-        String[] accountInfo = line.split(" ,");
-        validateAccountInfo(accountInfo, existingAccountNumbers);
-        LOGGER.log(Level.INFO, "Account line processed");
-
-        int accountNumber = Integer.parseInt(accountInfo[0]);
-        double balance = Double.parseDouble(accountInfo[2]);
-        String accountName = accountInfo[1].trim();
-
-        existingAccountNumbers.add(accountNumber);
-        LOGGER.log(Level.INFO, "Account added to existing account numbers list");
-        LOGGER.log(Level.INFO, "Account created");
-        return new Account(accountNumber, accountName, balance);
+        RecordScanner scanner = RECORD_SCANNER.get().reset(line);
+        int fieldCount = scanner.countRemainingFields();
+        if (fieldCount != ACCOUNT_FIELD_COUNT && fieldCount != UNOPENED_ACCOUNT_FIELD_COUNT) {
+            LOGGER.log(Level.SEVERE, "Invalid account information format");
+            throw new FileCorruptedException("Invalid account information format");
+        }
+        try {
+            int accountNumber = scanner.nextInt("account number");
+            String accountName = scanner.nextString("account name").trim();
+            long balanceInCents = scanner.nextCents("account balance");
+            validateAccountInfo(accountNumber, accountName, existingAccountNumbers);
+            LOGGER.log(Level.INFO, "Account line processed");
+
+            existingAccountNumbers.add(accountNumber);
+            LOGGER.log(Level.INFO, "Account added to existing account numbers list");
+            LOGGER.log(Level.INFO, "Account created");
+            if (fieldCount == UNOPENED_ACCOUNT_FIELD_COUNT) {
+                return Account.withoutOpeningBalance(accountNumber, accountName, balanceInCents);
+            }
+            long openingBalanceInCents = scanner.nextCents("account opening balance");
+            return Account.withBalancesInCents(accountNumber, accountName, openingBalanceInCents, balanceInCents);
+        } catch (FileCorruptedException e) {
+            LOGGER.log(Level.SEVERE, e.getMessage());
+            throw e;
+        }
     }
 
     /**
-     * Validates a line of account data.
+     * Validates the fields of a line of account data.
      *
-     * @param accountInfo            The line of account data to validate.
-     * @param existingAccountNumbers A list of existing account numbers.
+     * @param accountNumber          The account number read from the line.
+     * @param accountName            The account name read from the line.
+     * @param existingAccountNumbers A set of existing account numbers.
      * @throws FileCorruptedException If the line of account data is invalid.
      */
-    private void validateAccountInfo(String[] accountInfo, ArrayList<Integer> existingAccountNumbers)
+    private void validateAccountInfo(int accountNumber, String accountName, HashSet<Integer> existingAccountNumbers)
             throws FileCorruptedException {
-        if (accountInfo.length != 3) {
-            LOGGER.log(Level.SEVERE, "Invalid account information format");
-            throw new FileCorruptedException("Invalid account information format");
-        }
-
-        try {
-            int accountNumber = Integer.parseInt(accountInfo[0]);
-            if (accountNumber < 1000 || accountNumber > 9999) {
-                LOGGER.log(Level.SEVERE, "Invalid account number");
-                throw new FileCorruptedException("Invalid account number");
-            }
-            if (existingAccountNumbers.contains(accountNumber)) {
-                LOGGER.log(Level.SEVERE, "Duplicate account number");
-                throw new FileCorruptedException("Duplicate account number");
-            }
-        } catch (NumberFormatException e) {
-            LOGGER.log(Level.SEVERE, "Invalid type for account number");
-            throw new FileCorruptedException("Invalid type for account number");
+        if (accountNumber < AccountNumberAllocator.LOWEST_ACCOUNT_NUMBER
+                || accountNumber > AccountNumberAllocator.getConfiguredHighestNumber()) {
+            throw new FileCorruptedException("Invalid account number");
         }
-
-        try {
-            double balance = Double.parseDouble(accountInfo[2]);
-        } catch (NumberFormatException e) {
-            LOGGER.log(Level.SEVERE, "Invalid type for account balance");
-            throw new FileCorruptedException("Invalid type for account balance");
+        if (existingAccountNumbers.contains(accountNumber)) {
+            throw new FileCorruptedException("Duplicate account number");
         }
-
-        String accountName = accountInfo[1].trim();
         if (accountName.isEmpty()) {
-            LOGGER.log(Level.SEVERE, "Invalid account name");
             throw new FileCorruptedException("Invalid account name");
         }
     }
@@ -279,11 +635,11 @@ public class DataStorage {
     /**
      * Reads transaction data from the transactions file and returns a list of Transaction objects.
      *
-     * @param existingAccountNumbers A list of existing account numbers.
+     * @param existingAccountNumbers A set of existing account numbers.
      * @return The list of Transaction objects read from the file.
      * @throws IOException If an I/O error occurs while reading the file.
      */
-    public ArrayList<Transaction> readTransactionFile(ArrayList<Integer> existingAccountNumbers) throws IOException {
+    public ArrayList<Transaction> readTransactionFile(HashSet<Integer> existingAccountNumbers) throws IOException {
         LOGGER.log(Level.INFO, "Fetching transactions from storage");
         createDataFolderIfNotExists();
         File f = new File(TRANSACTIONS_FILE_PATH);
@@ -296,20 +652,19 @@ public class DataStorage {
 
         assert f.exists() : "File does not exist";
 
-        Scanner s = new Scanner(f);
-        ArrayList<Transaction> transactionList = new ArrayList<>();
+        ParallelTransactionReader reader = new ParallelTransactionReader(
+                line -> line.startsWith(NEXT_ID_HEADER + SEPARATOR)
+                        ? null
+                        : parseDataToTransaction(line, existingAccountNumbers));
+        ArrayList<Transaction> transactionList;
         try {
-            while (s.hasNext()) {
-                String line = s.nextLine();
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                transactionList.add(parseDataToTransaction(line, existingAccountNumbers));
-            }
+            transactionList = reader.read(f.toPath());
+            checkTransactionIds(transactionList);
         } catch (FileCorruptedException | InvalidCategoryException e) {
             LOGGER.log(Level.SEVERE, "File got corrupted");
             UserInterface.printFileCorruptedError();
-            FileWriter fw = new FileWriter(TRANSACTIONS_FILE_PATH, false);
+            clearFile(TRANSACTIONS_FILE_PATH);
+            clearJournal();
             return new ArrayList<>();
         }
         LOGGER.log(Level.INFO, "Transactions are fetched successfully");
@@ -317,6 +672,145 @@ public class DataStorage {
     }
     //@@author
 
+    /**
+     * Reads the transactions file into a table whose next free transaction ID is taken from the header of the
+     * file. Files written before the header was added continue after their highest ID, and so does a file
+     * whose records were edited by hand to use higher IDs than its header.
+     *
+     * @param existingAccountNumbers A set of existing account numbers.
+     * @return The table of transactions read from the file.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private TransactionTable readTransactionTable(HashSet<Integer> existingAccountNumbers) throws IOException {
+        TransactionTable transactions = new TransactionTable(readTransactionFile(existingAccountNumbers));
+        int nextId = readNextIdHeader();
+        if (nextId > transactions.getNextRowId()) {
+            transactions.setNextRowId(nextId);
+        }
+        return transactions;
+    }
+
+    private static int readNextIdHeader() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(TRANSACTIONS_FILE_PATH),
+                StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.startsWith(NEXT_ID_HEADER + SEPARATOR)) {
+                return 0;
+            }
+            return Integer.parseInt(line.substring(NEXT_ID_HEADER.length() + SEPARATOR.length()).trim());
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid next transaction ID in the transactions file");
+            return 0;
+        }
+    }
+
+    /**
+     * Checks that the transaction IDs read from a file increase, counting records without an ID as taking the
+     * next free ID, the same way the transaction table numbers them.
+     */
+    private static void checkTransactionIds(ArrayList<Transaction> transactions) throws FileCorruptedException {
+        int lastId = 0;
+        for (Transaction transaction : transactions) {
+            int id = transaction.getId();
+            if (id != 0 && id <= lastId) {
+                throw new FileCorruptedException("Invalid transaction ID");
+            }
+            lastId = id == 0 ? lastId + 1 : id;
+        }
+    }
+
+    /**
+     * Reads transaction data from the binary transactions file and returns a list of Transaction objects.
+     * If there is no binary file yet, or the text transactions file was saved after it, the text transactions
+     * file and its journal are migrated into one.
+     *
+     * @param existingAccountNumbers A set of existing account numbers.
+     * @return The table of transactions read from the file.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public TransactionTable readBinaryTransactionFile(HashSet<Integer> existingAccountNumbers)
+            throws IOException {
+        LOGGER.log(Level.INFO, "Fetching transactions from binary storage");
+        createDataFolderIfNotExists();
+        Path binaryPath = Paths.get(BINARY_TRANSACTIONS_FILE_PATH);
+        Path textPath = Paths.get(TRANSACTIONS_FILE_PATH);
+        if (!Files.exists(binaryPath) || hasTextSnapshot(textPath) && isSavedAfter(textPath, binaryPath)) {
+            return migrateToBinary(existingAccountNumbers);
+        }
+        return readBinarySnapshot(binaryPath, existingAccountNumbers);
+    }
+
+    /**
+     * Reads the binary snapshot. A corrupted snapshot is moved aside together with the journal, which only
+     * makes sense on top of it, so that neither is lost, and the transactions start out empty.
+     */
+    private TransactionTable readBinarySnapshot(Path binaryPath, HashSet<Integer> existingAccountNumbers)
+            throws IOException {
+        try {
+            return new BinaryTransactionStore(binaryPath, isFsyncEnabled).read(existingAccountNumbers);
+        } catch (FileCorruptedException | InvalidCategoryException e) {
+            LOGGER.log(Level.SEVERE, "Binary file got corrupted");
+            Path corruptPath = moveAsideCorruptFile(binaryPath);
+            Path journalPath = Paths.get(JOURNAL_FILE_PATH);
+            if (Files.exists(journalPath)) {
+                moveAsideCorruptFile(journalPath);
+            }
+            UserInterface.printSnapshotCorruptedError(corruptPath.toString());
+            return new TransactionTable();
+        }
+    }
+
+    private TransactionTable migrateToBinary(HashSet<Integer> existingAccountNumbers) throws IOException {
+        Path textPath = Paths.get(TRANSACTIONS_FILE_PATH);
+        TransactionTable transactions = new TransactionTable();
+        if (Files.exists(textPath)) {
+            LOGGER.log(Level.INFO, "Migrating text transactions file to the binary format");
+            transactions = readTransactionTable(existingAccountNumbers);
+        }
+        replayJournal(transactions, existingAccountNumbers);
+        saveTransactionSnapshot(transactions);
+        if (Files.exists(textPath)) {
+            Files.move(textPath, Paths.get(MIGRATED_TRANSACTIONS_FILE_PATH), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return transactions;
+    }
+
+    /**
+     * Reads the text transactions file. If a binary file is left from running with the binary format, and the
+     * text file is empty or was saved before it, the binary file and its journal are migrated into the text file
+     * instead, and the binary file is moved aside so that it is not loaded again once it is out of date.
+     */
+    private TransactionTable readTextTransactionFile(HashSet<Integer> existingAccountNumbers) throws IOException {
+        Path binaryPath = Paths.get(BINARY_TRANSACTIONS_FILE_PATH);
+        Path textPath = Paths.get(TRANSACTIONS_FILE_PATH);
+        if (!Files.exists(binaryPath)) {
+            return readTransactionTable(existingAccountNumbers);
+        }
+        if (hasTextSnapshot(textPath) && !isSavedAfter(binaryPath, textPath)) {
+            LOGGER.log(Level.WARNING, "Moving aside a binary transactions file older than the text file");
+            Files.move(binaryPath, Paths.get(MIGRATED_BINARY_TRANSACTIONS_FILE_PATH),
+                    StandardCopyOption.REPLACE_EXISTING);
+            return readTransactionTable(existingAccountNumbers);
+        }
+        LOGGER.log(Level.INFO, "Migrating binary transactions file to the text format");
+        TransactionTable transactions = readBinarySnapshot(binaryPath, existingAccountNumbers);
+        replayJournal(transactions, existingAccountNumbers);
+        saveTransactionSnapshot(transactions);
+        if (Files.exists(binaryPath)) {
+            Files.move(binaryPath, Paths.get(MIGRATED_BINARY_TRANSACTIONS_FILE_PATH),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        return transactions;
+    }
+
+    private static boolean hasTextSnapshot(Path textPath) throws IOException {
+        return Files.exists(textPath) && Files.size(textPath) > 0;
+    }
+
+    private static boolean isSavedAfter(Path path, Path otherPath) throws IOException {
+        return Files.getLastModifiedTime(path).compareTo(Files.getLastModifiedTime(otherPath)) > 0;
+    }
+
     /**
      * Loads the accounts from the accounts file and returns an AccountManager object.
      *
@@ -335,14 +829,14 @@ public class DataStorage {
                 }
                 return createNewAccountManager();
             }
-            ArrayList<Integer> existingAccountNumbers = new ArrayList<>();
+            HashSet<Integer> existingAccountNumbers = new HashSet<>();
             ArrayList<Account> accounts = null;
             try {
                 accounts = readAccountFile(existingAccountNumbers);
             } catch (FileCorruptedException e) {
                 LOGGER.log(Level.SEVERE, "File corrupted");
                 UserInterface.printFileCorruptedError();
-                FileWriter fw = new FileWriter(ACCOUNTS_FILE_PATH, false);
+                clearFile(ACCOUNTS_FILE_PATH);
                 LOGGER.log(Level.WARNING, "Creating new account manager");
                 return createNewAccountManager();
             }
@@ -360,6 +854,10 @@ public class DataStorage {
     }
 
     private AccountManager createNewAccountManager() {
+        if (UserInterface.isBatchMode()) {
+            LOGGER.log(Level.INFO, "Starting without accounts in batch mode");
+            return new AccountManager();
+        }
         String accountName = null;
         try {
             accountName = UserInterface.getInitialAccountName();
@@ -375,15 +873,23 @@ public class DataStorage {
 
     //@@author ShyamKrishna33
     /**
-     * Loads the transactions from the transactions file and returns a TransactionList object.
+     * Loads the transactions from the snapshot in the configured format, replays the journal on top of it,
+     * loads the saved trigram index if it is still current, and returns a TransactionList object.
      *
-     * @param existingAccountNumbers A list of existing account numbers.
+     * @param existingAccountNumbers A set of existing account numbers.
      * @return The loaded TransactionList object.
      */
-    public TransactionList loadTransactions(ArrayList<Integer> existingAccountNumbers) {
+    public TransactionList loadTransactions(HashSet<Integer> existingAccountNumbers) {
         try {
-            ArrayList<Transaction> transactions = readTransactionFile(existingAccountNumbers);
-            return new TransactionList(transactions);
+            TransactionTable transactions = isBinaryFormat
+                    ? readBinaryTransactionFile(existingAccountNumbers)
+                    : readTextTransactionFile(existingAccountNumbers);
+            replayJournal(transactions, existingAccountNumbers);
+            TransactionList transactionList = new TransactionList(transactions);
+            if (loadTrigramIndex(transactionList.getTransactions())) {
+                transactionList.setTrigramIndexSaved();
+            }
+            return transactionList;
         } catch (IOException e) {
             return new TransactionList();
         }
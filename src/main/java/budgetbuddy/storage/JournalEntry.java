@@ -0,0 +1,95 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.transaction.type.Transaction;
+
+/**
+ * Represents a single change to the transaction list that is recorded in the transaction journal.
+ * Entries are only formatted when they are written, so recording a change costs no I/O.
+ * Journals start with a version line, and entries refer to transactions by ID.
+ */
+public class JournalEntry {
+    public static final String ADD = "add";
+    public static final String EDIT = "edit";
+    public static final String DELETE = "delete";
+    public static final String DELETE_ACCOUNT = "delete-acc";
+    public static final String VERSION = "version";
+    public static final int FORMAT_VERSION = 2;
+
+    private final String operation;
+    private final int target;
+    private final Transaction transaction;
+
+    private JournalEntry(String operation, int target, Transaction transaction) {
+        this.operation = operation;
+        this.target = target;
+        this.transaction = transaction;
+    }
+
+    /**
+     * Creates an entry that records the addition of a transaction.
+     *
+     * @param transaction The transaction that was added.
+     * @return The journal entry.
+     */
+    public static JournalEntry add(Transaction transaction) {
+        return new JournalEntry(ADD, -1, transaction);
+    }
+
+    /**
+     * Creates an entry that records the replacement of a transaction. The new transaction carries the ID of
+     * the transaction it replaces.
+     *
+     * @param transaction The transaction that replaces the old one.
+     * @return The journal entry.
+     */
+    public static JournalEntry edit(Transaction transaction) {
+        return new JournalEntry(EDIT, transaction.getId(), transaction);
+    }
+
+    /**
+     * Creates an entry that records the removal of the transaction with the given ID.
+     *
+     * @param id The ID of the removed transaction.
+     * @return The journal entry.
+     */
+    public static JournalEntry delete(int id) {
+        return new JournalEntry(DELETE, id, null);
+    }
+
+    /**
+     * Creates an entry that records the removal of all transactions of an account.
+     *
+     * @param accountNumber The account number whose transactions were removed.
+     * @return The journal entry.
+     */
+    public static JournalEntry deleteAccount(int accountNumber) {
+        return new JournalEntry(DELETE_ACCOUNT, accountNumber, null);
+    }
+
+    /**
+     * Appends the version line that starts every journal, without a line terminator.
+     *
+     * @param line The builder to append to.
+     */
+    static void appendVersionLine(StringBuilder line) {
+        line.append(VERSION).append(DataStorage.SEPARATOR).append(FORMAT_VERSION);
+    }
+
+    /**
+     * Appends the line that represents this entry in the journal file, without a line terminator.
+     *
+     * @param line The builder to append to.
+     */
+    void appendJournalLine(StringBuilder line) {
+        line.append(operation).append(DataStorage.SEPARATOR);
+        switch (operation) {
+        case ADD:
+        case EDIT:
+            DataStorage.appendRecord(line, transaction);
+            break;
+        default:
+            line.append(target);
+            break;
+        }
+    }
+}
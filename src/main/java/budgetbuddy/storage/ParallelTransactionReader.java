@@ -0,0 +1,188 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.type.Transaction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads a line-based transactions file by splitting it into newline-aligned chunks and parsing the chunks
+ * in parallel on the common ForkJoinPool. The parsed transactions are returned in file order.
+ */
+class ParallelTransactionReader {
+    public static final int MIN_CHUNK_SIZE = 256 * 1024;
+    public static final int CHUNKS_PER_THREAD = 4;
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Parses a single line of the transactions file, returning null for a line that holds no transaction,
+     * such as a header.
+     */
+    interface RecordParser {
+        Transaction parse(String line) throws FileCorruptedException, InvalidCategoryException;
+    }
+
+    private final RecordParser parser;
+
+    ParallelTransactionReader(RecordParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Reads and parses every non-blank line of the file at the given path.
+     *
+     * @param path The path of the transactions file.
+     * @return The parsed transactions, in file order.
+     * @throws IOException              If an I/O error occurs while reading the file.
+     * @throws FileCorruptedException   If a line of the file is not a valid transaction.
+     * @throws InvalidCategoryException If a line of the file has an invalid category.
+     */
+    ArrayList<Transaction> read(Path path) throws IOException, FileCorruptedException, InvalidCategoryException {
+        long startTime = System.nanoTime();
+        byte[] data = Files.readAllBytes(path);
+        List<ChunkTask> chunks = splitIntoChunks(data);
+
+        ArrayList<Transaction> transactions;
+        try {
+            if (chunks.size() == 1) {
+                transactions = chunks.get(0).compute();
+            } else {
+                transactions = ForkJoinPool.commonPool().invoke(new LoadTask(chunks));
+            }
+        } catch (ChunkParseException e) {
+            throw unwrap(e);
+        }
+
+        logThroughput(transactions.size(), data.length, chunks.size(), System.nanoTime() - startTime);
+        return transactions;
+    }
+
+    private static FileCorruptedException unwrap(ChunkParseException e) throws InvalidCategoryException {
+        Throwable cause = e.getCause();
+        while (cause instanceof ChunkParseException) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof InvalidCategoryException) {
+            throw (InvalidCategoryException) cause;
+        }
+        return (FileCorruptedException) cause;
+    }
+
+    private List<ChunkTask> splitIntoChunks(byte[] data) {
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, data.length / (threads * CHUNKS_PER_THREAD) + 1);
+        List<ChunkTask> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < data.length) {
+            int end = Math.min(data.length, start + chunkSize);
+            while (end < data.length && data[end - 1] != NEW_LINE) {
+                end++;
+            }
+            chunks.add(new ChunkTask(data, start, end));
+            start = end;
+        }
+        if (chunks.isEmpty()) {
+            chunks.add(new ChunkTask(data, 0, 0));
+        }
+        return chunks;
+    }
+
+    private void logThroughput(int transactionCount, int bytesRead, int chunkCount, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / NANOS_PER_SECOND;
+        LOGGER.log(Level.INFO, String.format("Loaded %d transactions (%d bytes, %d chunks) in %.1f ms: "
+                        + "%.0f transactions/s, %.1f MB/s", transactionCount, bytesRead, chunkCount,
+                seconds * 1000, transactionCount / seconds, bytesRead / BYTES_PER_MEGABYTE / seconds));
+    }
+
+    /**
+     * Carries a parse failure out of a chunk task.
+     */
+    private static class ChunkParseException extends RuntimeException {
+        ChunkParseException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Parses all chunks in parallel and concatenates their results in file order.
+     */
+    private static class LoadTask extends RecursiveTask<ArrayList<Transaction>> {
+        private final List<ChunkTask> chunks;
+
+        LoadTask(List<ChunkTask> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected ArrayList<Transaction> compute() {
+            invokeAll(chunks);
+            int size = 0;
+            for (ChunkTask chunk : chunks) {
+                size += chunk.join().size();
+            }
+            ArrayList<Transaction> transactions = new ArrayList<>(size);
+            for (ChunkTask chunk : chunks) {
+                transactions.addAll(chunk.join());
+            }
+            return transactions;
+        }
+    }
+
+    /**
+     * Parses the lines in a newline-aligned byte range of the file.
+     */
+    private class ChunkTask extends RecursiveTask<ArrayList<Transaction>> {
+        private final byte[] data;
+        private final int start;
+        private final int end;
+
+        ChunkTask(byte[] data, int start, int end) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected ArrayList<Transaction> compute() {
+            ArrayList<Transaction> transactions = new ArrayList<>();
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && data[lineEnd] != NEW_LINE) {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && data[contentEnd - 1] == CARRIAGE_RETURN) {
+                    contentEnd--;
+                }
+                String line = new String(data, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8);
+                if (!line.trim().isEmpty()) {
+                    try {
+                        Transaction transaction = parser.parse(line);
+                        if (transaction != null) {
+                            transactions.add(transaction);
+                        }
+                    } catch (FileCorruptedException | InvalidCategoryException e) {
+                        throw new ChunkParseException(e);
+                    }
+                }
+                lineStart = lineEnd + 1;
+            }
+            return transactions;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.account.AccountManager;
+import budgetbuddy.transaction.TransactionList;
+import budgetbuddy.ui.UserInterface;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persists the transactions and accounts on a background thread, so that commands do not wait for the disk.
+ * A flush is scheduled at most once per flush window, so a burst of changes is written in a single flush.
+ * Changes to the transactions and accounts, and the checks and flushes of the worker, hold the state lock given
+ * to the worker, since a flush clears the record of unsaved changes that a change adds to.
+ * Commands that only read run without the lock. They run on the command thread, which is the only thread that
+ * changes the transactions and accounts, and a flush only reads them.
+ */
+public class PersistenceWorker {
+    public static final long DEFAULT_MAX_FLUSH_DELAY_MILLIS = 200;
+    public static final String MAX_FLUSH_DELAY_PROPERTY = "budgetbuddy.storage.flushDelayMillis";
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final TransactionList transactions;
+    private final AccountManager accountManager;
+    private final Object stateLock;
+    private final long maxFlushDelayMillis;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean isFlushScheduled = new AtomicBoolean(false);
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Creates a PersistenceWorker whose flush window is read from the "budgetbuddy.storage.flushDelayMillis"
+     * system property.
+     *
+     * @param transactions   The transaction list to persist.
+     * @param accountManager The account manager to persist.
+     * @param stateLock      The lock that guards the transactions and accounts.
+     */
+    public PersistenceWorker(TransactionList transactions, AccountManager accountManager, Object stateLock) {
+        this(transactions, accountManager, stateLock,
+                Long.getLong(MAX_FLUSH_DELAY_PROPERTY, DEFAULT_MAX_FLUSH_DELAY_MILLIS));
+    }
+
+    /**
+     * Creates a PersistenceWorker with the given flush window.
+     *
+     * @param transactions        The transaction list to persist.
+     * @param accountManager      The account manager to persist.
+     * @param stateLock           The lock that guards the transactions and accounts.
+     * @param maxFlushDelayMillis The longest time a change may wait before it is written.
+     */
+    public PersistenceWorker(TransactionList transactions, AccountManager accountManager, Object stateLock,
+                             long maxFlushDelayMillis) {
+        assert maxFlushDelayMillis >= 0 : "Flush delay cannot be negative";
+        this.transactions = transactions;
+        this.accountManager = accountManager;
+        this.stateLock = stateLock;
+        this.maxFlushDelayMillis = maxFlushDelayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "budgetbuddy-persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a flush of the unsaved changes, unless one is already scheduled.
+     * The unsaved changes are checked while holding the state lock, so the caller does not need to hold it.
+     */
+    public void requestFlush() {
+        synchronized (stateLock) {
+            if (!transactions.hasUnsavedChanges() && !accountManager.hasUnsavedChanges()) {
+                return;
+            }
+        }
+        if (isFlushScheduled.compareAndSet(false, true)) {
+            scheduledFlush = executor.schedule(this::runScheduledFlush, maxFlushDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void runScheduledFlush() {
+        isFlushScheduled.set(false);
+        flush();
+    }
+
+    /**
+     * Writes all unsaved changes to the data storage.
+     */
+    public void flush() {
+        synchronized (stateLock) {
+            try {
+                transactions.saveTransactionList();
+            } catch (IOException e) {
+                UserInterface.printSaveError("transactions");
+                LOGGER.log(Level.SEVERE, "Error saving transactions");
+            }
+            accountManager.saveAccounts();
+        }
+    }
+
+    /**
+     * Stops the background thread, writes the changes that are still waiting to be flushed, and saves the
+     * search index.
+     * A flush that has not started yet is cancelled, but one that is already writing is left to finish, since
+     * interrupting it would close the file it is writing to.
+     */
+    public void shutdown() {
+        ScheduledFuture<?> pendingFlush = scheduledFlush;
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.log(Level.WARNING, "Persistence thread did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (stateLock) {
+            try {
+                transactions.saveTrigramIndex();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error saving the trigram index");
+            }
+        }
+        LOGGER.log(Level.INFO, "Persistence worker stopped");
+    }
+}
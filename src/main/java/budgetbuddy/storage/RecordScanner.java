@@ -0,0 +1,181 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.money.Money;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Reads the " ,"-separated fields of a storage record with a cursor, without splitting the record.
+ * Numbers and dates are decoded in place, so only the string fields allocate.
+ */
+class RecordScanner {
+    private static final String SEPARATOR = DataStorage.SEPARATOR;
+    private static final int DATE_LENGTH = 10;
+
+    private String record;
+    private int position;
+    private int fieldEnd;
+
+    /**
+     * Points the scanner at the start of the given record.
+     *
+     * @param record The record to read.
+     * @return This scanner.
+     */
+    RecordScanner reset(String record) {
+        this.record = record;
+        this.position = 0;
+        this.fieldEnd = -1;
+        return this;
+    }
+
+    /**
+     * Returns whether there is a field left to read.
+     *
+     * @return true if another field can be read.
+     */
+    boolean hasNextField() {
+        return position <= record.length();
+    }
+
+    /**
+     * Returns the number of fields left to read, without moving the cursor.
+     *
+     * @return The number of remaining fields.
+     */
+    int countRemainingFields() {
+        if (!hasNextField()) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = record.indexOf(SEPARATOR, position); i >= 0; i = record.indexOf(SEPARATOR, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private void findFieldEnd(String fieldName) throws FileCorruptedException {
+        if (!hasNextField()) {
+            throw new FileCorruptedException("Missing " + fieldName);
+        }
+        int end = record.indexOf(SEPARATOR, position);
+        fieldEnd = end < 0 ? record.length() : end;
+    }
+
+    private void skipField() {
+        position = fieldEnd + SEPARATOR.length();
+    }
+
+    /**
+     * Reads the next field as a string.
+     *
+     * @param fieldName The name of the field, used in the error message.
+     * @return The field.
+     * @throws FileCorruptedException If there are no fields left.
+     */
+    String nextString(String fieldName) throws FileCorruptedException {
+        findFieldEnd(fieldName);
+        String field = record.substring(position, fieldEnd);
+        skipField();
+        return field;
+    }
+
+    /**
+     * Reads the next field and returns whether it equals the given value, without allocating a string.
+     * The cursor only moves past the field if it matches.
+     *
+     * @param fieldName The name of the field, used in the error message.
+     * @param value     The value to compare with.
+     * @return true if the field equals the value.
+     * @throws FileCorruptedException If there are no fields left.
+     */
+    boolean nextFieldEquals(String fieldName, String value) throws FileCorruptedException {
+        findFieldEnd(fieldName);
+        boolean isEqual = fieldEnd - position == value.length() && record.startsWith(value, position);
+        if (isEqual) {
+            skipField();
+        }
+        return isEqual;
+    }
+
+    /**
+     * Reads the next field as an integer.
+     *
+     * @param fieldName The name of the field, used in the error message.
+     * @return The integer value of the field.
+     * @throws FileCorruptedException If the field is missing or not an integer.
+     */
+    int nextInt(String fieldName) throws FileCorruptedException {
+        findFieldEnd(fieldName);
+        long value = parseDigits(position, fieldEnd, fieldName);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new FileCorruptedException("Invalid type for " + fieldName);
+        }
+        skipField();
+        return (int) value;
+    }
+
+    private long parseDigits(int start, int end, String fieldName) throws FileCorruptedException {
+        boolean isNegative = start < end && record.charAt(start) == '-';
+        int i = isNegative ? start + 1 : start;
+        if (i == end || end - i > 18) {
+            throw new FileCorruptedException("Invalid type for " + fieldName);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = record.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new FileCorruptedException("Invalid type for " + fieldName);
+            }
+            value = value * 10 + digit;
+        }
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Reads the next field as an amount of money in cents.
+     * Plain decimals with up to two decimal places are decoded without allocating. Older records that
+     * were written from doubles, such as "-12.5" or "1.0E7", are read exactly and rounded to the nearest cent.
+     *
+     * @param fieldName The name of the field, used in the error message.
+     * @return The value of the field in cents.
+     * @throws FileCorruptedException If the field is missing or not a number.
+     */
+    long nextCents(String fieldName) throws FileCorruptedException {
+        findFieldEnd(fieldName);
+        long cents;
+        try {
+            cents = Money.parseCents(record, position, fieldEnd);
+        } catch (NumberFormatException e) {
+            throw new FileCorruptedException("Invalid type for " + fieldName);
+        }
+        skipField();
+        return cents;
+    }
+
+    /**
+     * Reads the next field as a date in the fixed "dd-MM-yyyy" layout.
+     *
+     * @param fieldName The name of the field, used in the error message.
+     * @return The date.
+     * @throws FileCorruptedException If the field is missing or not a valid date.
+     */
+    LocalDate nextDate(String fieldName) throws FileCorruptedException {
+        findFieldEnd(fieldName);
+        if (fieldEnd - position != DATE_LENGTH || record.charAt(position + 2) != '-'
+                || record.charAt(position + 5) != '-') {
+            throw new FileCorruptedException("Invalid " + fieldName);
+        }
+        int day = (int) parseDigits(position, position + 2, fieldName);
+        int month = (int) parseDigits(position + 3, position + 5, fieldName);
+        int year = (int) parseDigits(position + 6, position + DATE_LENGTH, fieldName);
+        skipField();
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new FileCorruptedException("Invalid " + fieldName);
+        }
+    }
+}
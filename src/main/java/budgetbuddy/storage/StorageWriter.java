@@ -0,0 +1,73 @@
+package budgetbuddy.storage;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes text to a storage file through a single buffered stream.
+ * The file is opened once per save, and is optionally forced to the disk before it is closed.
+ */
+class StorageWriter implements Closeable {
+    private final FileChannel channel;
+    private final BufferedWriter writer;
+    private final boolean isFsyncEnabled;
+    private char[] chars = new char[0];
+
+    /**
+     * Opens the file at the given path for writing.
+     *
+     * @param path           The path of the file to write to.
+     * @param isAppend       Whether to append to the file instead of truncating it.
+     * @param bufferSize     The size of the write buffer in characters.
+     * @param isFsyncEnabled Whether the file is forced to the disk when the writer is closed.
+     * @throws IOException If the file cannot be opened.
+     */
+    StorageWriter(Path path, boolean isAppend, int bufferSize, boolean isFsyncEnabled) throws IOException {
+        StandardOpenOption mode = isAppend ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), bufferSize);
+        this.isFsyncEnabled = isFsyncEnabled;
+    }
+
+    void write(String string) throws IOException {
+        writer.write(string);
+    }
+
+    /**
+     * Writes the contents of the given builder, copying them through a reused buffer instead of a new string.
+     *
+     * @param text The text to write.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    void write(StringBuilder text) throws IOException {
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        text.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+    }
+
+    /**
+     * Flushes the buffered text, forces it to the disk if fsync is enabled, and closes the file.
+     *
+     * @throws IOException If an I/O error occurs while flushing or closing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.flush();
+            if (isFsyncEnabled) {
+                channel.force(false);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.transaction.TransactionTable;
+import budgetbuddy.transaction.index.TrigramIndex;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Saves the trigram index of the transaction descriptions next to the transactions, so that substring search
+ * does not need to rebuild it on every start.
+ * The file holds a header with the row count and a CRC32 checksum of the row IDs and descriptions, followed by
+ * one entry per trigram: the trigram, the number of rows, and the ascending row IDs. An index whose header does
+ * not match the loaded transactions is ignored.
+ */
+class TrigramIndexStore {
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    static final int MAGIC = 0x42425447;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 24;
+    private static final int ENTRY_HEADER_SIZE = 12;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final boolean isFsyncEnabled;
+
+    /**
+     * Creates a store for the trigram index file at the given path.
+     *
+     * @param path           The path of the trigram index file.
+     * @param isFsyncEnabled Whether the file is forced to the disk when it is written.
+     */
+    TrigramIndexStore(Path path, boolean isFsyncEnabled) {
+        this.path = path;
+        this.isFsyncEnabled = isFsyncEnabled;
+    }
+
+    /**
+     * Writes the trigram index of the given table.
+     * The file is written next to the old one and then moved over it, so a failed write leaves the old file intact.
+     *
+     * @param transactions The table whose trigram index is written.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    void write(TransactionTable transactions) throws IOException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        TrigramIndex index = transactions.getTrigramIndex();
+        long[] trigrams = index.getTrigrams();
+
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(transactions.size())
+                    .putLong(transactions.getDescriptionChecksum()).putInt(trigrams.length);
+            for (long trigram : trigrams) {
+                int[] rowIds = index.getRowIds(trigram);
+                if (buffer.remaining() < ENTRY_HEADER_SIZE) {
+                    writeFully(channel, buffer.flip());
+                    buffer.clear();
+                }
+                buffer.putLong(trigram).putInt(rowIds.length);
+                for (int rowId : rowIds) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        writeFully(channel, buffer.flip());
+                        buffer.clear();
+                    }
+                    buffer.putInt(rowId);
+                }
+            }
+            writeFully(channel, buffer.flip());
+            if (isFsyncEnabled) {
+                channel.force(true);
+            }
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.log(Level.INFO, "Wrote the trigram index of " + transactions.size() + " transactions");
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Trigram index file ended early");
+            }
+        }
+    }
+
+    /**
+     * Reads the trigram index into the given table, if it was saved for the same row IDs and descriptions.
+     * The file is read into a heap buffer rather than mapped, so that it is not held open after the read.
+     *
+     * @param transactions The table to load the index into.
+     * @return true if the index was loaded, false if it belongs to different transactions.
+     * @throws IOException            If an I/O error occurs while reading the file.
+     * @throws FileCorruptedException If the file is not a valid trigram index file.
+     */
+    boolean read(TransactionTable transactions) throws IOException, FileCorruptedException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new FileCorruptedException("Trigram index file is too large");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            readFully(channel, buffer);
+            buffer.flip();
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new FileCorruptedException("Not a trigram index file");
+        }
+        int rowCount = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (rowCount != transactions.size() || checksum != transactions.getDescriptionChecksum()) {
+            LOGGER.log(Level.INFO, "Trigram index is out of date");
+            return false;
+        }
+        int trigramCount = buffer.getInt();
+        if (trigramCount < 0 || (long) trigramCount * ENTRY_HEADER_SIZE > buffer.remaining()) {
+            throw new FileCorruptedException("Invalid trigram count");
+        }
+        long[] trigrams = new long[trigramCount];
+        int[][] rowIdsByGram = new int[trigramCount][];
+        for (int i = 0; i < trigramCount; i++) {
+            if (buffer.remaining() < ENTRY_HEADER_SIZE) {
+                throw new FileCorruptedException("Truncated trigram index file");
+            }
+            trigrams[i] = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0 || (long) count * Integer.BYTES > buffer.remaining()) {
+                throw new FileCorruptedException("Invalid trigram row count");
+            }
+            int[] rowIds = new int[count];
+            buffer.asIntBuffer().get(rowIds);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            for (int j = 0; j < count; j++) {
+                if (rowIds[j] <= 0 || j > 0 && rowIds[j] <= rowIds[j - 1]) {
+                    throw new FileCorruptedException("Invalid trigram row ID");
+                }
+            }
+            rowIdsByGram[i] = rowIds;
+        }
+        transactions.loadTrigramIndex(trigrams, rowIdsByGram);
+        return true;
+    }
+}
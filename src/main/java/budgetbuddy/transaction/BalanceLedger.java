@@ -0,0 +1,153 @@
+package budgetbuddy.transaction;
+
+import budgetbuddy.account.Account;
+import budgetbuddy.transaction.type.Transaction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps account balances in step with their transactions.
+ * The signed amount of every transaction is its change to the balance of its account, and the table of
+ * transactions records these changes per account. Adding a transaction applies its change, deleting it reverses
+ * the change, and editing it applies the difference between the new and old change in one step, so a balance
+ * is never left half updated and never needs the history to be scanned again.
+ * The balances can be checked against the opening balances plus the recorded changes, which sums the table
+ * in parallel.
+ */
+public class BalanceLedger {
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    public static final int MIN_ROWS_PER_TASK = 64 * 1024;
+
+    /**
+     * Applies the change of a new transaction to the balance of its account.
+     *
+     * @param account     the account of the transaction
+     * @param transaction the added transaction
+     */
+    public static void apply(Account account, Transaction transaction) {
+        assert account.getAccountNumber() == transaction.getAccountNumber() : "Transaction is of another account";
+        account.adjustBalance(transaction.getAmountInCents());
+    }
+
+    /**
+     * Reverses the change of a deleted transaction on the balance of its account.
+     *
+     * @param account     the account of the transaction
+     * @param transaction the deleted transaction
+     */
+    public static void reverse(Account account, Transaction transaction) {
+        assert account.getAccountNumber() == transaction.getAccountNumber() : "Transaction is of another account";
+        account.adjustBalance(-transaction.getAmountInCents());
+    }
+
+    /**
+     * Replaces the change of an edited transaction on the balance of its account.
+     *
+     * @param account  the account of the transaction
+     * @param original the transaction before the edit
+     * @param edited   the transaction after the edit
+     */
+    public static void replace(Account account, Transaction original, Transaction edited) {
+        assert account.getAccountNumber() == original.getAccountNumber() : "Transaction is of another account";
+        assert account.getAccountNumber() == edited.getAccountNumber() : "Transaction is of another account";
+        account.adjustBalance(edited.getAmountInCents() - original.getAmountInCents());
+    }
+
+    /**
+     * Sums the amounts of the transactions of each account, splitting the table between the threads of the
+     * common ForkJoinPool.
+     *
+     * @param transactions the table of transactions
+     * @return the sum of the amounts in cents, keyed by account number
+     */
+    public static HashMap<Integer, Long> sumByAccount(TransactionTable transactions) {
+        HashMap<Integer, long[]> sums;
+        int rowCount = transactions.getRowCount();
+        if (rowCount <= MIN_ROWS_PER_TASK) {
+            sums = new SumTask(transactions, 0, rowCount).compute();
+        } else {
+            sums = ForkJoinPool.commonPool().invoke(new SumTask(transactions, 0, rowCount));
+        }
+        HashMap<Integer, Long> totals = new HashMap<>();
+        sums.forEach((accountNumber, sum) -> totals.put(accountNumber, sum[0]));
+        return totals;
+    }
+
+    /**
+     * Recomputes the balance of every account from its opening balance and its transactions, and returns how
+     * far each stored balance has drifted from the recomputed one.
+     * Accounts loaded without an opening balance have it derived from their current balance instead, so they
+     * have no drift.
+     *
+     * @param transactions the table of transactions
+     * @param accounts     the accounts
+     * @return the stored minus the recomputed balance in cents, for the accounts where they differ
+     */
+    public static HashMap<Integer, Long> findDrift(TransactionTable transactions, List<Account> accounts) {
+        HashMap<Integer, Long> sums = sumByAccount(transactions);
+        HashMap<Integer, Long> drift = new HashMap<>();
+        for (Account account : accounts) {
+            long sum = sums.getOrDefault(account.getAccountNumber(), 0L);
+            if (!account.hasOpeningBalance()) {
+                account.setOpeningBalanceInCents(account.getBalanceInCents() - sum);
+                LOGGER.log(Level.INFO, "Derived the opening balance of account " + account.getAccountNumber());
+                continue;
+            }
+            long difference = account.getBalanceInCents() - account.getOpeningBalanceInCents() - sum;
+            if (difference != 0) {
+                LOGGER.log(Level.WARNING, "Balance of account " + account.getAccountNumber() + " is off by "
+                        + difference + " cents");
+                drift.put(account.getAccountNumber(), difference);
+            }
+        }
+        return drift;
+    }
+
+    /**
+     * Sums the amounts of a range of rows per account, splitting the range in halves while it is large.
+     */
+    private static class SumTask extends RecursiveTask<HashMap<Integer, long[]>> {
+        private final TransactionTable transactions;
+        private final int start;
+        private final int end;
+
+        SumTask(TransactionTable transactions, int start, int end) {
+            this.transactions = transactions;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected HashMap<Integer, long[]> compute() {
+            if (end - start > MIN_ROWS_PER_TASK) {
+                int middle = (start + end) >>> 1;
+                SumTask second = new SumTask(transactions, middle, end);
+                second.fork();
+                HashMap<Integer, long[]> sums = new SumTask(transactions, start, middle).compute();
+                second.join().forEach((accountNumber, sum) ->
+                        sums.computeIfAbsent(accountNumber, key -> new long[1])[0] += sum[0]);
+                return sums;
+            }
+            HashMap<Integer, long[]> sums = new HashMap<>();
+            int lastAccountNumber = 0;
+            long[] lastSum = null;
+            for (int row = start; row < end; row++) {
+                if (!transactions.isLiveRow(row)) {
+                    continue;
+                }
+                int accountNumber = transactions.getAccountNumber(row);
+                if (lastSum == null || accountNumber != lastAccountNumber) {
+                    lastAccountNumber = accountNumber;
+                    lastSum = sums.computeIfAbsent(accountNumber, key -> new long[1]);
+                }
+                lastSum[0] += transactions.getAmountInCents(row);
+            }
+            return sums;
+        }
+    }
+}
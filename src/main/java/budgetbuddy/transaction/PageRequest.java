@@ -0,0 +1,92 @@
+package budgetbuddy.transaction;
+
+/**
+ * Selects one page of a listing, given as the `/limit/` and `/page/` options of a command.
+ * Pages are counted from the end of the listing, so the first page holds the latest transactions and each
+ * following page holds the ones before it. The transactions of a page keep the order of the listing.
+ */
+public class PageRequest {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int FIRST_PAGE = 1;
+
+    private final int limit;
+    private final int pageNumber;
+    private final boolean isGiven;
+
+    /**
+     * Creates a request for a page of the given size.
+     *
+     * @param limit      The largest number of transactions on a page.
+     * @param pageNumber The number of the page, starting from 1 for the latest transactions.
+     * @param isGiven    Whether the page was given by the user, rather than being the default.
+     */
+    public PageRequest(int limit, int pageNumber, boolean isGiven) {
+        assert limit > 0 : "Page limit must be positive";
+        assert pageNumber >= FIRST_PAGE : "Page number must be positive";
+        this.limit = limit;
+        this.pageNumber = pageNumber;
+        this.isGiven = isGiven;
+    }
+
+    /**
+     * Returns the request used when no page options are given, which is the first page of the default size.
+     *
+     * @return The default page request.
+     */
+    public static PageRequest getDefault() {
+        return new PageRequest(DEFAULT_LIMIT, FIRST_PAGE, false);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public boolean isGiven() {
+        return isGiven;
+    }
+
+    /**
+     * Returns the request for the page after this one, which holds older transactions.
+     *
+     * @return The next page request.
+     */
+    public PageRequest next() {
+        return new PageRequest(limit, pageNumber + 1, isGiven);
+    }
+
+    /**
+     * Returns the index of the first transaction of this page in a listing.
+     *
+     * @param size The number of transactions in the listing.
+     * @return The index of the first transaction, inclusive.
+     */
+    public int getStart(int size) {
+        return Math.max(0, getEnd(size) - limit);
+    }
+
+    /**
+     * Returns the index after the last transaction of this page in a listing, which is 0 if the listing has
+     * fewer pages than the page number.
+     *
+     * @param size The number of transactions in the listing.
+     * @return The index after the last transaction, exclusive.
+     */
+    public int getEnd(int size) {
+        long skipped = (long) (pageNumber - 1) * limit;
+        return (int) Math.max(0, size - skipped);
+    }
+
+    /**
+     * Returns the number of pages a listing is split into.
+     *
+     * @param size The number of transactions in the listing.
+     * @return The number of pages, which is at least 1.
+     */
+    public int getPageCount(int size) {
+        return Math.max(FIRST_PAGE, (size + limit - 1) / limit);
+    }
+}
@@ -0,0 +1,150 @@
+package budgetbuddy.transaction;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Runs the scans of a table across the threads of the common ForkJoinPool.
+ * A scan over more positions than the threshold is split in halves until each part is at most the threshold,
+ * and the matches of the parts are joined in order, so the result is the same as that of a sequential scan.
+ * Smaller scans run on the calling thread, since splitting them costs more than it saves.
+ * The threshold is set by the "budgetbuddy.scan.parallelThreshold" system property.
+ * The table must not change while a scan runs. Reading its rows never writes to it, so the parts can read
+ * them without locking.
+ */
+class ParallelRowScan {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64 * 1024;
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "budgetbuddy.scan.parallelThreshold";
+
+    private final int threshold;
+
+    /**
+     * Creates a scan that splits above the given number of positions.
+     *
+     * @param threshold The largest number of positions scanned by a single thread.
+     */
+    ParallelRowScan(int threshold) {
+        assert threshold > 0 : "Parallel threshold must be positive";
+        this.threshold = threshold;
+    }
+
+    /**
+     * Creates a scan that splits above the threshold set by the "budgetbuddy.scan.parallelThreshold" system
+     * property, which defaults to {@value #DEFAULT_PARALLEL_THRESHOLD}.
+     */
+    ParallelRowScan() {
+        this(Math.max(1, Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD)));
+    }
+
+    /**
+     * Returns the rows at the positions from 0 to count - 1 that match the filter, in the order of their
+     * positions.
+     *
+     * @param count     The number of positions.
+     * @param rowAt     Maps a position to its row.
+     * @param rowFilter The predicate on rows, which is called from several threads.
+     * @return The matching rows.
+     */
+    int[] filter(int count, IntUnaryOperator rowAt, IntPredicate rowFilter) {
+        FilterTask task = new FilterTask(rowAt, rowFilter, 0, count);
+        return count <= threshold ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Returns the rows from 0 to size - 1 that match the filter, in ascending order.
+     *
+     * @param size      The number of rows.
+     * @param rowFilter The predicate on rows, which is called from several threads.
+     * @return The matching rows.
+     */
+    int[] filter(int size, IntPredicate rowFilter) {
+        return filter(size, row -> row, rowFilter);
+    }
+
+    /**
+     * Calls the action once for every position from 0 to count - 1.
+     *
+     * @param count  The number of positions.
+     * @param action The action, which is called from several threads.
+     */
+    void forEach(int count, IntConsumer action) {
+        ForEachTask task = new ForEachTask(action, 0, count);
+        if (count <= threshold) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    /**
+     * Filters a range of positions, splitting the range in halves while it is above the threshold.
+     */
+    private class FilterTask extends RecursiveTask<int[]> {
+        private final IntUnaryOperator rowAt;
+        private final IntPredicate rowFilter;
+        private final int start;
+        private final int end;
+
+        FilterTask(IntUnaryOperator rowAt, IntPredicate rowFilter, int start, int end) {
+            this.rowAt = rowAt;
+            this.rowFilter = rowFilter;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (end - start > threshold) {
+                int middle = (start + end) >>> 1;
+                FilterTask second = new FilterTask(rowAt, rowFilter, middle, end);
+                second.fork();
+                int[] firstRows = new FilterTask(rowAt, rowFilter, start, middle).compute();
+                int[] secondRows = second.join();
+                int[] rows = Arrays.copyOf(firstRows, firstRows.length + secondRows.length);
+                System.arraycopy(secondRows, 0, rows, firstRows.length, secondRows.length);
+                return rows;
+            }
+            int[] rows = new int[end - start];
+            int count = 0;
+            for (int position = start; position < end; position++) {
+                int row = rowAt.applyAsInt(position);
+                if (rowFilter.test(row)) {
+                    rows[count++] = row;
+                }
+            }
+            return Arrays.copyOf(rows, count);
+        }
+    }
+
+    /**
+     * Visits a range of positions, splitting the range in halves while it is above the threshold.
+     */
+    private class ForEachTask extends RecursiveAction {
+        private final IntConsumer action;
+        private final int start;
+        private final int end;
+
+        ForEachTask(IntConsumer action, int start, int end) {
+            this.action = action;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > threshold) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ForEachTask(action, start, middle), new ForEachTask(action, middle, end));
+                return;
+            }
+            for (int position = start; position < end; position++) {
+                action.accept(position);
+            }
+        }
+    }
+}
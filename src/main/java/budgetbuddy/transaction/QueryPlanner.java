@@ -0,0 +1,128 @@
+package budgetbuddy.transaction;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Answers a {@link TransactionQuery} over a table.
+ * The planner asks each index that can serve one of the filters how many rows it would return, and reads
+ * only the rows of the most selective one. The other filters are then checked on those rows, which is cheap
+ * since they only read columns. If no index narrows the table down enough, the whole table is scanned instead,
+ * as visiting most rows through an index costs more than reading the columns in order.
+ * Keywords can only be answered by the keyword indexes, so their matches are always looked up and intersected
+ * with the rows that pass the other filters.
+ * The filters are checked on the rows in parallel when there are many of them, see {@link ParallelRowScan}.
+ */
+class QueryPlanner {
+    public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    static final int SCAN_FRACTION = 4;
+
+    /**
+     * The ways the rows of a query can be found.
+     */
+    enum AccessPath {
+        SCAN, DATE_INDEX, ACCOUNT_INDEX, CATEGORY_INDEX, KEYWORD_INDEX
+    }
+
+    private final TransactionTable transactions;
+
+    QueryPlanner(TransactionTable transactions) {
+        this.transactions = transactions;
+    }
+
+    /**
+     * Returns the rows that match the query.
+     *
+     * @param query The query.
+     * @return The indices of the matching rows, in ascending order.
+     */
+    int[] execute(TransactionQuery query) {
+        int[] keywordRows = query.hasKeywords() ? transactions.searchRows(query.getKeywords()) : null;
+        AccessPath path = choosePath(query, keywordRows);
+        LOGGER.log(Level.INFO, "Query reads rows through " + path);
+        int[] candidates = getCandidates(path, query, keywordRows);
+        ParallelRowScan scan = transactions.getParallelScan();
+        int[] matchingRows;
+        if (candidates == null) {
+            matchingRows = scan.filter(transactions.getRowCount(),
+                    row -> transactions.isLiveRow(row) && query.matchesColumns(transactions, row));
+        } else {
+            matchingRows = scan.filter(candidates.length, i -> candidates[i],
+                    row -> query.matchesColumns(transactions, row));
+        }
+        if (keywordRows == null || path == AccessPath.KEYWORD_INDEX) {
+            return matchingRows;
+        }
+        return intersect(matchingRows, keywordRows);
+    }
+
+    /**
+     * Picks the access path that reads the fewest rows, or a scan if even the best index would read more
+     * than a quarter of the table. Keyword matches are already known, so they are used whenever present
+     * and no other index beats them.
+     *
+     * @param query       The query.
+     * @param keywordRows The rows that match the keywords, or null if the query has none.
+     * @return The chosen access path.
+     */
+    AccessPath choosePath(TransactionQuery query, int[] keywordRows) {
+        AccessPath path = AccessPath.SCAN;
+        long fewestRows = transactions.size() / SCAN_FRACTION;
+        if (keywordRows != null) {
+            path = AccessPath.KEYWORD_INDEX;
+            fewestRows = keywordRows.length;
+        }
+        if (query.hasDateRange()) {
+            int rowCount = transactions.countRowsBetweenDays(query.getFromEpochDay(), query.getToEpochDay());
+            if (rowCount < fewestRows) {
+                path = AccessPath.DATE_INDEX;
+                fewestRows = rowCount;
+            }
+        }
+        if (query.hasAccount()) {
+            int rowCount = transactions.countAccountRows(query.getAccountNumber());
+            if (rowCount < fewestRows) {
+                path = AccessPath.ACCOUNT_INDEX;
+                fewestRows = rowCount;
+            }
+        }
+        if (query.hasCategory() && transactions.countCategoryRows(query.getCategory()) < fewestRows) {
+            path = AccessPath.CATEGORY_INDEX;
+        }
+        return path;
+    }
+
+    private int[] getCandidates(AccessPath path, TransactionQuery query, int[] keywordRows) {
+        switch (path) {
+        case DATE_INDEX:
+            return transactions.getRowsBetweenDays(query.getFromEpochDay(), query.getToEpochDay());
+        case ACCOUNT_INDEX:
+            return transactions.getAccountRows(query.getAccountNumber());
+        case CATEGORY_INDEX:
+            return transactions.getCategoryRows(query.getCategory()).stream().toArray();
+        case KEYWORD_INDEX:
+            return keywordRows;
+        default:
+            return null;
+        }
+    }
+
+    private static int[] intersect(int[] rows, int[] otherRows) {
+        int[] common = new int[Math.min(rows.length, otherRows.length)];
+        int count = 0;
+        int next = 0;
+        for (int row : rows) {
+            while (next < otherRows.length && otherRows[next] < row) {
+                next++;
+            }
+            if (next == otherRows.length) {
+                break;
+            }
+            if (otherRows[next] == row) {
+                common[count++] = row;
+            }
+        }
+        return Arrays.copyOf(common, count);
+    }
+}
@@ -12,17 +12,21 @@ import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
 import budgetbuddy.exceptions.InvalidCategoryException;
 import budgetbuddy.exceptions.InvalidEditTransactionData;
 import budgetbuddy.exceptions.InvalidIndexException;
+import budgetbuddy.exceptions.InvalidTransactionIdException;
 import budgetbuddy.exceptions.InvalidTransactionTypeException;
 import budgetbuddy.insights.Insight;
 import budgetbuddy.parser.Parser;
 import budgetbuddy.storage.DataStorage;
+import budgetbuddy.storage.JournalEntry;
 import budgetbuddy.transaction.type.Transaction;
 import budgetbuddy.ui.UserInterface;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,9 +36,8 @@ import java.util.logging.Logger;
 public class TransactionList {
 
     public static final int DELETE_BEGIN_INDEX = 7;
-    public static final int INDEX_OFFSET = 1;
-    public static final int LOWER_BOUND = 0;
     public static final int EDIT_BEGIN_INDEX = 5;
+    public static final int LIST_BEGIN_INDEX = 4;
     public static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     public static final String ACCOUNT = "acc";
@@ -44,19 +47,22 @@ public class TransactionList {
     public static final String EDIT = "edit";
     public static final String LIST = "list";
     public static final String SEARCH = "search";
+    public static final String QUERY = "query";
     private static final int DAYS_IN_WEEK = 7;
     private static final int DAYS_IN_MONTH = 30;
     private static final int DAYS_OFFSET = 1;
 
-    private final ArrayList<Transaction> transactions;
+    private final TransactionTable transactions;
     private final Parser parser;
     private final DataStorage dataStorage = new DataStorage();
+    private final ArrayList<JournalEntry> pendingJournalEntries = new ArrayList<>();
+    private boolean isTrigramIndexSaved;
 
     /**
      * Constructs a new TransactionList object with an empty list of transactions and a parser.
      */
     public TransactionList() {
-        this.transactions = new ArrayList<>();
+        this.transactions = new TransactionTable();
         this.parser = new Parser();
         LOGGER.log(Level.INFO, "TransactionList created with empty transactions and parser");
 
@@ -67,17 +73,29 @@ public class TransactionList {
      *
      * @param transactions The list of transactions.
      */
-    public TransactionList(ArrayList<Transaction> transactions) {
-        this.transactions = transactions;
+    public TransactionList(List<Transaction> transactions) {
+        this.transactions = transactions instanceof TransactionTable
+                ? (TransactionTable) transactions
+                : new TransactionTable(transactions);
         this.parser = new Parser();
         LOGGER.log(Level.INFO, "TransactionList created with transactions and parser");
 
     }
 
-    public ArrayList<Transaction> getTransactions() {
+    public TransactionTable getTransactions() {
         return transactions;
     }
 
+    /**
+     * Checks the balance of every account against its opening balance plus the amounts of its transactions.
+     *
+     * @param accounts The accounts to check.
+     * @return The amount in cents by which each drifted balance differs, keyed by account number.
+     */
+    public HashMap<Integer, Long> checkBalances(List<Account> accounts) {
+        return BalanceLedger.findDrift(transactions, accounts);
+    }
+
     public void printTransactions() {
         UserInterface.printAllTransactions(transactions);
     }
@@ -85,11 +103,11 @@ public class TransactionList {
     /**
      * Removes a transaction from the list based on the user input.
      *
-     * @param input          The user input specifying the transaction to be removed.
+     * @param input          The user input specifying the ID of the transaction to be removed.
      * @param accountManager The account manager for retrieving account information.
      * @throws EmptyArgumentException If the input string is empty or does not contain the required parameter.
-     * @throws NumberFormatException  If the index parsed from the input string is not a valid integer.
-     * @throws InvalidIndexException  If the index is out of bounds or invalid.
+     * @throws NumberFormatException  If the ID parsed from the input string is not a valid integer.
+     * @throws InvalidIndexException  If no transaction has the given ID.
      */
     public void removeTransaction(String input, AccountManager accountManager) throws EmptyArgumentException,
             NumberFormatException, InvalidIndexException {
@@ -98,22 +116,21 @@ public class TransactionList {
             throw new EmptyArgumentException("delete index");
         }
         String data = input.substring(DELETE_BEGIN_INDEX).trim();
-        int id = Integer.parseInt(data) - INDEX_OFFSET;
+        int id = Integer.parseInt(data);
         int size = transactions.size();
-        if (id >= LOWER_BOUND && id < size) {
-            String itemRemoved = transactions.get(id).toString();
-            Account account = accountManager.getAccountByAccountNumber(transactions.get(id).getAccountNumber());
-            assert itemRemoved != null : "String representation of item to remove is null";
-            account.setBalance(account.getBalance() - transactions.get(id).getAmount());
-            transactions.remove(id);
-            assert transactions.size() == size - 1 : "Transaction list size did not decrease after removal";
-            UserInterface.printDeleteMessage(itemRemoved, account.getBalance());
-            LOGGER.log(Level.INFO, "Transaction is removed successfully");
-
-        } else {
-            LOGGER.log(Level.WARNING, "Invalid index for delete command");
-            throw new InvalidIndexException(String.valueOf(size));
+        Transaction transactionToRemove = transactions.removeById(id);
+        if (transactionToRemove == null) {
+            LOGGER.log(Level.WARNING, "Invalid transaction id for delete command");
+            throw new InvalidTransactionIdException(String.valueOf(id));
         }
+        String itemRemoved = transactionToRemove.toString();
+        Account account = accountManager.getAccountByAccountNumber(transactionToRemove.getAccountNumber());
+        assert itemRemoved != null : "String representation of item to remove is null";
+        BalanceLedger.reverse(account, transactionToRemove);
+        pendingJournalEntries.add(JournalEntry.delete(id));
+        assert transactions.size() == size - 1 : "Transaction list size did not decrease after removal";
+        UserInterface.printDeleteMessage(itemRemoved, account.getBalance());
+        LOGGER.log(Level.INFO, "Transaction is removed successfully");
     }
 
     public static boolean isNotInteger(String data) {
@@ -136,6 +153,37 @@ public class TransactionList {
 
     void addTransaction(Transaction t) {
         transactions.add(t);
+        pendingJournalEntries.add(JournalEntry.add(t));
+    }
+
+    /**
+     * Asks for the category of an `add` command that does not give one, and returns the command with the
+     * chosen category added as a `/c/` argument. Commands that give a category, and commands in batch mode,
+     * where nothing is asked, are returned as they are. Nothing is changed, so the state lock does not need
+     * to be held while the user answers.
+     *
+     * @param input The user input specifying the transaction details.
+     * @return The command with its category.
+     * @throws InvalidAddTransactionSyntax If the syntax for adding a transaction is invalid.
+     */
+    public String completeAddCommand(String input) throws InvalidAddTransactionSyntax {
+        checkAddSyntax(input);
+        if (UserInterface.isBatchMode() || input.contains("/c/")) {
+            return input;
+        }
+        LOGGER.log(Level.INFO, "Category not entered. Prompting for category.");
+        UserInterface.listCategories();
+        return input + " /c/" + UserInterface.getCategoryNum();
+    }
+
+    private static void checkAddSyntax(String input) throws InvalidAddTransactionSyntax {
+        String[] arguments = {"/a/", "/t/", "/n/", "/$/", "/d/"};
+        for (String argument : arguments) {
+            if (!input.contains(argument)) {
+                LOGGER.log(Level.WARNING, "Invalid add transaction syntax");
+                throw new InvalidAddTransactionSyntax("Invalid add syntax.");
+            }
+        }
     }
 
     /**
@@ -151,32 +199,67 @@ public class TransactionList {
     public void processTransaction(String input, Account account)
             throws InvalidTransactionTypeException, InvalidAddTransactionSyntax, EmptyArgumentException,
             InvalidCategoryException {
-        // Check for syntax for add transaction
-        String[] arguments = {"/a/", "/t/", "/n/", "/$/", "/d/"};
-        for (String argument : arguments) {
-            if (!input.contains(argument)) {
-                LOGGER.log(Level.WARNING, "Invalid add transaction syntax");
-                throw new InvalidAddTransactionSyntax("Invalid add syntax.");
-            }
-        }
-
+        checkAddSyntax(input);
         Transaction t = parser.parseUserInputToTransaction(input, account);
         assert t != null : "Parsed transaction is null";
         addTransaction(t);
-        assert transactions.get(transactions.size() - 1) != null : "Added transaction is null after adding to the list";
-        String fetchData = String.valueOf(transactions.get(transactions.size() - 1));
+        BalanceLedger.apply(account, t);
+        Transaction added = transactions.getById(t.getId());
+        assert added != null : "Added transaction is null after adding to the list";
+        String fetchData = String.valueOf(added);
         UserInterface.printAddMessage(fetchData, account.getBalance());
         LOGGER.log(Level.INFO, "Transaction added successfully");
 
     }
 
     /**
-     * Saves the current list of transactions to a data storage.
+     * Saves the changes made since the last save to a data storage.
+     * The changes are appended to the transaction journal, and the whole list is only rewritten
+     * when the journal is due for compaction. No I/O is performed if nothing changed.
+     * If saving fails, the changes are kept and written again by the next save, which is safe since a failed
+     * append leaves the journal as it was.
      *
      * @throws IOException If an I/O error occurs while saving the transactions.
      */
     public void saveTransactionList() throws IOException {
-        dataStorage.saveTransactions(transactions);
+        if (!hasUnsavedChanges()) {
+            return;
+        }
+        if (dataStorage.isJournalCompactionDue()) {
+            dataStorage.saveTransactionSnapshot(transactions);
+        } else {
+            dataStorage.appendToJournal(pendingJournalEntries);
+        }
+        pendingJournalEntries.clear();
+        isTrigramIndexSaved = false;
+    }
+
+    /**
+     * Saves the trigram index used by search, unless the saved copy is already current.
+     * This is only done on shutdown, since the index is large and only needed again on the next start.
+     *
+     * @throws IOException If an I/O error occurs while saving the index.
+     */
+    public void saveTrigramIndex() throws IOException {
+        if (!isTrigramIndexSaved && dataStorage.saveTrigramIndex(transactions)) {
+            isTrigramIndexSaved = true;
+        }
+    }
+
+    /**
+     * Records that the trigram index was loaded from a saved copy that matches the transactions.
+     */
+    public void setTrigramIndexSaved() {
+        isTrigramIndexSaved = true;
+    }
+
+    /**
+     * Returns whether any transaction was added, edited or removed since the last save.
+     *
+     * @return true if the transaction list has unsaved changes.
+     */
+    public boolean hasUnsavedChanges() {
+        return !pendingJournalEntries.isEmpty();
     }
 
     /**
@@ -184,10 +267,10 @@ public class TransactionList {
      *
      * @param transactions The list of transactions to filter.
      * @param duration     The duration of past transactions to retrieve ("week" or "month").
-     * @return An ArrayList containing past transactions based on the specified duration.
+     * @return A list containing past transactions based on the specified duration, read lazily.
      */
     //@@author isaaceng7
-    public static ArrayList<Transaction> getPastTransactions(ArrayList<Transaction> transactions, String duration) {
+    public static List<Transaction> getPastTransactions(TransactionTable transactions, String duration) {
         LocalDate today = LocalDate.now();
         LocalDate startDate = null;
         switch (duration) {
@@ -200,12 +283,9 @@ public class TransactionList {
         default:
             break;
         }
-        ArrayList<Transaction> pastTransactions = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getDate().isAfter(startDate)) {
-                pastTransactions.add(transaction);
-            }
-        }
+        int startDay = (int) startDate.toEpochDay();
+        List<Transaction> pastTransactions = transactions.viewRows(
+                transactions.getRowsBetweenDays(startDay + 1, Integer.MAX_VALUE));
         LOGGER.log(Level.INFO, "Past transactions loaded successfully");
         return pastTransactions;
     }
@@ -214,20 +294,30 @@ public class TransactionList {
      * Retrieves transactions within a custom date range.
      *
      * @param transactions The list of transactions to filter.
-     * @return An ArrayList containing transactions within the specified custom date range.
+     * @return A list containing transactions within the specified custom date range, read lazily.
      */
-    public static ArrayList<Transaction> getCustomDateTransactions(ArrayList<Transaction> transactions) {
+    public static List<Transaction> getCustomDateTransactions(TransactionTable transactions) {
         String start = UserInterface.getStartDate();
         String end = UserInterface.getEndDate();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        LocalDate startDate = LocalDate.parse(start, formatter).minusDays(DAYS_OFFSET);
-        LocalDate endDate = LocalDate.parse(end, formatter).plusDays(DAYS_OFFSET);
-        ArrayList<Transaction> customDateTransactions = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getDate().isAfter(startDate) && transaction.getDate().isBefore(endDate)) {
-                customDateTransactions.add(transaction);
-            }
-        }
+        return getCustomDateTransactions(transactions, start, end);
+    }
+
+    /**
+     * Retrieves transactions between the given dates, inclusive.
+     *
+     * @param transactions The list of transactions to filter.
+     * @param start        The start date, in the DD-MM-YYYY format.
+     * @param end          The end date, in the DD-MM-YYYY format.
+     * @return A list containing transactions within the date range, read lazily.
+     */
+    public static List<Transaction> getCustomDateTransactions(TransactionTable transactions, String start,
+                                                              String end) {
+        LocalDate startDate = LocalDate.parse(start, Transaction.DATE_FORMATTER).minusDays(DAYS_OFFSET);
+        LocalDate endDate = LocalDate.parse(end, Transaction.DATE_FORMATTER).plusDays(DAYS_OFFSET);
+        int startDay = (int) startDate.toEpochDay();
+        int endDay = (int) endDate.toEpochDay();
+        List<Transaction> customDateTransactions = transactions.viewRows(
+                transactions.getRowsBetweenDays(startDay + 1, endDay - 1));
         LOGGER.log(Level.INFO, "Custom date transactions loaded successfully");
 
         return customDateTransactions;
@@ -238,16 +328,10 @@ public class TransactionList {
      *
      * @param transactions   The list of transactions to filter.
      * @param accountNumber  The account number for which transactions are to be retrieved.
-     * @return An ArrayList containing transactions associated with the specified account number.
+     * @return A list containing transactions associated with the specified account number, read lazily.
      */
-    public static ArrayList<Transaction> getAccountTransactions(ArrayList<Transaction> transactions,
-                                                                int accountNumber) {
-        ArrayList<Transaction> accountTransactions = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getAccountNumber() == accountNumber) {
-                accountTransactions.add(transaction);
-            }
-        }
+    public static List<Transaction> getAccountTransactions(TransactionTable transactions, int accountNumber) {
+        List<Transaction> accountTransactions = transactions.viewRows(transactions.getAccountRows(accountNumber));
         LOGGER.log(Level.INFO, "Transaction based on account loaded successfully");
         return accountTransactions;
     }
@@ -257,16 +341,11 @@ public class TransactionList {
      *
      * @param transactions The list of transactions to filter.
      * @param category     The category for which transactions are to be retrieved.
-     * @return An ArrayList containing transactions associated with the specified category.
+     * @return A list containing transactions associated with the specified category, read lazily.
      */
-    public static ArrayList<Transaction> getCategoryTransactions(ArrayList<Transaction> transactions,
-                                                                 Category category) {
-        ArrayList<Transaction> categoryTransactions = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getCategory() == category) {
-                categoryTransactions.add(transaction);
-            }
-        }
+    public static List<Transaction> getCategoryTransactions(TransactionTable transactions, Category category) {
+        List<Transaction> categoryTransactions = transactions.viewRows(
+                transactions.getCategoryRows(category).stream().toArray());
         LOGGER.log(Level.INFO, "Transactions based on a category loaded successfully");
 
         return categoryTransactions;
@@ -275,54 +354,84 @@ public class TransactionList {
     /**
      * Processes the user-selected list option to list a specific set of transactions
      * and perform the corresponding action.
+     * The option and the values it needs can be given in the command, such as `list 5 /acc/1234`, and are
+     * asked for otherwise.
+     * Only the page given by the `/limit/` and `/page/` options of the command is printed. Without them, a long
+     * listing is shown one page at a time when the user is at a terminal.
      *
+     * @param input           The `list` command, which may hold the option, its values and page options.
      * @param accounts        The list of accounts.
      * @param accountManager  The account manager for retrieving account information.
      * @throws InvalidIndexException   If the selected option index is invalid.
      * @throws InvalidCategoryException If the selected category is invalid.
+     * @throws EmptyArgumentException  If a value in the command is empty, or is missing in batch mode.
+     * @throws InvalidArgumentSyntaxException If a page option is not valid.
      */
-    public void processList(ArrayList<Account> accounts, AccountManager accountManager) throws InvalidIndexException,
-            InvalidCategoryException {
-        UserInterface.printListOptions();
-        String data = UserInterface.getListOption().trim();
+    public void processList(String input, ArrayList<Account> accounts, AccountManager accountManager)
+            throws InvalidIndexException, InvalidCategoryException, EmptyArgumentException,
+            InvalidArgumentSyntaxException {
+        PageRequest page = parser.parsePageRequest(input);
+        String data = Parser.parseCommandHead(input).substring(LIST_BEGIN_INDEX).trim();
+        if (data.isEmpty() && UserInterface.isBatchMode()) {
+            throw new EmptyArgumentException("list option ");
+        }
+        if (data.isEmpty()) {
+            UserInterface.printListOptions();
+            data = UserInterface.getListOption().trim();
+        }
         int option = Integer.parseInt(data);
         switch (option) {
         // 1 - ALL TRANSACTIONS
         case 1:
-            printTransactions();
+            printPages(transactions, page, UserInterface::printAllTransactions);
             break;
         // 2 - PAST WEEK TRANSACTIONS
         case 2:
-            ArrayList<Transaction> pastWeekTransactions = getPastTransactions(transactions, "week");
-            UserInterface.printPastTransactions(pastWeekTransactions, "week");
+            List<Transaction> pastWeekTransactions = getPastTransactions(transactions, "week");
+            printPages(pastWeekTransactions, page, rows -> UserInterface.printPastTransactions(rows, "week"));
             break;
         // 3 - PAST MONTH TRANSACTIONS
         case 3:
-            ArrayList<Transaction> pastMonthTransactions = getPastTransactions(transactions, "month");
-            UserInterface.printPastTransactions(pastMonthTransactions, "month");
+            List<Transaction> pastMonthTransactions = getPastTransactions(transactions, "month");
+            printPages(pastMonthTransactions, page, rows -> UserInterface.printPastTransactions(rows, "month"));
             break;
         // 4 - CUSTOM DATE TRANSACTIONS
         case 4:
-            ArrayList<Transaction> customDateTransactions = getCustomDateTransactions(transactions);
-            UserInterface.printCustomDateTransactions(customDateTransactions);
+            String start = Parser.parseInlineArgument(input, "from");
+            String end = Parser.parseInlineArgument(input, "to");
+            List<Transaction> customDateTransactions = getCustomDateTransactions(transactions,
+                    start == null ? UserInterface.getStartDate() : start,
+                    end == null ? UserInterface.getEndDate() : end);
+            printPages(customDateTransactions, page, UserInterface::printCustomDateTransactions);
             break;
         // 5 - ACCOUNT TRANSACTIONS
         case 5:
-            String accountData = UserInterface.getSelectedAccountNumber(accounts);
+            String accountData = Parser.parseInlineArgument(input, "acc");
+            if (accountData == null) {
+                accountData = UserInterface.getSelectedAccountNumber(accounts);
+            }
             int accountNumber = Integer.parseInt(accountData);
             Account account = accountManager.getAccountByAccountNumber(accountNumber);
             String accountName = account.getName();
-            ArrayList<Transaction> accountTransactions = getAccountTransactions(transactions, accountNumber);
-            UserInterface.printAccountTransactions(accountTransactions, accountName, accountNumber);
+            List<Transaction> accountTransactions = getAccountTransactions(transactions, accountNumber);
+            printPages(accountTransactions, page,
+                    rows -> UserInterface.printAccountTransactions(rows, accountName, accountNumber));
             break;
         // 6 - CATEGORY TRANSACTIONS
         case 6:
-            UserInterface.listCategories();
-            int input = UserInterface.getSelectedCategory();
-            Category categorySelected = Category.fromNumber(input);
+            String categoryData = Parser.parseInlineArgument(input, "cat");
+            int categoryNumber;
+            if (categoryData == null) {
+                UserInterface.listCategories();
+                categoryNumber = UserInterface.getSelectedCategory();
+            } else {
+                categoryNumber = Integer.parseInt(categoryData);
+            }
+            Category categorySelected = Category.fromNumber(categoryNumber);
             String categoryName = categorySelected.getCategoryName();
-            ArrayList<Transaction> categoryTransactions = getCategoryTransactions(transactions, categorySelected);
-            UserInterface.printCategoryTransactions(categoryTransactions, categoryName);
+            List<Transaction> categoryTransactions = getCategoryTransactions(transactions, categorySelected);
+            printPages(categoryTransactions, page,
+                    rows -> UserInterface.printCategoryTransactions(rows, categoryName));
             break;
         default:
             LOGGER.log(Level.WARNING, "Invalid index for 'list' command");
@@ -331,45 +440,116 @@ public class TransactionList {
 
     }
 
+    /**
+     * Prints a page of a listing. Only the transactions of that page are read from the listing, so the others
+     * are never created or formatted.
+     * If no page was given, a listing longer than a page is printed whole when the commands are piped in, and
+     * one page at a time otherwise, asking before each older page.
+     *
+     * @param listing The transactions to list.
+     * @param page    The page to print.
+     * @param printer Prints a list of transactions under the heading of the listing.
+     */
+    private static void printPages(List<Transaction> listing, PageRequest page, Consumer<List<Transaction>> printer) {
+        int size = listing.size();
+        boolean isWholeListingShown = size <= page.getLimit() || !UserInterface.isInteractive();
+        if (size == 0 || (!page.isGiven() && isWholeListingShown)) {
+            printer.accept(listing);
+            return;
+        }
+        int start = page.getStart(size);
+        int end = page.getEnd(size);
+        if (start == end) {
+            UserInterface.printPageOutOfRange(page.getPageNumber(), page.getPageCount(size));
+            return;
+        }
+        printer.accept(listing.subList(start, end));
+        UserInterface.printPageFooter(start + 1, end, size);
+        if (page.isGiven()) {
+            return;
+        }
+        while (start > 0 && UserInterface.isNextPageWanted(start)) {
+            page = page.next();
+            start = page.getStart(size);
+            end = page.getEnd(size);
+            printer.accept(listing.subList(start, end));
+            UserInterface.printPageFooter(start + 1, end, size);
+        }
+    }
+
+    /**
+     * Reads the new values of the transaction named by an `edit` command.
+     * The new values can be given in the command, such as `edit 3 /$/12.50`, in which case the values that are
+     * left out are kept. Otherwise, the user is asked for every value. Nothing is changed, so the state lock
+     * does not need to be held while the user answers.
+     *
+     * @param input The user input specifying the ID of the transaction to be edited, and optionally its new
+     *              values.
+     * @return The new type, description, date, amount and category, separated by " | ".
+     * @throws EmptyArgumentException         If the input string is empty or missing required arguments.
+     * @throws NumberFormatException          If the ID parsed from the input string is not a valid integer.
+     * @throws InvalidIndexException          If no transaction has the given ID.
+     * @throws InvalidArgumentSyntaxException If an entered value contains a comma.
+     */
+    public String readEditValues(String input) throws EmptyArgumentException, NumberFormatException,
+            InvalidIndexException, InvalidArgumentSyntaxException {
+        Transaction transaction = findTransactionToEdit(input);
+        boolean hasInlineValues = Parser.parseCommandHead(input).length() < input.length();
+        if (!hasInlineValues && UserInterface.isBatchMode()) {
+            throw new EmptyArgumentException("new values of the transaction ");
+        }
+        return hasInlineValues
+                ? Parser.parseInlineEdit(input, transaction)
+                : UserInterface.getEditInformation(transaction.toString());
+    }
+
     /**
      * Processes the user input for editing a transaction and updates the transaction accordingly.
      *
-     * @param input           The user input specifying the transaction index to be edited.
+     * @param input           The user input specifying the ID of the transaction to be edited.
+     * @param newValues       The new values of the transaction, as returned by {@link #readEditValues(String)}.
      * @param accountManager  The account manager for retrieving account information.
      * @throws EmptyArgumentException      If the input string is empty or missing required arguments.
-     * @throws NumberFormatException       If the index parsed from the input string is not a valid integer.
-     * @throws InvalidIndexException       If the index is out of bounds or invalid.
+     * @throws NumberFormatException       If the ID parsed from the input string is not a valid integer.
+     * @throws InvalidIndexException       If no transaction has the given ID.
      * @throws InvalidEditTransactionData  If the data for editing the transaction is invalid.
      * @throws InvalidCategoryException    If the specified category is invalid.
      */
     //@@author Vavinan
-    public void processEditTransaction(String input, AccountManager accountManager) throws EmptyArgumentException,
-            NumberFormatException, InvalidIndexException, InvalidEditTransactionData, InvalidCategoryException,
-            InvalidArgumentSyntaxException {
-        if (input.trim().length() < EDIT_BEGIN_INDEX) {
+    public void processEditTransaction(String input, String newValues, AccountManager accountManager)
+            throws EmptyArgumentException, NumberFormatException, InvalidIndexException, InvalidEditTransactionData,
+            InvalidCategoryException {
+        Transaction transaction = findTransactionToEdit(input);
+        int id = transaction.getId();
+        Account account = accountManager.getAccountByAccountNumber(transaction.getAccountNumber());
+        Transaction t = parser.parseEditTransaction(newValues, account);
+        transactions.setById(id, t);
+        BalanceLedger.replace(account, transaction, t);
+        pendingJournalEntries.add(JournalEntry.edit(t));
+        UserInterface.printUpdatedTransaction(t);
+        LOGGER.log(Level.INFO, "Transaction is edited successfully");
+    }
+
+    private Transaction findTransactionToEdit(String input) throws EmptyArgumentException, NumberFormatException,
+            InvalidIndexException {
+        String command = Parser.parseCommandHead(input);
+        if (command.trim().length() < EDIT_BEGIN_INDEX) {
             LOGGER.log(Level.WARNING, "Index id is missing for edit command");
             throw new EmptyArgumentException("edit index ");
         }
-        String data = input.substring(EDIT_BEGIN_INDEX).trim();
+        String data = command.substring(EDIT_BEGIN_INDEX).trim();
 
         if (isNotInteger(data)) {
             LOGGER.log(Level.WARNING, "Given index id for 'edit' command is not an integer");
             throw new NumberFormatException(data);
         }
-        int index = Integer.parseInt(data) - INDEX_OFFSET;
-        if ((index >= LOWER_BOUND) && (index < transactions.size())) {
-            Transaction transaction = transactions.get(index);
-            Account account = accountManager.getAccountByAccountNumber(transaction.getAccountNumber());
-            String newTransaction = UserInterface.getEditInformation(transaction.toString());
-            Transaction t = parser.parseEditTransaction(newTransaction, account);
-            transactions.set(index, t);
-            UserInterface.printUpdatedTransaction(t);
-            LOGGER.log(Level.INFO, "Transaction is edited successfully");
-
-        } else {
-            LOGGER.log(Level.WARNING, "Given index id for 'edit' command is not valid");
-            throw new InvalidIndexException(String.valueOf(transactions.size()));
+        int id = Integer.parseInt(data);
+        Transaction transaction = transactions.getById(id);
+        if (transaction == null) {
+            LOGGER.log(Level.WARNING, "Given transaction id for 'edit' command is not valid");
+            throw new InvalidTransactionIdException(String.valueOf(id));
         }
+        return transaction;
     }
 
     /**
@@ -402,6 +582,9 @@ public class TransactionList {
         case SEARCH:
             UserInterface.printSearchHelp();
             break;
+        case QUERY:
+            UserInterface.printQueryHelp();
+            break;
         default:
             UserInterface.printUseAvailableHelp();
             break;
@@ -418,13 +601,8 @@ public class TransactionList {
     }
 
     public ArrayList<Transaction> removeTransactionsByAccountNumber(int accountNumber) {
-        ArrayList<Transaction> transactionsToRemove = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getAccountNumber() == accountNumber) {
-                transactionsToRemove.add(transaction);
-            }
-        }
-        transactions.removeAll(transactionsToRemove);
+        ArrayList<Transaction> transactionsToRemove = transactions.removeAccountRows(accountNumber);
+        pendingJournalEntries.add(JournalEntry.deleteAccount(accountNumber));
         LOGGER.log(Level.INFO, "Transactions were removed successfully from the specified account number");
         return transactionsToRemove;
     }
@@ -432,33 +610,44 @@ public class TransactionList {
     /**
      * Searches transactions based on a keyword and prints search results.
      *
-     * @param input The user input specifying the keyword to search for transactions.
+     * @param input The user input specifying the keyword to search for transactions, and optionally the page
+     *              of results to print.
      */
     public void searchTransactions(String input) {
-        try {
-            String keyword = input.split(" ")[1];
-            ArrayList<Transaction> searchResults = new ArrayList<>();
-            ArrayList<Integer> indices = new ArrayList<>();
-            int index = 0;
-            for (Transaction transaction : transactions) {
-                if (transaction.getDescription().toLowerCase().contains(keyword.toLowerCase()) ||
-                        String.valueOf(transaction.getAmount()).contains(keyword) ||
-                        transaction.getCategory().getCategoryName().toLowerCase()
-                                .contains(keyword.toLowerCase()) ||
-                        transaction.getDate().toString().contains(keyword)) {
-                    searchResults.add(transaction);
-                    indices.add(index);
-                }
-                index++;
-            }
-            LOGGER.log(Level.INFO, "Transactions are filtered out for 'search' command");
-            UserInterface.printSearchResults(searchResults, indices);
-        } catch (ArrayIndexOutOfBoundsException e) {
+        String[] commandAndQuery = Parser.removePageOptions(input).split(" ", 2);
+        if (commandAndQuery.length < 2 || commandAndQuery[1].isBlank()) {
             LOGGER.log(Level.WARNING, "Keyword is not provided for search command");
             UserInterface.printInvalidInput("Please enter a keyword to search for transactions.");
+            return;
+        }
+        try {
+            String query = commandAndQuery[1];
+            PageRequest page = parser.parsePageRequest(input);
+            List<Transaction> searchResults = transactions.viewRows(transactions.searchRows(query));
+            LOGGER.log(Level.INFO, "Transactions are filtered out for 'search' command");
+            printPages(searchResults, page, UserInterface::printSearchResults);
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Search command failed");
             UserInterface.printExceptionErrorMessage(e.getMessage());
         }
     }
+
+    /**
+     * Finds the transactions that match every filter of a query and prints them.
+     *
+     * @param input The user input holding the query filters, and optionally the page of results to print.
+     * @throws EmptyArgumentException          If no filter is given, or a filter or page option has no value.
+     * @throws InvalidArgumentSyntaxException  If a filter or page option is not valid, or a date is not in the
+     *                                         DD-MM-YYYY format.
+     * @throws InvalidCategoryException        If the category is invalid.
+     * @throws InvalidTransactionTypeException If the transaction type is invalid.
+     */
+    public void queryTransactions(String input) throws EmptyArgumentException, InvalidArgumentSyntaxException,
+            InvalidCategoryException, InvalidTransactionTypeException {
+        TransactionQuery query = parser.parseQuery(Parser.removePageOptions(input));
+        PageRequest page = parser.parsePageRequest(input);
+        List<Transaction> queryResults = transactions.viewRows(transactions.queryRows(query));
+        LOGGER.log(Level.INFO, "Transactions are filtered out for 'query' command");
+        printPages(queryResults, page, UserInterface::printSearchResults);
+    }
 }
@@ -0,0 +1,130 @@
+package budgetbuddy.transaction;
+
+import budgetbuddy.categories.Category;
+
+/**
+ * Holds the filters of a query over the transactions. Every filter that is set must match, and a filter that
+ * is not set matches every transaction.
+ * Dates are kept as epoch days and amounts as absolute values in cents, the same way the table stores them.
+ */
+public class TransactionQuery {
+    public static final int ANY_ACCOUNT = 0;
+
+    private int fromEpochDay = Integer.MIN_VALUE;
+    private int toEpochDay = Integer.MAX_VALUE;
+    private int accountNumber = ANY_ACCOUNT;
+    private Category category;
+    private boolean isIncomeIncluded = true;
+    private boolean isExpenseIncluded = true;
+    private long minAmountInCents = 0;
+    private long maxAmountInCents = Long.MAX_VALUE;
+    private String keywords;
+
+    public int getFromEpochDay() {
+        return fromEpochDay;
+    }
+
+    public void setFromEpochDay(int fromEpochDay) {
+        this.fromEpochDay = fromEpochDay;
+    }
+
+    public int getToEpochDay() {
+        return toEpochDay;
+    }
+
+    public void setToEpochDay(int toEpochDay) {
+        this.toEpochDay = toEpochDay;
+    }
+
+    public boolean hasDateRange() {
+        return fromEpochDay != Integer.MIN_VALUE || toEpochDay != Integer.MAX_VALUE;
+    }
+
+    public int getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(int accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public boolean hasAccount() {
+        return accountNumber != ANY_ACCOUNT;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public boolean hasCategory() {
+        return category != null;
+    }
+
+    /**
+     * Restricts the query to either incomes or expenses.
+     *
+     * @param isExpense true to only match expenses, false to only match incomes.
+     */
+    public void setExpense(boolean isExpense) {
+        this.isIncomeIncluded = !isExpense;
+        this.isExpenseIncluded = isExpense;
+    }
+
+    public long getMinAmountInCents() {
+        return minAmountInCents;
+    }
+
+    public void setMinAmountInCents(long minAmountInCents) {
+        this.minAmountInCents = minAmountInCents;
+    }
+
+    public long getMaxAmountInCents() {
+        return maxAmountInCents;
+    }
+
+    public void setMaxAmountInCents(long maxAmountInCents) {
+        this.maxAmountInCents = maxAmountInCents;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
+
+    public boolean hasKeywords() {
+        return keywords != null;
+    }
+
+    /**
+     * Returns whether a row of a table matches every filter except the keywords, which can only be answered
+     * by the keyword indexes. Only the columns of the row are read.
+     *
+     * @param transactions The table.
+     * @param row          The index of the row.
+     * @return true if the row matches.
+     */
+    public boolean matchesColumns(TransactionTable transactions, int row) {
+        int epochDay = transactions.getEpochDay(row);
+        if (epochDay < fromEpochDay || epochDay > toEpochDay) {
+            return false;
+        }
+        if (hasAccount() && transactions.getAccountNumber(row) != accountNumber) {
+            return false;
+        }
+        if (hasCategory() && transactions.getCategory(row) != category) {
+            return false;
+        }
+        if (!(transactions.isExpense(row) ? isExpenseIncluded : isIncomeIncluded)) {
+            return false;
+        }
+        long amountInCents = Math.abs(transactions.getAmountInCents(row));
+        return amountInCents >= minAmountInCents && amountInCents <= maxAmountInCents;
+    }
+}
@@ -0,0 +1,1002 @@
+package budgetbuddy.transaction;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.transaction.index.AccountIndex;
+import budgetbuddy.transaction.index.CategoryIndex;
+import budgetbuddy.transaction.index.CategoryTotals;
+import budgetbuddy.transaction.index.DateIndex;
+import budgetbuddy.transaction.index.SearchIndex;
+import budgetbuddy.transaction.index.TrigramIndex;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Holds transactions column by column in primitive arrays instead of one object per transaction.
+ * Account names are dictionary encoded, since there are only as many of them as there are accounts.
+ * Rows are read as short-lived Income and Expense views that share the stored strings, and filters can
+ * scan the columns directly without creating any objects.
+ * Date range, account, category and keyword queries go through indexes that are built on first use, and
+ * per-category totals are kept the same way for reports.
+ * Every row also carries the ID of its transaction, which increases with insertion order and never changes,
+ * so the keyword indexes do not need to be renumbered when rows move and users can refer to a transaction
+ * by the same ID across edits, deletions and restarts.
+ * Removing a transaction only marks its row as deleted and takes it out of the indexes, so no other row moves
+ * and no index has to be rebuilt. Reads and scans step over deleted rows. Once they make up a large enough part
+ * of the table, they are dropped in a single compaction pass, so a run of deletions costs one pass in total.
+ * Scans of large tables and the views of large results are split across threads by {@link ParallelRowScan},
+ * and keep the order of the rows.
+ */
+public class TransactionTable extends AbstractList<Transaction> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int FIRST_ID = 1;
+    private static final int MIN_COMPACTION_ROWS = 1024;
+    private static final int COMPACTION_FRACTION = 8;
+    private static final byte NO_CATEGORY = 0;
+    private static final byte INCOME = 0;
+    private static final byte EXPENSE = 1;
+    private static final Category[] CATEGORIES_BY_NUMBER = createCategoryLookup();
+
+    private int[] accountNumbers;
+    private int[] epochDays;
+    private long[] amountsInCents;
+    private byte[] categories;
+    private byte[] types;
+    private int[] accountNameIds;
+    private String[] descriptions;
+    private int[] rowIds;
+    private int size;
+    private int nextRowId = FIRST_ID;
+    private final BitSet deletedRows = new BitSet();
+    private int[] sortedDeletedRows = new int[DEFAULT_CAPACITY];
+    private int deletedCount;
+
+    private final ArrayList<String> accountNames = new ArrayList<>();
+    private final HashMap<String, Integer> accountNameIdsByName = new HashMap<>();
+    private final DateIndex dateIndex = new DateIndex();
+    private final AccountIndex accountIndex = new AccountIndex();
+    private final CategoryIndex categoryIndex = new CategoryIndex();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final CategoryTotals categoryTotals = new CategoryTotals();
+    private ParallelRowScan parallelScan = new ParallelRowScan();
+
+    /**
+     * Creates an empty table.
+     */
+    public TransactionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty table with room for the given number of rows.
+     *
+     * @param capacity The number of rows to allocate up front.
+     */
+    public TransactionTable(int capacity) {
+        int initialCapacity = Math.max(capacity, DEFAULT_CAPACITY);
+        accountNumbers = new int[initialCapacity];
+        epochDays = new int[initialCapacity];
+        amountsInCents = new long[initialCapacity];
+        categories = new byte[initialCapacity];
+        types = new byte[initialCapacity];
+        accountNameIds = new int[initialCapacity];
+        descriptions = new String[initialCapacity];
+        rowIds = new int[initialCapacity];
+    }
+
+    /**
+     * Creates a table holding the given transactions, in order.
+     *
+     * @param transactions The transactions to copy into the table.
+     */
+    public TransactionTable(Collection<? extends Transaction> transactions) {
+        this(transactions.size());
+        for (Transaction transaction : transactions) {
+            add(transaction);
+        }
+    }
+
+    private static Category[] createCategoryLookup() {
+        Category[] lookup = new Category[Category.values().length + 1];
+        for (Category category : Category.values()) {
+            lookup[category.getCategoryNum()] = category;
+        }
+        return lookup;
+    }
+
+    /**
+     * Appends a row built from its column values, without creating a transaction object.
+     *
+     * @param id            The ID of the transaction, or 0 to give it the next free ID.
+     * @param accountNumber The account number of the transaction.
+     * @param accountName   The name of the account of the transaction.
+     * @param description   The description of the transaction.
+     * @param amountInCents The signed amount of the transaction in cents, negative for expenses.
+     * @param epochDay      The date of the transaction as an epoch day.
+     * @param category      The category of the transaction.
+     * @param isExpense     Whether the transaction is an expense.
+     * @throws IllegalArgumentException If the ID is not higher than the ID of every transaction in the table.
+     */
+    public void addRow(int id, int accountNumber, String accountName, String description, long amountInCents,
+                       int epochDay, Category category, boolean isExpense) {
+        int rowId = claimId(id);
+        ensureCapacity(size + 1);
+        setRow(size, accountNumber, accountName, description, amountInCents, epochDay, category, isExpense);
+        rowIds[size] = rowId;
+        addToIndexes(size);
+        size++;
+        modCount++;
+    }
+
+    private void setRow(int row, int accountNumber, String accountName, String description, long amountInCents,
+                        int epochDay, Category category, boolean isExpense) {
+        accountNumbers[row] = accountNumber;
+        accountNameIds[row] = getAccountNameId(accountName);
+        descriptions[row] = description;
+        amountsInCents[row] = amountInCents;
+        epochDays[row] = epochDay;
+        categories[row] = category == null ? NO_CATEGORY : (byte) category.getCategoryNum();
+        types[row] = isExpense ? EXPENSE : INCOME;
+    }
+
+    private void setRow(int row, Transaction t) {
+        setRow(row, t.getAccountNumber(), t.getAccountName(), t.getDescription(), t.getAmountInCents(),
+                (int) t.getDate().toEpochDay(), t.getCategory(), t instanceof Expense);
+    }
+
+    private int claimId(int id) {
+        if (id == 0) {
+            return nextRowId++;
+        }
+        if (id < nextRowId) {
+            throw new IllegalArgumentException("Transaction ID " + id + " is not higher than " + (nextRowId - 1));
+        }
+        nextRowId = id + 1;
+        return id;
+    }
+
+    /**
+     * Returns the ID that the next transaction added without one is given. It is one more than the highest ID
+     * the table has held, including the IDs of transactions that were deleted since.
+     *
+     * @return The next free transaction ID.
+     */
+    public int getNextRowId() {
+        return nextRowId;
+    }
+
+    /**
+     * Sets the ID that the next transaction added without one is given, so that a table loaded from a snapshot
+     * does not give out the IDs of transactions that were deleted before the snapshot was saved.
+     *
+     * @param nextRowId The next free transaction ID.
+     * @throws IllegalArgumentException If the ID is not higher than the ID of every transaction in the table.
+     */
+    public void setNextRowId(int nextRowId) {
+        if (nextRowId < this.nextRowId) {
+            throw new IllegalArgumentException("Next transaction ID " + nextRowId + " is not higher than "
+                    + (this.nextRowId - 1));
+        }
+        this.nextRowId = nextRowId;
+    }
+
+    private int getAccountNameId(String accountName) {
+        Integer id = accountNameIdsByName.get(accountName);
+        if (id == null) {
+            id = accountNames.size();
+            accountNames.add(accountName);
+            accountNameIdsByName.put(accountName, id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int minimumCapacity) {
+        if (minimumCapacity <= accountNumbers.length) {
+            return;
+        }
+        int newCapacity = Math.max(minimumCapacity, accountNumbers.length + (accountNumbers.length >> 1));
+        accountNumbers = Arrays.copyOf(accountNumbers, newCapacity);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        amountsInCents = Arrays.copyOf(amountsInCents, newCapacity);
+        categories = Arrays.copyOf(categories, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        accountNameIds = Arrays.copyOf(accountNameIds, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        rowIds = Arrays.copyOf(rowIds, newCapacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+        }
+        assert !deletedRows.get(row) : "Row is deleted";
+    }
+
+    /**
+     * Returns the row that holds the transaction at the given position of the list, which does not count
+     * deleted rows.
+     * The i-th deleted row in row order has {@code sortedDeletedRows[i] - i} live rows before it, which never
+     * decreases, so the number of deleted rows before the transaction is found by binary search.
+     */
+    private int toRow(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int low = 0;
+        int high = deletedCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedDeletedRows[middle] - middle <= index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return index + low;
+    }
+
+    @Override
+    public int size() {
+        return size - deletedCount;
+    }
+
+    /**
+     * Returns the number of rows, including rows that are marked as deleted, as the bound of a scan over row
+     * indices.
+     */
+    int getRowCount() {
+        return size;
+    }
+
+    /**
+     * Returns whether a row holds a transaction, rather than one that was deleted and not compacted yet.
+     */
+    boolean isLiveRow(int row) {
+        return !deletedRows.get(row);
+    }
+
+    /**
+     * Returns a view of the transaction at the given position of the list.
+     * The view is a new Income or Expense object, so changes to it are not written back to the table.
+     *
+     * @param index The position of the transaction, not counting deleted rows.
+     * @return The transaction at the given position.
+     */
+    @Override
+    public Transaction get(int index) {
+        return createView(toRow(index));
+    }
+
+    /**
+     * Returns an iterator over the transactions in table order, which steps over deleted rows.
+     */
+    @Override
+    public Iterator<Transaction> iterator() {
+        return new LiveRowIterator();
+    }
+
+    @Override
+    public Spliterator<Transaction> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED);
+    }
+
+    private Transaction createView(int row) {
+        Transaction transaction;
+        LocalDate date = LocalDate.ofEpochDay(epochDays[row]);
+        String accountName = accountNames.get(accountNameIds[row]);
+        if (types[row] == EXPENSE) {
+            transaction = new Expense(accountNumbers[row], accountName, descriptions[row], -amountsInCents[row],
+                    date);
+        } else {
+            transaction = new Income(accountNumbers[row], accountName, descriptions[row], amountsInCents[row], date);
+        }
+        transaction.setCategory(CATEGORIES_BY_NUMBER[categories[row]]);
+        transaction.setId(rowIds[row]);
+        return transaction;
+    }
+
+    /**
+     * Appends a transaction. A transaction that already has an ID keeps it, which must then be higher than the
+     * ID of every transaction in the table. Otherwise it gets the next free ID, which is also set on it.
+     *
+     * @param transaction The transaction to append.
+     * @return true.
+     * @throws IllegalArgumentException If the transaction's ID is not higher than every ID in the table.
+     */
+    @Override
+    public boolean add(Transaction transaction) {
+        int rowId = claimId(transaction.getId());
+        transaction.setId(rowId);
+        ensureCapacity(size + 1);
+        setRow(size, transaction);
+        rowIds[size] = rowId;
+        addToIndexes(size);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Replaces the transaction at the given position of the list. The new transaction takes over the row's ID.
+     *
+     * @param index       The position of the transaction, not counting deleted rows.
+     * @param transaction The transaction to store.
+     * @return A view of the replaced transaction.
+     */
+    @Override
+    public Transaction set(int index, Transaction transaction) {
+        return replaceRow(toRow(index), transaction);
+    }
+
+    private Transaction replaceRow(int row, Transaction transaction) {
+        Transaction previous = createView(row);
+        int oldEpochDay = epochDays[row];
+        int oldAccountNumber = accountNumbers[row];
+        Category oldCategory = previous.getCategory();
+        removeFromStableIndexes(row);
+        setRow(row, transaction);
+        dateIndex.update(row, oldEpochDay, epochDays[row]);
+        accountIndex.update(row, oldAccountNumber, accountNumbers[row]);
+        categoryIndex.update(row, oldCategory, transaction.getCategory());
+        searchIndex.add(rowIds[row], CATEGORIES_BY_NUMBER[categories[row]], epochDays[row], amountsInCents[row]);
+        trigramIndex.add(rowIds[row], descriptions[row]);
+        addToTotals(row);
+        transaction.setId(rowIds[row]);
+        return previous;
+    }
+
+    /**
+     * Removes the transaction at the given position of the list by marking its row as deleted, as
+     * {@link #removeById(int)} does.
+     *
+     * @param index The position of the transaction, not counting deleted rows.
+     * @return A view of the removed transaction.
+     */
+    @Override
+    public Transaction remove(int index) {
+        int row = toRow(index);
+        Transaction removed = createView(row);
+        markDeleted(row);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+        deletedRows.clear();
+        deletedCount = 0;
+        invalidateRowPositionIndexes();
+        searchIndex.invalidate();
+        trigramIndex.invalidate();
+        categoryTotals.invalidate();
+        modCount++;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Transaction> filter) {
+        return removeRows(row -> filter.test(createView(row))) > 0;
+    }
+
+    /**
+     * Removes every row that matches the given row predicate in a single compaction pass.
+     *
+     * @param rowFilter The predicate on row indices that selects the rows to remove.
+     * @return The number of rows removed.
+     */
+    public int removeRows(IntPredicate rowFilter) {
+        compact();
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (rowFilter.test(row)) {
+                removeFromStableIndexes(row);
+                continue;
+            }
+            if (kept != row) {
+                accountNumbers[kept] = accountNumbers[row];
+                epochDays[kept] = epochDays[row];
+                amountsInCents[kept] = amountsInCents[row];
+                categories[kept] = categories[row];
+                types[kept] = types[row];
+                accountNameIds[kept] = accountNameIds[row];
+                descriptions[kept] = descriptions[row];
+                rowIds[kept] = rowIds[row];
+            }
+            kept++;
+        }
+        int removed = size - kept;
+        Arrays.fill(descriptions, kept, size, null);
+        size = kept;
+        if (removed > 0) {
+            invalidateRowPositionIndexes();
+            modCount++;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every row of the given account in a single compaction pass.
+     * The pass starts at the account's first row, so rows before it are never touched.
+     *
+     * @param accountNumber The account number whose rows are removed.
+     * @return Views of the removed rows, in table order.
+     */
+    public ArrayList<Transaction> removeAccountRows(int accountNumber) {
+        compact();
+        int[] rowsToRemove = getAccountRows(accountNumber);
+        ArrayList<Transaction> removed = getRows(rowsToRemove);
+        if (rowsToRemove.length == 0) {
+            return removed;
+        }
+        int kept = rowsToRemove[0];
+        int next = 0;
+        for (int row = kept; row < size; row++) {
+            if (next < rowsToRemove.length && rowsToRemove[next] == row) {
+                removeFromStableIndexes(row);
+                next++;
+                continue;
+            }
+            accountNumbers[kept] = accountNumbers[row];
+            epochDays[kept] = epochDays[row];
+            amountsInCents[kept] = amountsInCents[row];
+            categories[kept] = categories[row];
+            types[kept] = types[row];
+            accountNameIds[kept] = accountNameIds[row];
+            descriptions[kept] = descriptions[row];
+            rowIds[kept] = rowIds[row];
+            kept++;
+        }
+        Arrays.fill(descriptions, kept, size, null);
+        size = kept;
+        invalidateRowPositionIndexes();
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Returns a view of the transaction with the given ID.
+     *
+     * @param id The ID of the transaction.
+     * @return The transaction, or null if there is no transaction with that ID.
+     */
+    public Transaction getById(int id) {
+        int row = findLiveRow(id);
+        return row < 0 ? null : createView(row);
+    }
+
+    /**
+     * Replaces the transaction with the given ID. The new transaction takes over the ID.
+     *
+     * @param id          The ID of the transaction to replace.
+     * @param transaction The transaction to store.
+     * @return A view of the replaced transaction, or null if there is no transaction with that ID.
+     */
+    public Transaction setById(int id, Transaction transaction) {
+        int row = findLiveRow(id);
+        return row < 0 ? null : replaceRow(row, transaction);
+    }
+
+    /**
+     * Removes the transaction with the given ID by marking its row as deleted, without moving any other row.
+     * The indexes and category totals are updated right away, and the row is dropped by the next compaction.
+     *
+     * @param id The ID of the transaction to remove.
+     * @return A view of the removed transaction, or null if there is no transaction with that ID.
+     */
+    public Transaction removeById(int id) {
+        int row = findLiveRow(id);
+        if (row < 0) {
+            return null;
+        }
+        Transaction removed = createView(row);
+        markDeleted(row);
+        return removed;
+    }
+
+    /**
+     * Takes a row out of every index and marks it as deleted, then compacts the table once at least
+     * {@value #MIN_COMPACTION_ROWS} rows and an eighth of all rows are marked.
+     * Waiting for that many keeps a run of deletions at one compaction pass, and keeps the indexes that refer
+     * to rows by position from being rebuilt after every deletion.
+     */
+    private void markDeleted(int row) {
+        dateIndex.remove(row, epochDays[row]);
+        accountIndex.remove(row, accountNumbers[row]);
+        categoryIndex.remove(row, CATEGORIES_BY_NUMBER[categories[row]]);
+        removeFromStableIndexes(row);
+        deletedRows.set(row);
+        insertSortedDeletedRow(row);
+        modCount++;
+        if (deletedCount >= Math.max(MIN_COMPACTION_ROWS, size / COMPACTION_FRACTION)) {
+            compact();
+        }
+    }
+
+    private void insertSortedDeletedRow(int row) {
+        if (deletedCount == sortedDeletedRows.length) {
+            sortedDeletedRows = Arrays.copyOf(sortedDeletedRows, deletedCount * 2);
+        }
+        int position = -Arrays.binarySearch(sortedDeletedRows, 0, deletedCount, row) - 1;
+        System.arraycopy(sortedDeletedRows, position, sortedDeletedRows, position + 1, deletedCount - position);
+        sortedDeletedRows[position] = row;
+        deletedCount++;
+    }
+
+    /**
+     * Returns the index of the row with the given ID, which may be a deleted row that has not been compacted yet.
+     * IDs only ever increase along the table, so the row is found by binary search.
+     */
+    private int findLiveRow(int id) {
+        int row = Arrays.binarySearch(rowIds, 0, size, id);
+        return row < 0 || deletedRows.get(row) ? -1 : row;
+    }
+
+    /**
+     * Drops the rows marked as deleted in a single pass, so that every row index refers to a live row again.
+     * Rows move, so the indexes that refer to rows by position are dropped and built again on their next use.
+     */
+    private void compact() {
+        if (deletedCount == 0) {
+            return;
+        }
+        int kept = deletedRows.nextSetBit(0);
+        for (int row = kept + 1; row < size; row++) {
+            if (deletedRows.get(row)) {
+                continue;
+            }
+            accountNumbers[kept] = accountNumbers[row];
+            epochDays[kept] = epochDays[row];
+            amountsInCents[kept] = amountsInCents[row];
+            categories[kept] = categories[row];
+            types[kept] = types[row];
+            accountNameIds[kept] = accountNameIds[row];
+            descriptions[kept] = descriptions[row];
+            rowIds[kept] = rowIds[row];
+            kept++;
+        }
+        Arrays.fill(descriptions, kept, size, null);
+        size = kept;
+        deletedRows.clear();
+        deletedCount = 0;
+        invalidateRowPositionIndexes();
+    }
+
+    private void addToIndexes(int row) {
+        Category category = CATEGORIES_BY_NUMBER[categories[row]];
+        dateIndex.add(row, epochDays[row]);
+        accountIndex.add(row, accountNumbers[row]);
+        categoryIndex.add(row, category);
+        searchIndex.add(rowIds[row], category, epochDays[row], amountsInCents[row]);
+        trigramIndex.add(rowIds[row], descriptions[row]);
+        addToTotals(row);
+    }
+
+    private void addToTotals(int row) {
+        categoryTotals.add(CATEGORIES_BY_NUMBER[categories[row]], types[row] == EXPENSE, amountsInCents[row],
+                accountNumbers[row], epochDays[row]);
+    }
+
+    private void removeFromStableIndexes(int row) {
+        trigramIndex.remove(rowIds[row], descriptions[row]);
+        searchIndex.remove(rowIds[row], CATEGORIES_BY_NUMBER[categories[row]], epochDays[row], amountsInCents[row]);
+        categoryTotals.remove(CATEGORIES_BY_NUMBER[categories[row]], types[row] == EXPENSE, amountsInCents[row],
+                accountNumbers[row], epochDays[row]);
+    }
+
+    /**
+     * Drops the indexes that refer to rows by position, after rows have moved.
+     * The keyword indexes refer to rows by id and the category totals do not refer to rows, so both are kept.
+     */
+    private void invalidateRowPositionIndexes() {
+        dateIndex.invalidate();
+        accountIndex.invalidate();
+        categoryIndex.invalidate();
+    }
+
+    /**
+     * Returns views of the rows that match the given row predicate, in table order.
+     * Large tables are scanned in parallel, so the predicate must be safe to call from several threads.
+     *
+     * @param rowFilter The predicate on row indices that selects the rows.
+     * @return The matching transactions.
+     */
+    public ArrayList<Transaction> select(IntPredicate rowFilter) {
+        return getRows(parallelScan.filter(size, row -> !deletedRows.get(row) && rowFilter.test(row)));
+    }
+
+    /**
+     * Returns views of the rows dated between the given days, in table order.
+     * The date index is built on the first call and then kept up to date as rows change.
+     *
+     * @param fromEpochDay The first day of the range, inclusive.
+     * @param toEpochDay   The last day of the range, inclusive, or Integer.MAX_VALUE for no upper bound.
+     * @return The matching transactions.
+     */
+    public ArrayList<Transaction> selectBetweenDays(int fromEpochDay, int toEpochDay) {
+        return getRows(getRowsBetweenDays(fromEpochDay, toEpochDay));
+    }
+
+    int[] getRowsBetweenDays(int fromEpochDay, int toEpochDay) {
+        return getDateIndex().getRowsBetween(fromEpochDay, toEpochDay);
+    }
+
+    int countRowsBetweenDays(int fromEpochDay, int toEpochDay) {
+        return getDateIndex().countRowsBetween(fromEpochDay, toEpochDay);
+    }
+
+    private DateIndex getDateIndex() {
+        if (!dateIndex.isBuilt()) {
+            dateIndex.build(epochDays, size, deletedRows);
+        }
+        return dateIndex;
+    }
+
+    /**
+     * Returns views of the rows of the given account, in table order.
+     * The account index is built on the first call and then kept up to date as rows change.
+     *
+     * @param accountNumber The account number to look up.
+     * @return The account's transactions.
+     */
+    public ArrayList<Transaction> selectAccount(int accountNumber) {
+        return getRows(getAccountRows(accountNumber));
+    }
+
+    /**
+     * Returns views of the rows of the given category, in table order.
+     * The category index is built on the first call and then kept up to date as rows change.
+     *
+     * @param category The category to look up.
+     * @return The category's transactions.
+     */
+    public ArrayList<Transaction> selectCategory(Category category) {
+        return selectRows(getCategoryRows(category));
+    }
+
+    /**
+     * Returns the rows of the given category as a bitmap, for intersecting with other row sets.
+     *
+     * @param category The category to look up.
+     * @return A bitmap with a bit set for every row of the category.
+     */
+    public BitSet getCategoryRows(Category category) {
+        return getCategoryIndex().getRows(category);
+    }
+
+    int countCategoryRows(Category category) {
+        return getCategoryIndex().countRows(category);
+    }
+
+    private CategoryIndex getCategoryIndex() {
+        if (!categoryIndex.isBuilt()) {
+            categoryIndex.build(row -> deletedRows.get(row) ? null : CATEGORIES_BY_NUMBER[categories[row]], size);
+        }
+        return categoryIndex;
+    }
+
+    /**
+     * Returns the running income and expense totals of every category.
+     * The totals are computed on the first call and then kept up to date as rows change.
+     *
+     * @return The category totals of the table.
+     */
+    public CategoryTotals getCategoryTotals() {
+        if (!categoryTotals.isBuilt()) {
+            categoryTotals.startBuild();
+            for (int row = deletedRows.nextClearBit(0); row < size; row = deletedRows.nextClearBit(row + 1)) {
+                addToTotals(row);
+            }
+        }
+        return categoryTotals;
+    }
+
+    /**
+     * Returns the rows of the given account as a bitmap, for intersecting with other row sets.
+     *
+     * @param accountNumber The account number to look up.
+     * @return A bitmap with a bit set for every row of the account.
+     */
+    public BitSet getAccountRowSet(int accountNumber) {
+        BitSet rows = new BitSet(size);
+        for (int row : getAccountRows(accountNumber)) {
+            rows.set(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Returns views of the rows set in the given bitmap, in table order.
+     *
+     * @param rows A bitmap of row indices.
+     * @return The selected transactions.
+     */
+    public ArrayList<Transaction> selectRows(BitSet rows) {
+        return getRows(rows.stream().toArray());
+    }
+
+    /**
+     * Returns the rows that match a keyword query, in table order.
+     * A keyword matches the start of a word in the category, date or amount, as described in
+     * {@link SearchIndex#search(String)}, or any part of the description, ignoring case.
+     * The keyword indexes are built on the first call, unless they were loaded, and are then kept up to date
+     * as rows change.
+     *
+     * @param query The keywords to search for.
+     * @return The indices of the matching rows, in ascending order.
+     */
+    public int[] searchRows(String query) {
+        if (!searchIndex.isBuilt()) {
+            searchIndex.build(rowIds, row -> CATEGORIES_BY_NUMBER[categories[row]], epochDays, amountsInCents, size,
+                    deletedRows);
+        }
+        BitSet matchingRowIds = searchIndex.search(query, this::findDescriptionMatches);
+        int[] rows = new int[matchingRowIds.cardinality()];
+        int count = 0;
+        int searchFrom = 0;
+        for (int rowId = matchingRowIds.nextSetBit(0); rowId >= 0; rowId = matchingRowIds.nextSetBit(rowId + 1)) {
+            int row = Arrays.binarySearch(rowIds, searchFrom, size, rowId);
+            assert row >= 0 : "Indexed row id is not in the table";
+            rows[count++] = row;
+            searchFrom = row + 1;
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the rows that match every filter of a query, in table order.
+     * The rows are read through the most selective index that serves one of the filters, or by a scan of
+     * the table if no index narrows it down enough, as planned by {@link QueryPlanner}.
+     *
+     * @param query The filters to match.
+     * @return The indices of the matching rows, in ascending order.
+     */
+    public int[] queryRows(TransactionQuery query) {
+        return new QueryPlanner(this).execute(query);
+    }
+
+    /**
+     * Returns the ids of the rows whose description contains the keyword, ignoring case.
+     * Keywords of at least three characters only check the candidates from the trigram index, while shorter
+     * ones scan every description in parallel.
+     */
+    private BitSet findDescriptionMatches(String keyword) {
+        BitSet matchingRowIds = new BitSet();
+        if (keyword.length() < TrigramIndex.GRAM_LENGTH) {
+            for (int row : parallelScan.filter(size,
+                    row -> !deletedRows.get(row) && containsIgnoreCase(descriptions[row], keyword))) {
+                matchingRowIds.set(rowIds[row]);
+            }
+            return matchingRowIds;
+        }
+        int searchFrom = 0;
+        for (int rowId : getTrigramIndex().findCandidates(keyword)) {
+            int row = Arrays.binarySearch(rowIds, searchFrom, size, rowId);
+            assert row >= 0 : "Indexed row id is not in the table";
+            if (containsIgnoreCase(descriptions[row], keyword)) {
+                matchingRowIds.set(rowId);
+            }
+            searchFrom = row + 1;
+        }
+        return matchingRowIds;
+    }
+
+    private static boolean containsIgnoreCase(String text, String keyword) {
+        for (int start = 0; start <= text.length() - keyword.length(); start++) {
+            if (text.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the trigram index over the descriptions, building it first if it has not been built or loaded.
+     *
+     * @return The trigram index, which refers to rows by id.
+     */
+    public TrigramIndex getTrigramIndex() {
+        if (!trigramIndex.isBuilt()) {
+            trigramIndex.build(rowIds, descriptions, size, deletedRows);
+        }
+        return trigramIndex;
+    }
+
+    /**
+     * Returns whether the trigram index has been built or loaded, so that it is worth saving.
+     *
+     * @return true if the trigram index is built.
+     */
+    public boolean hasTrigramIndex() {
+        return trigramIndex.isBuilt();
+    }
+
+    /**
+     * Replaces the trigram index with one that was saved for a table with the same row ids and descriptions.
+     *
+     * @param trigrams     The trigrams of the saved index.
+     * @param rowIdsByGram The ascending row ids of each trigram.
+     */
+    public void loadTrigramIndex(long[] trigrams, int[][] rowIdsByGram) {
+        trigramIndex.load(trigrams, rowIdsByGram);
+    }
+
+    /**
+     * Returns a CRC32 checksum of the id and description of every row, in order, for checking that a saved
+     * trigram index still belongs to this table.
+     *
+     * @return The checksum of the row ids and descriptions.
+     */
+    public long getDescriptionChecksum() {
+        CRC32 checksum = new CRC32();
+        byte[] bytes = new byte[Integer.BYTES];
+        for (int row = deletedRows.nextClearBit(0); row < size; row = deletedRows.nextClearBit(row + 1)) {
+            String description = descriptions[row];
+            int length = Integer.BYTES + description.length() * Character.BYTES;
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            putInt(bytes, 0, rowIds[row]);
+            for (int i = 0; i < description.length(); i++) {
+                char c = description.charAt(i);
+                bytes[Integer.BYTES + i * 2] = (byte) (c >>> 8);
+                bytes[Integer.BYTES + i * 2 + 1] = (byte) c;
+            }
+            checksum.update(bytes, 0, length);
+        }
+        return checksum.getValue();
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    int[] getAccountRows(int accountNumber) {
+        return getAccountIndex().getRows(accountNumber);
+    }
+
+    int countAccountRows(int accountNumber) {
+        return getAccountIndex().countRows(accountNumber);
+    }
+
+    private AccountIndex getAccountIndex() {
+        if (!accountIndex.isBuilt()) {
+            accountIndex.build(accountNumbers, size, deletedRows);
+        }
+        return accountIndex;
+    }
+
+    private ArrayList<Transaction> getRows(int[] rows) {
+        Transaction[] selected = new Transaction[rows.length];
+        parallelScan.forEach(rows.length, position -> selected[position] = createView(rows[position]));
+        return new ArrayList<>(Arrays.asList(selected));
+    }
+
+    /**
+     * Returns a read-only list of the given rows that creates the view of each row only when it is read.
+     * Unlike the select methods, no transaction is held in memory beyond the one being read, so results can be
+     * streamed to the screen, and reading stops creating views as soon as the caller stops iterating.
+     * The list must not be read after rows are added to or removed from the table.
+     *
+     * @param rows The indices of the rows, such as those returned by {@link #searchRows(String)}.
+     * @return The views of the rows, in the given order.
+     */
+    public List<Transaction> viewRows(int[] rows) {
+        return new RowViewList(rows);
+    }
+
+    ParallelRowScan getParallelScan() {
+        return parallelScan;
+    }
+
+    void setParallelScan(ParallelRowScan parallelScan) {
+        this.parallelScan = parallelScan;
+    }
+
+    public int getId(int row) {
+        checkRow(row);
+        return rowIds[row];
+    }
+
+    public int getAccountNumber(int row) {
+        checkRow(row);
+        return accountNumbers[row];
+    }
+
+    public int getEpochDay(int row) {
+        checkRow(row);
+        return epochDays[row];
+    }
+
+    public long getAmountInCents(int row) {
+        checkRow(row);
+        return amountsInCents[row];
+    }
+
+    public Category getCategory(int row) {
+        checkRow(row);
+        return CATEGORIES_BY_NUMBER[categories[row]];
+    }
+
+    public boolean isExpense(int row) {
+        checkRow(row);
+        return types[row] == EXPENSE;
+    }
+
+    public String getDescription(int row) {
+        checkRow(row);
+        return descriptions[row];
+    }
+
+    /**
+     * Steps through the live rows in table order, creating the view of each row when it is reached.
+     */
+    private class LiveRowIterator implements Iterator<Transaction> {
+        private int nextRow = deletedRows.nextClearBit(0);
+        private final int expectedModCount = TransactionTable.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return nextRow < size;
+        }
+
+        @Override
+        public Transaction next() {
+            if (TransactionTable.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Transaction transaction = createView(nextRow);
+            nextRow = deletedRows.nextClearBit(nextRow + 1);
+            return transaction;
+        }
+    }
+
+    /**
+     * Lists the views of a fixed set of rows, creating each view when it is read.
+     */
+    private class RowViewList extends AbstractList<Transaction> implements RandomAccess {
+        private final int[] rows;
+        private final int expectedModCount = TransactionTable.this.modCount;
+
+        RowViewList(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (TransactionTable.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return createView(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package budgetbuddy.transaction.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Keeps, for every account number, the ascending list of table rows that belong to that account.
+ * Listing an account then costs time proportional to its own rows rather than to the whole table.
+ * The index is built the first time it is queried and is then kept up to date on every change.
+ */
+public class AccountIndex {
+    private static final int[] NO_ROWS = new int[0];
+
+    private final HashMap<Integer, RowList> rowsByAccount = new HashMap<>();
+    private boolean isBuilt;
+
+    /**
+     * Returns whether the index has been built and is being kept up to date.
+     *
+     * @return true if the index is built.
+     */
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Builds the index from the account number column of a table.
+     *
+     * @param accountNumbers The account number of every row.
+     * @param rowCount       The number of rows in the table.
+     * @param deletedRows    The rows that are marked as deleted, which are left out.
+     */
+    public void build(int[] accountNumbers, int rowCount, BitSet deletedRows) {
+        rowsByAccount.clear();
+        for (int row = deletedRows.nextClearBit(0); row < rowCount; row = deletedRows.nextClearBit(row + 1)) {
+            rowsByAccount.computeIfAbsent(accountNumbers[row], accountNumber -> new RowList()).add(row);
+        }
+        isBuilt = true;
+    }
+
+    /**
+     * Drops the index, so that it is built again on the next query.
+     */
+    public void invalidate() {
+        rowsByAccount.clear();
+        isBuilt = false;
+    }
+
+    /**
+     * Records a row that was appended to the table.
+     *
+     * @param row           The index of the new row.
+     * @param accountNumber The account number of the new row.
+     */
+    public void add(int row, int accountNumber) {
+        if (!isBuilt) {
+            return;
+        }
+        rowsByAccount.computeIfAbsent(accountNumber, number -> new RowList()).add(row);
+    }
+
+    /**
+     * Records that the account of a row changed.
+     *
+     * @param row              The index of the row.
+     * @param oldAccountNumber The previous account number of the row.
+     * @param newAccountNumber The new account number of the row.
+     */
+    public void update(int row, int oldAccountNumber, int newAccountNumber) {
+        if (!isBuilt || oldAccountNumber == newAccountNumber) {
+            return;
+        }
+        removeFromAccount(row, oldAccountNumber);
+        add(row, newAccountNumber);
+    }
+
+    /**
+     * Records that a row was marked as deleted. No other row moves, so the other rows stay as they are.
+     *
+     * @param row           The index of the deleted row.
+     * @param accountNumber The account number of the deleted row.
+     */
+    public void remove(int row, int accountNumber) {
+        if (!isBuilt) {
+            return;
+        }
+        removeFromAccount(row, accountNumber);
+    }
+
+    private void removeFromAccount(int row, int accountNumber) {
+        RowList rows = rowsByAccount.get(accountNumber);
+        assert rows != null : "Account is not indexed";
+        rows.remove(row);
+        if (rows.isEmpty()) {
+            rowsByAccount.remove(accountNumber);
+        }
+    }
+
+    /**
+     * Returns the rows that belong to the given account.
+     *
+     * @param accountNumber The account number to look up.
+     * @return The indices of the account's rows, in ascending order.
+     */
+    public int[] getRows(int accountNumber) {
+        assert isBuilt : "Index must be built before it is queried";
+        RowList rows = rowsByAccount.get(accountNumber);
+        return rows == null ? NO_ROWS : rows.toArray();
+    }
+
+    /**
+     * Returns the number of rows that belong to the given account, without copying them.
+     *
+     * @param accountNumber The account number to look up.
+     * @return The number of the account's rows.
+     */
+    public int countRows(int accountNumber) {
+        assert isBuilt : "Index must be built before it is queried";
+        RowList rows = rowsByAccount.get(accountNumber);
+        return rows == null ? 0 : rows.size();
+    }
+}
@@ -0,0 +1,119 @@
+package budgetbuddy.transaction.index;
+
+import budgetbuddy.categories.Category;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.function.IntFunction;
+
+/**
+ * Keeps one bitmap of table rows per category, so that a category can be listed, or intersected with
+ * other row sets, without looking at the rows of any other category.
+ * The index is built the first time it is queried and is then kept up to date on every change.
+ */
+public class CategoryIndex {
+    private final EnumMap<Category, BitSet> rowsByCategory = new EnumMap<>(Category.class);
+    private boolean isBuilt;
+
+    /**
+     * Returns whether the index has been built and is being kept up to date.
+     *
+     * @return true if the index is built.
+     */
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Builds the index from the category of every row of a table.
+     *
+     * @param categoryOfRow Returns the category of a row, or null for a row without one or a deleted row.
+     * @param rowCount      The number of rows in the table.
+     */
+    public void build(IntFunction<Category> categoryOfRow, int rowCount) {
+        rowsByCategory.clear();
+        for (Category category : Category.values()) {
+            rowsByCategory.put(category, new BitSet());
+        }
+        for (int row = 0; row < rowCount; row++) {
+            Category category = categoryOfRow.apply(row);
+            if (category != null) {
+                rowsByCategory.get(category).set(row);
+            }
+        }
+        isBuilt = true;
+    }
+
+    /**
+     * Drops the index, so that it is built again on the next query.
+     */
+    public void invalidate() {
+        rowsByCategory.clear();
+        isBuilt = false;
+    }
+
+    /**
+     * Records a row that was appended to the table.
+     *
+     * @param row      The index of the new row.
+     * @param category The category of the new row.
+     */
+    public void add(int row, Category category) {
+        if (!isBuilt || category == null) {
+            return;
+        }
+        rowsByCategory.get(category).set(row);
+    }
+
+    /**
+     * Records that the category of a row changed.
+     *
+     * @param row         The index of the row.
+     * @param oldCategory The previous category of the row.
+     * @param newCategory The new category of the row.
+     */
+    public void update(int row, Category oldCategory, Category newCategory) {
+        if (!isBuilt || oldCategory == newCategory) {
+            return;
+        }
+        if (oldCategory != null) {
+            rowsByCategory.get(oldCategory).clear(row);
+        }
+        add(row, newCategory);
+    }
+
+    /**
+     * Records that a row was marked as deleted. No other row moves, so only the row's own bit is cleared.
+     *
+     * @param row      The index of the deleted row.
+     * @param category The category of the deleted row.
+     */
+    public void remove(int row, Category category) {
+        if (!isBuilt || category == null) {
+            return;
+        }
+        rowsByCategory.get(category).clear(row);
+    }
+
+    /**
+     * Returns the rows of the given category as a bitmap that the caller may modify.
+     *
+     * @param category The category to look up.
+     * @return A bitmap with a bit set for every row of the category.
+     */
+    public BitSet getRows(Category category) {
+        assert isBuilt : "Index must be built before it is queried";
+        return (BitSet) rowsByCategory.get(category).clone();
+    }
+
+    /**
+     * Returns the number of rows of the given category, without copying them.
+     *
+     * @param category The category to look up.
+     * @return The number of the category's rows.
+     */
+    public int countRows(Category category) {
+        assert isBuilt : "Index must be built before it is queried";
+        return rowsByCategory.get(category).cardinality();
+    }
+}
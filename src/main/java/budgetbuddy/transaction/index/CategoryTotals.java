@@ -0,0 +1,173 @@
+package budgetbuddy.transaction.index;
+
+import budgetbuddy.categories.Category;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Keeps running income and expense totals per category, in cents, for the whole table and broken down by
+ * account and by month. Each total is the sum of the absolute amounts, indexed by {@link Category#ordinal()}.
+ * The totals are computed the first time they are queried and are then updated on every change, so reports
+ * cost time proportional to the number of categories rather than the number of transactions.
+ */
+public class CategoryTotals {
+    private static final int CATEGORY_COUNT = Category.values().length;
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final long[] incomeTotals = new long[CATEGORY_COUNT];
+    private final long[] expenseTotals = new long[CATEGORY_COUNT];
+    private final HashMap<Integer, long[]> totalsByAccount = new HashMap<>();
+    private final HashMap<Integer, long[]> totalsByMonth = new HashMap<>();
+    private boolean isBuilt;
+
+    private static int toMonthKey(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getYear() * MONTHS_PER_YEAR + date.getMonthValue() - 1;
+    }
+
+    private static int toMonthKey(YearMonth month) {
+        return month.getYear() * MONTHS_PER_YEAR + month.getMonthValue() - 1;
+    }
+
+    /**
+     * Returns whether the totals have been computed and are being kept up to date.
+     *
+     * @return true if the totals are built.
+     */
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Clears the totals and marks them as built, so that the caller can add every row of the table.
+     */
+    public void startBuild() {
+        clearTotals();
+        isBuilt = true;
+    }
+
+    /**
+     * Drops the totals, so that they are computed again on the next query.
+     */
+    public void invalidate() {
+        clearTotals();
+        isBuilt = false;
+    }
+
+    private void clearTotals() {
+        Arrays.fill(incomeTotals, 0);
+        Arrays.fill(expenseTotals, 0);
+        totalsByAccount.clear();
+        totalsByMonth.clear();
+    }
+
+    /**
+     * Adds a row to the totals.
+     *
+     * @param category      The category of the row. Rows without a category are not counted.
+     * @param isExpense     Whether the row is an expense.
+     * @param amountInCents The signed amount of the row in cents.
+     * @param accountNumber The account number of the row.
+     * @param epochDay      The date of the row as an epoch day.
+     */
+    public void add(Category category, boolean isExpense, long amountInCents, int accountNumber, int epochDay) {
+        adjust(category, isExpense, Math.abs(amountInCents), accountNumber, epochDay);
+    }
+
+    /**
+     * Removes a row from the totals, after it was deleted or before it is edited.
+     *
+     * @param category      The category the row had.
+     * @param isExpense     Whether the row was an expense.
+     * @param amountInCents The signed amount the row had, in cents.
+     * @param accountNumber The account number the row had.
+     * @param epochDay      The date the row had, as an epoch day.
+     */
+    public void remove(Category category, boolean isExpense, long amountInCents, int accountNumber, int epochDay) {
+        adjust(category, isExpense, -Math.abs(amountInCents), accountNumber, epochDay);
+    }
+
+    private void adjust(Category category, boolean isExpense, long delta, int accountNumber, int epochDay) {
+        if (!isBuilt || category == null) {
+            return;
+        }
+        int index = category.ordinal();
+        (isExpense ? expenseTotals : incomeTotals)[index] += delta;
+        int breakdownIndex = isExpense ? CATEGORY_COUNT + index : index;
+        totalsByAccount.computeIfAbsent(accountNumber, key -> new long[2 * CATEGORY_COUNT])[breakdownIndex] += delta;
+        totalsByMonth.computeIfAbsent(toMonthKey(epochDay), key -> new long[2 * CATEGORY_COUNT])[breakdownIndex]
+                += delta;
+    }
+
+    /**
+     * Returns the income total of every category.
+     *
+     * @return The totals in cents, indexed by category ordinal.
+     */
+    public long[] getIncomeTotals() {
+        assert isBuilt : "Totals must be built before they are queried";
+        return incomeTotals.clone();
+    }
+
+    /**
+     * Returns the expense total of every category, as positive amounts.
+     *
+     * @return The totals in cents, indexed by category ordinal.
+     */
+    public long[] getExpenseTotals() {
+        assert isBuilt : "Totals must be built before they are queried";
+        return expenseTotals.clone();
+    }
+
+    /**
+     * Returns the income totals of a single account.
+     *
+     * @param accountNumber The account number.
+     * @return The totals in cents, indexed by category ordinal.
+     */
+    public long[] getIncomeTotals(int accountNumber) {
+        return getBreakdown(totalsByAccount.get(accountNumber), false);
+    }
+
+    /**
+     * Returns the income totals of a single month.
+     *
+     * @param month The month.
+     * @return The totals in cents, indexed by category ordinal.
+     */
+    public long[] getIncomeTotals(YearMonth month) {
+        return getBreakdown(totalsByMonth.get(toMonthKey(month)), false);
+    }
+
+    /**
+     * Returns the expense totals of a single account, as positive amounts.
+     *
+     * @param accountNumber The account number.
+     * @return The totals in cents, indexed by category ordinal.
+     */
+    public long[] getExpenseTotals(int accountNumber) {
+        return getBreakdown(totalsByAccount.get(accountNumber), true);
+    }
+
+    /**
+     * Returns the expense totals of a single month, as positive amounts.
+     *
+     * @param month The month.
+     * @return The totals in cents, indexed by category ordinal.
+     */
+    public long[] getExpenseTotals(YearMonth month) {
+        return getBreakdown(totalsByMonth.get(toMonthKey(month)), true);
+    }
+
+    private long[] getBreakdown(long[] totals, boolean isExpense) {
+        assert isBuilt : "Totals must be built before they are queried";
+        if (totals == null) {
+            return new long[CATEGORY_COUNT];
+        }
+        int start = isExpense ? CATEGORY_COUNT : 0;
+        return Arrays.copyOfRange(totals, start, start + CATEGORY_COUNT);
+    }
+}
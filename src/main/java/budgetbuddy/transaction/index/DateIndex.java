@@ -0,0 +1,170 @@
+package budgetbuddy.transaction.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Keeps the rows of a transaction table sorted by date, so that a date range can be found by binary search.
+ * Each entry packs the epoch day into the high half of a long and the row index into the low half,
+ * so sorting the entries sorts by date and then by row.
+ * The index is built the first time it is queried and is then kept up to date on every change.
+ */
+public class DateIndex {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long ROW_MASK = 0xFFFFFFFFL;
+
+    private long[] entries = new long[DEFAULT_CAPACITY];
+    private int size;
+    private boolean isBuilt;
+
+    private static long toEntry(int epochDay, int row) {
+        return ((long) epochDay << Integer.SIZE) | (row & ROW_MASK);
+    }
+
+    private static int toRow(long entry) {
+        return (int) (entry & ROW_MASK);
+    }
+
+    /**
+     * Returns whether the index has been built and is being kept up to date.
+     *
+     * @return true if the index is built.
+     */
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Builds the index from the date column of a table.
+     *
+     * @param epochDays   The epoch day of every row.
+     * @param rowCount    The number of rows in the table.
+     * @param deletedRows The rows that are marked as deleted, which are left out.
+     */
+    public void build(int[] epochDays, int rowCount, BitSet deletedRows) {
+        entries = new long[Math.max(rowCount, DEFAULT_CAPACITY)];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (!deletedRows.get(row)) {
+                entries[count++] = toEntry(epochDays[row], row);
+            }
+        }
+        Arrays.sort(entries, 0, count);
+        size = count;
+        isBuilt = true;
+    }
+
+    /**
+     * Drops the index, so that it is built again on the next query.
+     */
+    public void invalidate() {
+        entries = new long[DEFAULT_CAPACITY];
+        size = 0;
+        isBuilt = false;
+    }
+
+    /**
+     * Records a row that was appended to the table.
+     * New transactions usually carry the latest date, in which case this is an append.
+     *
+     * @param row      The index of the new row.
+     * @param epochDay The date of the new row.
+     */
+    public void add(int row, int epochDay) {
+        if (!isBuilt) {
+            return;
+        }
+        insert(toEntry(epochDay, row));
+    }
+
+    /**
+     * Records that the date of a row changed.
+     *
+     * @param row         The index of the row.
+     * @param oldEpochDay The previous date of the row.
+     * @param newEpochDay The new date of the row.
+     */
+    public void update(int row, int oldEpochDay, int newEpochDay) {
+        if (!isBuilt || oldEpochDay == newEpochDay) {
+            return;
+        }
+        delete(toEntry(oldEpochDay, row));
+        insert(toEntry(newEpochDay, row));
+    }
+
+    /**
+     * Records that a row was marked as deleted. No other row moves, so no other entry changes.
+     *
+     * @param row      The index of the deleted row.
+     * @param epochDay The date of the deleted row.
+     */
+    public void remove(int row, int epochDay) {
+        if (!isBuilt) {
+            return;
+        }
+        delete(toEntry(epochDay, row));
+    }
+
+    private void insert(long entry) {
+        int position = Arrays.binarySearch(entries, 0, size, entry);
+        assert position < 0 : "Row is already indexed";
+        position = -position - 1;
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size + (size >> 1));
+        }
+        System.arraycopy(entries, position, entries, position + 1, size - position);
+        entries[position] = entry;
+        size++;
+    }
+
+    private void delete(long entry) {
+        int position = Arrays.binarySearch(entries, 0, size, entry);
+        assert position >= 0 : "Row is not indexed";
+        System.arraycopy(entries, position + 1, entries, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Returns the rows dated between the given days, in row order.
+     *
+     * @param fromEpochDay The first day of the range, inclusive.
+     * @param toEpochDay   The last day of the range, inclusive.
+     * @return The indices of the matching rows, in ascending order.
+     */
+    public int[] getRowsBetween(int fromEpochDay, int toEpochDay) {
+        assert isBuilt : "Index must be built before it is queried";
+        if (fromEpochDay > toEpochDay) {
+            return new int[0];
+        }
+        int start = findFirstAtOrAfter(toEntry(fromEpochDay, 0));
+        int end = toEpochDay == Integer.MAX_VALUE ? size : findFirstAtOrAfter(toEntry(toEpochDay + 1, 0));
+        int[] rows = new int[end - start];
+        for (int i = start; i < end; i++) {
+            rows[i - start] = toRow(entries[i]);
+        }
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Returns the number of rows dated between the given days, without listing them.
+     *
+     * @param fromEpochDay The first day of the range, inclusive.
+     * @param toEpochDay   The last day of the range, inclusive.
+     * @return The number of matching rows.
+     */
+    public int countRowsBetween(int fromEpochDay, int toEpochDay) {
+        assert isBuilt : "Index must be built before it is queried";
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+        int start = findFirstAtOrAfter(toEntry(fromEpochDay, 0));
+        int end = toEpochDay == Integer.MAX_VALUE ? size : findFirstAtOrAfter(toEntry(toEpochDay + 1, 0));
+        return end - start;
+    }
+
+    private int findFirstAtOrAfter(long entry) {
+        int position = Arrays.binarySearch(entries, 0, size, entry);
+        return position >= 0 ? position : -position - 1;
+    }
+}
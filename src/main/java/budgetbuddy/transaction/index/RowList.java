@@ -0,0 +1,137 @@
+package budgetbuddy.transaction.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A growable, ascending list of row indices used as a posting list by the table indexes.
+ */
+class RowList {
+    private static final int DEFAULT_CAPACITY = 2;
+
+    private int[] rows = new int[DEFAULT_CAPACITY];
+    private int size;
+
+    /**
+     * Returns a list of the rows set in a bitmap.
+     *
+     * @param bits The bitmap of rows.
+     * @return A new list holding the rows in ascending order.
+     */
+    static RowList of(BitSet bits) {
+        RowList list = new RowList();
+        list.rows = new int[bits.cardinality()];
+        for (int row = bits.nextSetBit(0); row >= 0; row = bits.nextSetBit(row + 1)) {
+            list.rows[list.size++] = row;
+        }
+        return list;
+    }
+
+    /**
+     * Returns a list that takes over an array of rows.
+     *
+     * @param rows The rows, in ascending order and without duplicates.
+     * @return A new list holding the rows.
+     */
+    static RowList of(int[] rows) {
+        RowList list = new RowList();
+        list.rows = rows;
+        list.size = rows.length;
+        return list;
+    }
+
+    /**
+     * Returns the union of two lists.
+     *
+     * @param first  The first list.
+     * @param second The second list.
+     * @return A new list holding every row of either list once, in ascending order.
+     */
+    static RowList union(RowList first, RowList second) {
+        RowList merged = new RowList();
+        merged.rows = new int[first.size + second.size];
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            int row;
+            if (j == second.size || i < first.size && first.rows[i] < second.rows[j]) {
+                row = first.rows[i++];
+            } else if (i == first.size || second.rows[j] < first.rows[i]) {
+                row = second.rows[j++];
+            } else {
+                row = first.rows[i++];
+                j++;
+            }
+            merged.rows[merged.size++] = row;
+        }
+        return merged;
+    }
+
+    RowList copy() {
+        RowList copy = new RowList();
+        copy.rows = toArray();
+        copy.size = size;
+        return copy;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a row, keeping the list sorted. Rows are usually appended in ascending order, which is O(1).
+     * Adding a row that is already in the list has no effect.
+     *
+     * @param row The row to add.
+     */
+    void add(int row) {
+        if (size > 0 && rows[size - 1] == row) {
+            return;
+        }
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size + (size >> 1) + 1);
+        }
+        if (size == 0 || rows[size - 1] < row) {
+            rows[size++] = row;
+            return;
+        }
+        int position = Arrays.binarySearch(rows, 0, size, row);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        System.arraycopy(rows, position, rows, position + 1, size - position);
+        rows[position] = row;
+        size++;
+    }
+
+    /**
+     * Removes a row from the list.
+     *
+     * @param row The row to remove.
+     */
+    void remove(int row) {
+        int position = Arrays.binarySearch(rows, 0, size, row);
+        assert position >= 0 : "Row is not in the list";
+        System.arraycopy(rows, position + 1, rows, position, size - position - 1);
+        size--;
+    }
+
+    boolean contains(int row) {
+        return Arrays.binarySearch(rows, 0, size, row) >= 0;
+    }
+
+    void addTo(BitSet bits) {
+        for (int i = 0; i < size; i++) {
+            bits.set(rows[i]);
+        }
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(rows, size);
+    }
+}
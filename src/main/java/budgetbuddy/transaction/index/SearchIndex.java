@@ -0,0 +1,330 @@
+package budgetbuddy.transaction.index;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.money.Money;
+import budgetbuddy.transaction.type.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * An inverted index from search tokens to posting lists of the rows that contain them.
+ * Rows are identified by the table's row ids rather than their positions, so removing a row only clears
+ * that row's own tokens. Tokens are taken from the category name, the date in both ISO and dd-MM-yyyy form,
+ * and the unsigned amount. Descriptions are searched through the {@link TrigramIndex} instead, which also
+ * finds keywords in the middle of a word.
+ * The index is built the first time it is queried and is then kept up to date on every change.
+ */
+public class SearchIndex {
+    public static final String OR_OPERATOR = "OR";
+    public static final String AND_OPERATOR = "AND";
+    private static final int MAX_GROUPS_TO_MERGE_PAIRWISE = 4;
+
+    private final TreeMap<String, RowList> rowIdsByToken = new TreeMap<>();
+    private boolean isBuilt;
+
+    /**
+     * Returns the search tokens of a row.
+     *
+     * @param category      The category of the row, or null if it has none.
+     * @param epochDay      The date of the row as an epoch day.
+     * @param amountInCents The signed amount of the row in cents.
+     * @return The distinct tokens of the row, in lower case.
+     */
+    static Set<String> tokenize(Category category, int epochDay, long amountInCents) {
+        Set<String> tokens = new HashSet<>();
+        if (category != null) {
+            tokens.addAll(Arrays.asList(tokenizeText(category.getCategoryName())));
+        }
+        tokens.addAll(Arrays.asList(tokenizeDate(epochDay)));
+        tokens.addAll(Arrays.asList(tokenizeAmount(Math.abs(amountInCents))));
+        return tokens;
+    }
+
+    private static String[] tokenizeText(String text) {
+        Set<String> tokens = new HashSet<>();
+        addTokens(text, tokens::add, true);
+        return tokens.toArray(new String[0]);
+    }
+
+    private static String[] tokenizeDate(int epochDay) {
+        Set<String> tokens = new HashSet<>();
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        addTokens(date.toString(), tokens::add, true);
+        addTokens(date.format(Transaction.DATE_FORMATTER), tokens::add, true);
+        return tokens.toArray(new String[0]);
+    }
+
+    private static String[] tokenizeAmount(long absoluteCents) {
+        String exactAmount = Money.format(absoluteCents);
+        String shortAmount = String.valueOf(Money.toDouble(absoluteCents));
+        return exactAmount.equals(shortAmount) ? new String[] {exactAmount} : new String[] {exactAmount, shortAmount};
+    }
+
+    /**
+     * Splits text into lower case tokens made of letters, digits, dots and hyphens.
+     * When indexing, a token that contains dots or hyphens is also added part by part, so that "01-03-2024"
+     * can be found by "2024".
+     *
+     * @param text             The text to split.
+     * @param tokens           Receives each token; a token may be given more than once.
+     * @param isSplitIntoParts Whether to also add the parts of tokens that contain dots or hyphens.
+     */
+    private static void addTokens(String text, Consumer<String> tokens, boolean isSplitIntoParts) {
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        int start = 0;
+        while (start < lowerCaseText.length()) {
+            int end = start;
+            while (end < lowerCaseText.length() && isTokenChar(lowerCaseText.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                addToken(lowerCaseText.substring(start, end), tokens, isSplitIntoParts);
+                start = end;
+            } else {
+                start++;
+            }
+        }
+    }
+
+    private static void addToken(String token, Consumer<String> tokens, boolean isSplitIntoParts) {
+        String trimmedToken = trimSeparators(token);
+        if (trimmedToken.isEmpty()) {
+            return;
+        }
+        tokens.accept(trimmedToken);
+        if (!isSplitIntoParts || trimmedToken.indexOf('.') < 0 && trimmedToken.indexOf('-') < 0) {
+            return;
+        }
+        for (String part : trimmedToken.split("[.-]+")) {
+            if (!part.isEmpty()) {
+                tokens.accept(part);
+            }
+        }
+    }
+
+    private static String trimSeparators(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && isSeparator(token.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSeparator(token.charAt(end - 1))) {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || isSeparator(c);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-';
+    }
+
+    /**
+     * Returns whether the index has been built and is being kept up to date.
+     *
+     * @return true if the index is built.
+     */
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Builds the index from the columns of a table.
+     * Dates, amounts and categories repeat a lot, so rows are first grouped by each distinct value, and the
+     * tokens of a value are then posted for the whole group at once.
+     *
+     * @param rowIds         The row id of every row.
+     * @param categoryOfRow  Returns the category of a row, or null for a row without one.
+     * @param epochDays      The epoch day of every row.
+     * @param amountsInCents The amount of every row in cents.
+     * @param rowCount       The number of rows in the table.
+     * @param deletedRows    The rows that are marked as deleted, which are left out.
+     */
+    public void build(int[] rowIds, IntFunction<Category> categoryOfRow, int[] epochDays, long[] amountsInCents,
+                      int rowCount, BitSet deletedRows) {
+        HashMap<String, RowList> postings = new HashMap<>();
+        EnumMap<Category, RowList> rowIdsByCategory = new EnumMap<>(Category.class);
+        HashMap<Integer, RowList> rowIdsByDate = new HashMap<>();
+        HashMap<Long, RowList> rowIdsByAmount = new HashMap<>();
+        for (int row = deletedRows.nextClearBit(0); row < rowCount; row = deletedRows.nextClearBit(row + 1)) {
+            int rowId = rowIds[row];
+            Category category = categoryOfRow.apply(row);
+            if (category != null) {
+                rowIdsByCategory.computeIfAbsent(category, key -> new RowList()).add(rowId);
+            }
+            rowIdsByDate.computeIfAbsent(epochDays[row], key -> new RowList()).add(rowId);
+            rowIdsByAmount.computeIfAbsent(Math.abs(amountsInCents[row]), key -> new RowList()).add(rowId);
+        }
+        HashMap<String, ArrayList<RowList>> groupsByToken = new HashMap<>();
+        rowIdsByCategory.forEach((category, rows) -> addGroup(groupsByToken, tokenizeText(category.getCategoryName()),
+                rows));
+        rowIdsByDate.forEach((epochDay, rows) -> addGroup(groupsByToken, tokenizeDate(epochDay), rows));
+        rowIdsByAmount.forEach((absoluteCents, rows) -> addGroup(groupsByToken, tokenizeAmount(absoluteCents), rows));
+        groupsByToken.forEach((token, groups) -> postings.put(token, mergeGroups(groups)));
+        rowIdsByToken.clear();
+        rowIdsByToken.putAll(postings);
+        isBuilt = true;
+    }
+
+    private static void addGroup(HashMap<String, ArrayList<RowList>> groupsByToken, String[] tokens, RowList rows) {
+        for (String token : tokens) {
+            groupsByToken.computeIfAbsent(token, key -> new ArrayList<>(1)).add(rows);
+        }
+    }
+
+    private static RowList mergeGroups(ArrayList<RowList> groups) {
+        if (groups.size() <= MAX_GROUPS_TO_MERGE_PAIRWISE) {
+            RowList merged = groups.get(0).copy();
+            for (int i = 1; i < groups.size(); i++) {
+                merged = RowList.union(merged, groups.get(i));
+            }
+            return merged;
+        }
+        BitSet rowIds = new BitSet();
+        for (RowList group : groups) {
+            group.addTo(rowIds);
+        }
+        return RowList.of(rowIds);
+    }
+
+    /**
+     * Drops the index, so that it is built again on the next query.
+     */
+    public void invalidate() {
+        rowIdsByToken.clear();
+        isBuilt = false;
+    }
+
+    /**
+     * Records a row that was added to the table.
+     *
+     * @param rowId         The id of the new row.
+     * @param category      The category of the new row.
+     * @param epochDay      The date of the new row as an epoch day.
+     * @param amountInCents The amount of the new row in cents.
+     */
+    public void add(int rowId, Category category, int epochDay, long amountInCents) {
+        if (!isBuilt) {
+            return;
+        }
+        for (String token : tokenize(category, epochDay, amountInCents)) {
+            rowIdsByToken.computeIfAbsent(token, key -> new RowList()).add(rowId);
+        }
+    }
+
+
+    /**
+     * Records that a row was removed from the table, or is about to be overwritten by an edit.
+     *
+     * @param rowId         The id of the row.
+     * @param category      The category the row had.
+     * @param epochDay      The date the row had, as an epoch day.
+     * @param amountInCents The amount the row had, in cents.
+     */
+    public void remove(int rowId, Category category, int epochDay, long amountInCents) {
+        if (!isBuilt) {
+            return;
+        }
+        for (String token : tokenize(category, epochDay, amountInCents)) {
+            RowList rowIds = rowIdsByToken.get(token);
+            if (rowIds == null) {
+                continue;
+            }
+            rowIds.remove(rowId);
+            if (rowIds.isEmpty()) {
+                rowIdsByToken.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the rows that match a query.
+     * Keywords in a query must all match, unless they are separated by OR. A keyword matches a row if it is
+     * a prefix of one of the row's tokens, ignoring case. A keyword made of several tokens, such as a date,
+     * matches if each of its tokens does.
+     *
+     * @param query The keywords to search for, such as "lunch 2024" or "dining OR groceries".
+     * @return A bitmap with a bit set for the id of every matching row.
+     */
+    public BitSet search(String query) {
+        return search(query, keyword -> new BitSet());
+    }
+
+    /**
+     * Returns the ids of the rows that match a query, where a keyword also matches the rows found by the
+     * given matcher, such as rows whose description contains the keyword.
+     *
+     * @param query          The keywords to search for.
+     * @param keywordMatcher Returns the ids of further rows that match a single keyword.
+     * @return A bitmap with a bit set for the id of every matching row.
+     */
+    public BitSet search(String query, Function<String, BitSet> keywordMatcher) {
+        assert isBuilt : "Index must be built before it is queried";
+        BitSet matches = new BitSet();
+        BitSet alternativeMatches = null;
+        for (String keyword : query.trim().split("\\s+")) {
+            if (keyword.equals(OR_OPERATOR)) {
+                if (alternativeMatches != null) {
+                    matches.or(alternativeMatches);
+                }
+                alternativeMatches = null;
+                continue;
+            }
+            if (keyword.equals(AND_OPERATOR)) {
+                continue;
+            }
+            BitSet keywordMatches = findKeyword(keyword);
+            keywordMatches.or(keywordMatcher.apply(keyword));
+            if (alternativeMatches == null) {
+                alternativeMatches = keywordMatches;
+            } else {
+                alternativeMatches.and(keywordMatches);
+            }
+        }
+        if (alternativeMatches != null) {
+            matches.or(alternativeMatches);
+        }
+        return matches;
+    }
+
+    private BitSet findKeyword(String keyword) {
+        Set<String> keywordTokens = new HashSet<>();
+        addTokens(keyword, keywordTokens::add, false);
+        BitSet keywordMatches = null;
+        for (String token : keywordTokens) {
+            BitSet tokenMatches = findPrefix(token);
+            if (keywordMatches == null) {
+                keywordMatches = tokenMatches;
+            } else {
+                keywordMatches.and(tokenMatches);
+            }
+        }
+        return keywordMatches == null ? new BitSet() : keywordMatches;
+    }
+
+    private BitSet findPrefix(String prefix) {
+        BitSet rowIds = new BitSet();
+        Map<String, RowList> tokensWithPrefix = rowIdsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE,
+                false);
+        for (RowList tokenRowIds : tokensWithPrefix.values()) {
+            tokenRowIds.addTo(rowIds);
+        }
+        return rowIds;
+    }
+}
@@ -0,0 +1,199 @@
+package budgetbuddy.transaction.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Maps every run of three characters in a description to the ids of the rows whose description contains it.
+ * A keyword of three or more characters can only occur in a description that contains all of its trigrams,
+ * so intersecting their posting lists narrows a substring search down to a few candidates, which the caller
+ * then checks with a real substring match.
+ * Characters are case folded the same way as {@link String#regionMatches(boolean, int, String, int, int)},
+ * so the candidates include every case-insensitive match.
+ */
+public class TrigramIndex {
+    public static final int GRAM_LENGTH = 3;
+    private static final long[] NO_TRIGRAMS = new long[0];
+    private static final int[] NO_ROWS = new int[0];
+
+    private final HashMap<Long, RowList> rowIdsByTrigram = new HashMap<>();
+    private boolean isBuilt;
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Returns the distinct trigrams of a text, each packed into the low 48 bits of a long.
+     *
+     * @param text The text to split into trigrams.
+     * @return The distinct trigrams of the text, in ascending order.
+     */
+    static long[] trigramsOf(CharSequence text) {
+        int count = text.length() - GRAM_LENGTH + 1;
+        if (count <= 0) {
+            return NO_TRIGRAMS;
+        }
+        long[] trigrams = new long[count];
+        long trigram = ((long) fold(text.charAt(0)) << Character.SIZE) | fold(text.charAt(1));
+        for (int i = 0; i < count; i++) {
+            trigram = ((trigram << Character.SIZE) | fold(text.charAt(i + GRAM_LENGTH - 1)))
+                    & ((1L << (Character.SIZE * GRAM_LENGTH)) - 1);
+            trigrams[i] = trigram;
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return distinct == count ? trigrams : Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Returns whether the index has been built or loaded and is being kept up to date.
+     *
+     * @return true if the index is built.
+     */
+    public boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Builds the index from the description column of a table.
+     *
+     * @param rowIds       The row id of every row.
+     * @param descriptions The description of every row.
+     * @param rowCount     The number of rows in the table.
+     * @param deletedRows  The rows that are marked as deleted, which are left out.
+     */
+    public void build(int[] rowIds, String[] descriptions, int rowCount, BitSet deletedRows) {
+        rowIdsByTrigram.clear();
+        for (int row = deletedRows.nextClearBit(0); row < rowCount; row = deletedRows.nextClearBit(row + 1)) {
+            addRowId(rowIds[row], descriptions[row]);
+        }
+        isBuilt = true;
+    }
+
+    /**
+     * Replaces the index with posting lists that were saved earlier.
+     *
+     * @param trigrams The trigrams, as returned by {@link #getTrigrams()}.
+     * @param rowIds   The ascending row ids of each trigram, in the same order as the trigrams.
+     */
+    public void load(long[] trigrams, int[][] rowIds) {
+        assert trigrams.length == rowIds.length : "Every trigram needs a posting list";
+        rowIdsByTrigram.clear();
+        for (int i = 0; i < trigrams.length; i++) {
+            rowIdsByTrigram.put(trigrams[i], RowList.of(rowIds[i]));
+        }
+        isBuilt = true;
+    }
+
+    /**
+     * Drops the index, so that it is built again on the next query.
+     */
+    public void invalidate() {
+        rowIdsByTrigram.clear();
+        isBuilt = false;
+    }
+
+    /**
+     * Records a row that was added to the table, or whose description was edited.
+     *
+     * @param rowId       The id of the row.
+     * @param description The description of the row.
+     */
+    public void add(int rowId, String description) {
+        if (!isBuilt) {
+            return;
+        }
+        addRowId(rowId, description);
+    }
+
+    private void addRowId(int rowId, String description) {
+        for (long trigram : trigramsOf(description)) {
+            rowIdsByTrigram.computeIfAbsent(trigram, key -> new RowList()).add(rowId);
+        }
+    }
+
+    /**
+     * Records that a row was removed from the table, or is about to get a new description.
+     *
+     * @param rowId       The id of the row.
+     * @param description The description the row had.
+     */
+    public void remove(int rowId, String description) {
+        if (!isBuilt) {
+            return;
+        }
+        for (long trigram : trigramsOf(description)) {
+            RowList rowIds = rowIdsByTrigram.get(trigram);
+            rowIds.remove(rowId);
+            if (rowIds.isEmpty()) {
+                rowIdsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the rows whose description contains every trigram of the keyword.
+     * These are the only rows that can contain the keyword, but each must still be checked.
+     *
+     * @param keyword The keyword to search for, at least {@link #GRAM_LENGTH} characters long.
+     * @return The candidate row ids, in ascending order.
+     */
+    public int[] findCandidates(String keyword) {
+        assert isBuilt : "Index must be built before it is queried";
+        assert keyword.length() >= GRAM_LENGTH : "Keyword is too short for a trigram search";
+        long[] trigrams = trigramsOf(keyword);
+        RowList[] postings = new RowList[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            postings[i] = rowIdsByTrigram.get(trigrams[i]);
+            if (postings[i] == null) {
+                return NO_ROWS;
+            }
+        }
+        Arrays.sort(postings, (first, second) -> Integer.compare(first.size(), second.size()));
+        int[] candidates = postings[0].toArray();
+        int count = candidates.length;
+        for (int i = 1; i < postings.length && count > 0; i++) {
+            int kept = 0;
+            for (int j = 0; j < count; j++) {
+                if (postings[i].contains(candidates[j])) {
+                    candidates[kept++] = candidates[j];
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Returns every trigram in the index, for saving the index.
+     *
+     * @return The trigrams, in ascending order.
+     */
+    public long[] getTrigrams() {
+        long[] trigrams = new long[rowIdsByTrigram.size()];
+        int i = 0;
+        for (long trigram : rowIdsByTrigram.keySet()) {
+            trigrams[i++] = trigram;
+        }
+        Arrays.sort(trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Returns the ids of the rows whose description contains the given trigram, for saving the index.
+     *
+     * @param trigram A trigram returned by {@link #getTrigrams()}.
+     * @return The row ids, in ascending order.
+     */
+    public int[] getRowIds(long trigram) {
+        RowList rowIds = rowIdsByTrigram.get(trigram);
+        return rowIds == null ? NO_ROWS : rowIds.toArray();
+    }
+}
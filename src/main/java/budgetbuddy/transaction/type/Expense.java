@@ -2,6 +2,8 @@ package budgetbuddy.transaction.type;
 
 import budgetbuddy.account.Account;
 
+import java.time.LocalDate;
+
 /**
  * Represents an expense transaction in the budget buddy system.
  * An expense transaction decreases the balance of an account.
@@ -13,7 +15,8 @@ public class Expense extends Transaction {
      * Creates an expense transaction with the given account number, account name, description, amount, date,
      * and account.
      * The amount is automatically negated to represent an expense.
-     * The balance of the account is decreased by the amount of the expense.
+     * The balance of the account is left as it is, and is only changed when the expense is applied through
+     * {@code BalanceLedger}.
      *
      * @param accountNumber the account number
      * @param accountName   the name of the account
@@ -29,8 +32,6 @@ public class Expense extends Transaction {
         assert description != null && !description.isEmpty() : "Description cannot be null or empty";
         assert date != null : "Date cannot be null";
         assert account != null : "Account cannot be null";
-
-        account.setBalance(account.getBalance() + this.getAmount());
     }
 
     /**
@@ -47,6 +48,20 @@ public class Expense extends Transaction {
         super(accountNumber, accountName, description, -amount, date);
     }
 
+    /**
+     * Creates an expense transaction with the given account number, account name, description, amount in cents,
+     * and an already parsed date. The amount is automatically negated to represent an expense.
+     *
+     * @param accountNumber the account number
+     * @param accountName   the name of the account
+     * @param description   the description of the expense
+     * @param amountInCents the amount of the expense in cents
+     * @param date          the date of the expense
+     */
+    public Expense(int accountNumber, String accountName, String description, long amountInCents, LocalDate date) {
+        super(accountNumber, accountName, description, -amountInCents, date);
+    }
+
     /**
      * Returns the type of the transaction.
      *
@@ -2,6 +2,8 @@ package budgetbuddy.transaction.type;
 
 import budgetbuddy.account.Account;
 
+import java.time.LocalDate;
+
 /**
  * Represents an income transaction in the budget buddy system.
  * An income transaction increases the balance of an account.
@@ -14,7 +16,8 @@ public class Income extends Transaction {
     /**
      * Creates an income transaction with the given account number, account name, description, amount, date,
      * and account.
-     * The balance of the account is increased by the amount of the income.
+     * The balance of the account is left as it is, and is only changed when the income is applied through
+     * {@code BalanceLedger}.
      *
      * @param accountNumber the account number
      * @param accountName   the name of the account
@@ -30,8 +33,6 @@ public class Income extends Transaction {
         assert description != null && !description.isEmpty() : "Description cannot be null or empty";
         assert date != null : "Date cannot be null";
         assert account != null : "Account cannot be null";
-
-        account.setBalance(account.getBalance() + this.getAmount());
     }
 
     /**
@@ -47,6 +48,20 @@ public class Income extends Transaction {
         super(accountNumber, accountName, description, amount, date);
     }
 
+    /**
+     * Creates an income transaction with the given account number, account name, description, amount in cents,
+     * and an already parsed date.
+     *
+     * @param accountNumber the account number
+     * @param accountName   the name of the account
+     * @param description   the description of the income
+     * @param amountInCents the amount of the income in cents
+     * @param date          the date of the income
+     */
+    public Income(int accountNumber, String accountName, String description, long amountInCents, LocalDate date) {
+        super(accountNumber, accountName, description, amountInCents, date);
+    }
+
     /**
      * Returns the type of the transaction.
      *
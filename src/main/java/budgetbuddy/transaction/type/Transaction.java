@@ -1,15 +1,20 @@
 package budgetbuddy.transaction.type;
 
 import budgetbuddy.categories.Category;
+import budgetbuddy.money.Money;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 /**
  * Represents a transaction involving a financial account.
  * This is an abstract class and must be subclassed to provide specific transaction types.
  */
 public abstract class Transaction {
+    // The shared formatter for dates in the "dd-MM-yyyy" format
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
     // The account number associated with the transaction
     private final int accountNumber;
 
@@ -19,8 +24,8 @@ public abstract class Transaction {
     // A brief description of the transaction
     private final String description;
 
-    // The amount of money involved in the transaction
-    private final double amount;
+    // The amount of money involved in the transaction, in cents
+    private final long amountInCents;
 
     // The category of the transaction
     private Category category;
@@ -28,6 +33,9 @@ public abstract class Transaction {
     // The date of the transaction
     private final LocalDate date;
 
+    // The ID of the transaction in the transaction list, or 0 if it has not been added to one
+    private int id;
+
     /**
      * Constructs a new Transaction object with the specified parameters.
      *
@@ -38,11 +46,33 @@ public abstract class Transaction {
      * @param date          The date of the transaction in the format "dd-mm-yyyy".
      */
     public Transaction(int accountNumber, String accountName, String description, double amount, String date) {
+        this(accountNumber, accountName, description, Money.fromDouble(amount), parseDate(date));
+    }
+
+    /**
+     * Constructs a new Transaction object with an amount in cents and an already parsed date.
+     *
+     * @param accountNumber The account number associated with the transaction.
+     * @param accountName   The name of the account associated with the transaction.
+     * @param description   A brief description of the transaction.
+     * @param amountInCents The amount of money involved in the transaction, in cents.
+     * @param date          The date of the transaction.
+     */
+    public Transaction(int accountNumber, String accountName, String description, long amountInCents,
+                       LocalDate date) {
         this.accountNumber = accountNumber;
         this.accountName = accountName;
         this.description = description;
-        this.amount = amount;
-        this.date = parseDate(date);
+        this.amountInCents = amountInCents;
+        this.date = date;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
     }
 
     public int getAccountNumber() {
@@ -58,7 +88,11 @@ public abstract class Transaction {
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toDouble(amountInCents);
+    }
+
+    public long getAmountInCents() {
+        return amountInCents;
     }
 
     public LocalDate getDate() {
@@ -71,8 +105,8 @@ public abstract class Transaction {
      * @param by The date string in the format "dd-MM-yyyy".
      * @return The LocalDate object representing the date.
      */
-    private LocalDate parseDate(String by) {
-        return LocalDate.parse(by, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+    public static LocalDate parseDate(String by) {
+        return LocalDate.parse(by, DATE_FORMATTER);
     }
 
     public Category getCategory() {
@@ -98,4 +132,31 @@ public abstract class Transaction {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    /**
+     * Returns whether the given object is a transaction of the same type with the same values.
+     * Transactions are compared by value, since the transaction list hands out a new view of a row each time.
+     * The ID is not compared, so a transaction equals its stored copy.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        Transaction transaction = (Transaction) other;
+        return accountNumber == transaction.accountNumber
+                && amountInCents == transaction.amountInCents
+                && Objects.equals(accountName, transaction.accountName)
+                && Objects.equals(description, transaction.description)
+                && Objects.equals(date, transaction.date)
+                && category == transaction.category;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), accountNumber, accountName, description, amountInCents, date, category);
+    }
 }
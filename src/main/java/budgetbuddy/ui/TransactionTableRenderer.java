@@ -0,0 +1,162 @@
+package budgetbuddy.ui;
+
+import budgetbuddy.money.Money;
+import budgetbuddy.transaction.type.Transaction;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Renders tables of transactions into a reusable buffer and writes them in large chunks.
+ * Every cell is left-aligned and padded to the width of its column, the same as the "%-Ns" conversions the
+ * tables used to be printed with, but without parsing a format string per row. Writing a chunk at a time also
+ * means the console is flushed once per chunk instead of once per row.
+ */
+class TransactionTableRenderer {
+    static final int FLUSH_THRESHOLD = 64 * 1024;
+    static final Column[] ALL_COLUMNS = Column.values();
+    static final Column[] ACCOUNT_COLUMNS = {
+        Column.ID, Column.TYPE, Column.DESCRIPTION, Column.DATE, Column.AMOUNT, Column.CATEGORY
+    };
+    static final Column[] CATEGORY_COLUMNS = {
+        Column.ID, Column.TYPE, Column.ACCOUNT_NUMBER, Column.ACCOUNT_NAME, Column.DESCRIPTION, Column.DATE,
+        Column.AMOUNT
+    };
+    static final Column[] REMOVED_COLUMNS = {
+        Column.TYPE, Column.DESCRIPTION, Column.DATE, Column.AMOUNT, Column.CATEGORY
+    };
+    private static final String ROW_INDENT = "        ";
+    private static final char[] PADDING = createPadding(30);
+    private static final int NO_MAX_LENGTH = Integer.MAX_VALUE;
+
+    private final PrintStream out;
+    private final Column[] columns;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private final String lineSeparator = System.lineSeparator();
+
+    /**
+     * The columns a transaction table can show, with their widths and the longest text shown in them.
+     */
+    enum Column {
+        ID("ID", 5, NO_MAX_LENGTH),
+        TYPE("Type", 10, NO_MAX_LENGTH),
+        ACCOUNT_NUMBER("Account Number", 20, NO_MAX_LENGTH),
+        ACCOUNT_NAME("Account Name", 20, 45),
+        DESCRIPTION("Transaction", 30, 45),
+        DATE("Date", 15, NO_MAX_LENGTH),
+        AMOUNT("Amount", 15, NO_MAX_LENGTH),
+        CATEGORY("Category", 15, NO_MAX_LENGTH);
+
+        private final String title;
+        private final int width;
+        private final int maxLength;
+
+        Column(String title, int width, int maxLength) {
+            this.title = title;
+            this.width = width;
+            this.maxLength = maxLength;
+        }
+    }
+
+    /**
+     * Creates a renderer for a table with the given columns.
+     *
+     * @param out     The stream the table is written to.
+     * @param columns The columns of the table, in order.
+     */
+    TransactionTableRenderer(PrintStream out, Column... columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    private static char[] createPadding(int length) {
+        char[] padding = new char[length];
+        Arrays.fill(padding, ' ');
+        return padding;
+    }
+
+    /**
+     * Writes the column titles and then one row per transaction, and flushes the stream.
+     *
+     * @param transactions The transactions, which are read in order and only once.
+     */
+    void render(List<Transaction> transactions) {
+        buffer.append(ROW_INDENT);
+        for (int i = 0; i < columns.length; i++) {
+            appendCell(columns[i], columns[i].title, i);
+        }
+        buffer.append(lineSeparator);
+        for (Transaction transaction : transactions) {
+            appendRow(transaction);
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                out.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+        out.append(buffer);
+        buffer.setLength(0);
+        out.flush();
+    }
+
+    private void appendRow(Transaction transaction) {
+        buffer.append(ROW_INDENT);
+        for (int i = 0; i < columns.length; i++) {
+            int start = buffer.length();
+            switch (columns[i]) {
+            case ID:
+                buffer.append(transaction.getId());
+                break;
+            case TYPE:
+                buffer.append(transaction.getTransactionType());
+                break;
+            case ACCOUNT_NUMBER:
+                buffer.append(transaction.getAccountNumber());
+                break;
+            case ACCOUNT_NAME:
+                appendText(transaction.getAccountName(), columns[i].maxLength);
+                break;
+            case DESCRIPTION:
+                appendText(transaction.getDescription(), columns[i].maxLength);
+                break;
+            case DATE:
+                buffer.append(transaction.getDate());
+                break;
+            case AMOUNT:
+                Money.appendTo(buffer, transaction.getAmountInCents());
+                break;
+            case CATEGORY:
+                buffer.append(transaction.getCategory().getCategoryName());
+                break;
+            default:
+                throw new AssertionError("Unknown column " + columns[i]);
+            }
+            pad(start, columns[i].width, i);
+        }
+        buffer.append(lineSeparator);
+    }
+
+    private void appendCell(Column column, String text, int index) {
+        int start = buffer.length();
+        appendText(text, column.maxLength);
+        pad(start, column.width, index);
+    }
+
+    private void appendText(String text, int maxLength) {
+        buffer.append(text, 0, Math.min(text.length(), maxLength));
+    }
+
+    /**
+     * Pads the cell that starts at the given position to the width of its column, and separates it from the
+     * next cell by a space.
+     */
+    private void pad(int start, int width, int index) {
+        int padding = width - (buffer.length() - start);
+        if (padding > 0) {
+            buffer.append(PADDING, 0, padding);
+        }
+        if (index < columns.length - 1) {
+            buffer.append(' ');
+        }
+    }
+}
@@ -3,10 +3,12 @@ package budgetbuddy.ui;
 import budgetbuddy.account.Account;
 import budgetbuddy.categories.Category;
 import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
+import budgetbuddy.money.Money;
 import budgetbuddy.transaction.type.Transaction;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -25,6 +27,7 @@ public class UserInterface {
 
     private static final String TAB_SPACE = "    ";
     public static Scanner in = new Scanner(System.in);
+    private static boolean isBatchMode = false;
 
     /**
      * The function `listCategories` prints out the available categories along with
@@ -121,6 +124,19 @@ public class UserInterface {
         System.out.println(LINE);
     }
 
+    /**
+     * The function `printInvalidTransactionId` prints a message indicating that
+     * no transaction has the given ID.
+     *
+     * @param id The ID that was given in the command.
+     */
+    public static void printInvalidTransactionId(String id) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "There is no transaction with ID " + id);
+        System.out.println(TAB_SPACE + "Use the list or search command to find the ID of a transaction");
+        System.out.println(LINE);
+    }
+
     /**
      * The function `printExceptionErrorMessage` prints an error message with a
      * given message and
@@ -229,36 +245,21 @@ public class UserInterface {
 
     /**
      * The `printAllTransactions` function prints a formatted list of transaction
-     * details from an
-     * ArrayList of Transaction objects.
+     * details from a
+     * List of Transaction objects.
      *
-     * @param transactions The `printAllTransactions` method takes an `ArrayList` of
+     * @param transactions The `printAllTransactions` method takes a `List` of
      *                     `Transaction`
      *                     objects as a parameter. It then iterates over each
      *                     `Transaction` object in the list and prints
      *                     out the details of each transaction in a formatted
      *                     table-like structure.
      */
-    public static void printAllTransactions(ArrayList<Transaction> transactions) {
-        int index = transactions.size();
+    public static void printAllTransactions(List<Transaction> transactions) {
         System.out.println(LINE);
         System.out.println(TAB_SPACE + "Your Transaction history:");
         System.out.println(TAB_SPACE + TABLE_BORDER);
-        System.out.printf(TAB_SPACE + TAB_SPACE + "%-5s %-10s %-20s %-20s %-30s %-15s %-15s %-15s%n", "ID", "Type",
-                "Account Number", "Account Name", "Transaction", "Date", "Amount", "Category");
-        for (int i = START_INDEX; i < index; i++) {
-            Transaction transaction = transactions.get(i);
-            int accountNumber = transaction.getAccountNumber();
-            String accountName = transaction.getAccountName();
-            String type = transaction.getTransactionType();
-            String description = transaction.getDescription();
-            LocalDate date = transaction.getDate();
-            double amount = transaction.getAmount();
-            String category = transaction.getCategory().getCategoryName();
-
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-5d %-10s %-20d %-20.45s %-30.45s %-15s %-15.2f %-15s%n",
-                    i + 1, type, accountNumber, accountName, description, date, amount, category);
-        }
+        new TransactionTableRenderer(System.out, TransactionTableRenderer.ALL_COLUMNS).render(transactions);
         System.out.println(TAB_SPACE + TABLE_BORDER);
         System.out.println(LINE);
     }
@@ -359,7 +360,9 @@ public class UserInterface {
                 "/$/[AMOUNT] /c/[CATEGORY]", "help add");
         System.out.printf("%-20s %-75s %-20s%n", "Edit", "edit [INDEX]", "help edit");
         System.out.printf("%-20s %-75s %-20s%n", "Delete", "delete [INDEX]", "help delete");
-        System.out.printf("%-20s %-75s %-20s%n", "List", "list", "help list");
+        System.out.printf("%-20s %-75s %-20s%n", "List", "list [/limit/[COUNT]] [/page/[PAGE]]", "help list");
+        System.out.printf("%-20s %-75s %-20s%n", "Query", "query /[FILTER]/[VALUE] [MORE_FILTERS...]",
+                "help query");
         System.out.println(HELP_BORDER);
 
     }
@@ -395,9 +398,8 @@ public class UserInterface {
      */
     public static void printDeleteHelp() {
         System.out.println(HELP_BORDER);
-        System.out.println(TAB_SPACE + "SYNTAX : delete [INDEX] \n");
-        System.out.println(TAB_SPACE + "Make sure the index is above 0 and below or equal to the size of " +
-                "the transaction list");
+        System.out.println(TAB_SPACE + "SYNTAX : delete [ID] \n");
+        System.out.println(TAB_SPACE + "Use the ID shown next to the transaction by the list or search command");
         System.out.println(HELP_BORDER);
     }
 
@@ -408,10 +410,11 @@ public class UserInterface {
      */
     public static void printEditHelp() {
         System.out.println(HELP_BORDER);
-        System.out.println(TAB_SPACE + "SYNTAX : edit [INDEX] \n");
-        System.out.println("Make sure the index is above 0 and below or equal to the size of the " +
-                "transaction list");
-        System.out.println("Then you will be asked to input the data for each parameters like");
+        System.out.println(TAB_SPACE + "SYNTAX : edit [ID] [/t/[TYPE]] [/n/[DESCRIPTION]] [/d/[DD-MM-YYYY]] " +
+                "[/$/[AMOUNT]] [/c/[CATEGORY]] \n");
+        System.out.println("Values given in the command replace those of the transaction, and the others are kept");
+        System.out.println("Use the ID shown next to the transaction by the list or search command");
+        System.out.println("Without any values, you will be asked to input the data for each parameters like");
         System.out.println("    Enter transaction type: [EXPENSE / INCOME] \n" +
                 "    Enter description: [NEW DESCRIPTION] \n" +
                 "    Enter transaction date: [NEW DATE] \n" +
@@ -430,7 +433,8 @@ public class UserInterface {
      */
     public static void printListHelp() {
         System.out.println(HELP_BORDER);
-        System.out.println(TAB_SPACE + "SYNTAX : list \n");
+        System.out.println(TAB_SPACE + "SYNTAX : list [OPTION] [/from/[DD-MM-YYYY] /to/[DD-MM-YYYY]] " +
+                "[/acc/[ACCOUNT_NUMBER]] [/cat/[CATEGORY]] [/limit/[COUNT]] [/page/[PAGE]] \n");
         System.out.println(TAB_SPACE + "This will give some available options to choose from:");
         System.out.println("What would you like to view?\n" +
                 "    1. All Transactions\n" +
@@ -440,6 +444,10 @@ public class UserInterface {
         System.out.println("From this you can choose 1-4 :");
         System.out.println("To print Custom date transaction: \n" +
                 " 4\n" + "Start Date: [dd-MM-yyyy]\n" + "End Date: [dd-MM-yyyy] ");
+        System.out.println("Use /limit/ to show only the latest transactions, and /page/ to step back through " +
+                "older ones. Example: list /limit/20 /page/2");
+        System.out.println("The option and its values can also be given in the command, " +
+                "such as list 4 /from/01-01-2024 /to/31-03-2024 or list 5 /acc/1234");
         System.out.println(HELP_BORDER);
     }
 
@@ -606,33 +614,18 @@ public class UserInterface {
      * transactions based on a
      * specified duration.
      *
-     * @param transactions transactions is an ArrayList that contains Transaction
+     * @param transactions transactions is a List that contains Transaction
      *                     objects.
      * @param duration     The `duration` parameter is a String that represents the
      *                     time period for
      *                     which the user want to display past transactions.
      */
     //@@author isaaceng7
-    public static void printPastTransactions(ArrayList<Transaction> transactions, String duration) {
-        int index = transactions.size();
+    public static void printPastTransactions(List<Transaction> transactions, String duration) {
         System.out.println(LINE);
         System.out.println(TAB_SPACE + "Displaying transactions from the past " + duration + ":");
         System.out.println(TAB_SPACE + TABLE_BORDER);
-        System.out.printf(TAB_SPACE + TAB_SPACE + "%-5s %-10s %-20s %-20s %-30s %-15s %-15s %-15s%n", "ID", "Type",
-                "Account Number", "Account Name", "Transaction", "Date", "Amount", "Category");
-        for (int i = START_INDEX; i < index; i++) {
-            Transaction transaction = transactions.get(i);
-            int accountNumber = transaction.getAccountNumber();
-            String accountName = transaction.getAccountName();
-            String type = transaction.getTransactionType();
-            String description = transaction.getDescription();
-            LocalDate date = transaction.getDate();
-            double amount = transaction.getAmount();
-            String category = transaction.getCategory().getCategoryName();
-
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-5d %-10s %-20d %-20.45s %-30.45s %-15s %-15.2f %-15s%n",
-                    i + 1, type, accountNumber, accountName, description, date, amount, category);
-        }
+        new TransactionTableRenderer(System.out, TransactionTableRenderer.ALL_COLUMNS).render(transactions);
         System.out.println(TAB_SPACE + TABLE_BORDER);
         System.out.println(LINE);
 
@@ -645,34 +638,19 @@ public class UserInterface {
      * transactions within a
      * specified date range.
      *
-     * @param transactions The `printCustomDateTransactions` method takes an
-     *                     `ArrayList` of
+     * @param transactions The `printCustomDateTransactions` method takes a
+     *                     `List` of
      *                     `Transaction` objects as input. It then iterates over the
      *                     transactions in the list and prints
      *                     out specific details of each transaction in a formatted
      *                     table-like structure.
      */
     //@@author isaaceng7
-    public static void printCustomDateTransactions(ArrayList<Transaction> transactions) {
-        int index = transactions.size();
+    public static void printCustomDateTransactions(List<Transaction> transactions) {
         System.out.println(LINE);
         System.out.println(TAB_SPACE + "Displaying transactions of specified date range:");
         System.out.println(TAB_SPACE + TABLE_BORDER);
-        System.out.printf(TAB_SPACE + TAB_SPACE + "%-5s %-10s %-20s %-20s %-30s %-15s %-15s %-15s%n", "ID", "Type",
-                "Account Number", "Account Name", "Transaction", "Date", "Amount", "Category");
-        for (int i = START_INDEX; i < index; i++) {
-            Transaction transaction = transactions.get(i);
-            int accountNumber = transaction.getAccountNumber();
-            String accountName = transaction.getAccountName();
-            String type = transaction.getTransactionType();
-            String description = transaction.getDescription();
-            LocalDate date = transaction.getDate();
-            double amount = transaction.getAmount();
-            String category = transaction.getCategory().getCategoryName();
-
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-5d %-10s %-20d %-20.45s %-30.45s %-15s %-15.2f %-15s%n",
-                    i + 1, type, accountNumber, accountName, description, date, amount, category);
-        }
+        new TransactionTableRenderer(System.out, TransactionTableRenderer.ALL_COLUMNS).render(transactions);
         System.out.println(TAB_SPACE + TABLE_BORDER);
         System.out.println(LINE);
     }
@@ -684,7 +662,7 @@ public class UserInterface {
      * transactions for a specific
      * account.
      *
-     * @param transactions  An ArrayList of Transaction objects containing the
+     * @param transactions  A List of Transaction objects containing the
      *                      transaction details.
      * @param accountName   The `accountName` parameter in the
      *                      `printAccountTransactions` method is a
@@ -697,26 +675,13 @@ public class UserInterface {
      *                      transactions.
      */
     //@@author isaaceng7
-    public static void printAccountTransactions(ArrayList<Transaction> transactions, String accountName,
+    public static void printAccountTransactions(List<Transaction> transactions, String accountName,
                                                 int accountNumber) {
-        int index = transactions.size();
         System.out.println(LINE);
         System.out
                 .println(TAB_SPACE + "Displaying transactions of account: " + accountName + "(" + accountNumber + ")");
         System.out.println(TAB_SPACE + TABLE_BORDER);
-        System.out.printf(TAB_SPACE + TAB_SPACE + "%-5s %-10s %-30s %-15s %-15s %-15s%n", "ID", "Type",
-                "Transaction", "Date", "Amount", "Category");
-        for (int i = START_INDEX; i < index; i++) {
-            Transaction transaction = transactions.get(i);
-            String type = transaction.getTransactionType();
-            String description = transaction.getDescription();
-            LocalDate date = transaction.getDate();
-            double amount = transaction.getAmount();
-            String category = transaction.getCategory().getCategoryName();
-
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-5d %-10s %-30.45s %-15s %-15.2f %-15s%n",
-                    i + 1, type, description, date, amount, category);
-        }
+        new TransactionTableRenderer(System.out, TransactionTableRenderer.ACCOUNT_COLUMNS).render(transactions);
         System.out.println(TAB_SPACE + TABLE_BORDER);
         System.out.println(LINE);
     }
@@ -728,32 +693,18 @@ public class UserInterface {
      * transactions belonging
      * to a specific category.
      *
-     * @param transactions transactions is an ArrayList that contains Transaction
+     * @param transactions transactions is a List that contains Transaction
      *                     objects.
      * @param categoryName Category name is a string representing the name of a
      *                     category for which the
      *                     user want to display transactions.
      */
     //@@author isaaceng7
-    public static void printCategoryTransactions(ArrayList<Transaction> transactions, String categoryName) {
-        int index = transactions.size();
+    public static void printCategoryTransactions(List<Transaction> transactions, String categoryName) {
         System.out.println(LINE);
         System.out.println(TAB_SPACE + "Displaying transactions of category: " + categoryName);
         System.out.println(TAB_SPACE + TABLE_BORDER);
-        System.out.printf(TAB_SPACE + TAB_SPACE + "%-5s %-10s %-20s %-20s %-30s %-15s %-15s%n", "ID", "Type",
-                "Account Number", "Account Name", "Transaction", "Date", "Amount");
-        for (int i = START_INDEX; i < index; i++) {
-            Transaction transaction = transactions.get(i);
-            int accountNumber = transaction.getAccountNumber();
-            String accountName = transaction.getAccountName();
-            String type = transaction.getTransactionType();
-            String description = transaction.getDescription();
-            LocalDate date = transaction.getDate();
-            double amount = transaction.getAmount();
-
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-5d %-10s %-20d %-20.45s %-30.45s %-15s %-15.2f%n",
-                    i + 1, type, accountNumber, accountName, description, date, amount);
-        }
+        new TransactionTableRenderer(System.out, TransactionTableRenderer.CATEGORY_COLUMNS).render(transactions);
         System.out.println(TAB_SPACE + TABLE_BORDER);
         System.out.println(LINE);
     }
@@ -854,18 +805,7 @@ public class UserInterface {
         }
         System.out.println("\n" + TAB_SPACE + "Transactions related to this account have also been removed:");
         System.out.println(TAB_SPACE + TABLE_BORDER);
-        System.out.printf(TAB_SPACE + TAB_SPACE + "%-10s %-30s %-15s %-15s %-15s%n", "Type", "Transaction", "Date",
-                "Amount", "Category");
-        for (Transaction transaction : transactionsRemoved) {
-            String type = transaction.getTransactionType();
-            String description = transaction.getDescription();
-            LocalDate date = transaction.getDate();
-            double amount = transaction.getAmount();
-            String category = transaction.getCategory().getCategoryName();
-
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-10s %-30.45s %-15s %-15.2f %-15s%n", type, description, date,
-                    amount, category);
-        }
+        new TransactionTableRenderer(System.out, TransactionTableRenderer.REMOVED_COLUMNS).render(transactionsRemoved);
         System.out.println(TAB_SPACE + TABLE_BORDER);
 
         System.out.println(LINE);
@@ -942,6 +882,31 @@ public class UserInterface {
 
     //@@author
 
+    /**
+     * The function `printBalanceDrift` warns that the balances of some accounts do not match their opening
+     * balance plus the amounts of their transactions, and prints by how much each balance is off.
+     *
+     * @param balanceDrift The stored minus the expected balance in cents, keyed by account number.
+     */
+    public static void printBalanceDrift(HashMap<Integer, Long> balanceDrift) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "The balances of these accounts do not match their transactions:");
+        balanceDrift.forEach((accountNumber, drift) -> System.out.println(TAB_SPACE + "Account " + accountNumber
+                + " is off by " + Money.format(drift)));
+        System.out.println(LINE);
+    }
+
+    /**
+     * The function `printNoFreeAccountNumberMessage` prints a message indicating that every account
+     * number is taken, so no account can be added.
+     */
+    public static void printNoFreeAccountNumberMessage() {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "Every account number is already in use, so no account can be added.");
+        System.out.println(TAB_SPACE + "Please delete an unused account before adding a new one.");
+        System.out.println(LINE);
+    }
+
     /**
      * The function `printAccountHelp()` prints a help menu for account-related
      * commands in a Java
@@ -954,7 +919,7 @@ public class UserInterface {
         System.out.printf("%-30s %-90s%n", "Add account", "add-acc /n/ [ACCOUNT_NAME] /$/ " +
                 "[INITIAL_BALANCE]");
         System.out.printf("%-30s %-90s%n", "Delete Account", "delete-acc [ACCOUNT_NUMBER]");
-        System.out.printf("%-30s %-90s%n", "Delete Account", "edit-acc [ACCOUNT_NUMBER]");
+        System.out.printf("%-30s %-90s%n", "Delete Account", "edit-acc [ACCOUNT_NUMBER] [/n/[NEW_NAME]]");
         System.out.printf("%-30s %-90s%n", "List all Accounts", "list-acc");
         System.out.println(HELP_BORDER);
     }
@@ -974,42 +939,70 @@ public class UserInterface {
 
     //@@author
 
+    /**
+     * The function `printSnapshotCorruptedError` prints an error message indicating that the saved transactions
+     * are corrupted, where they were kept, and that a new file will be created.
+     *
+     * @param keptFileName The name of the file the saved transactions were moved to.
+     */
+    public static void printSnapshotCorruptedError(String keptFileName) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "The saved transactions are corrupted :(");
+        System.out.println(TAB_SPACE + "They were kept in " + keptFileName
+                + ", along with the journal of recent changes.");
+        System.out.println(TAB_SPACE + "So, a new file will be created!");
+        System.out.println(LINE);
+    }
+
+    /**
+     * The function `printJournalCorruptedError` prints an error message indicating that the journal of recent
+     * changes is corrupted, how many of its changes were restored, and where the journal was kept.
+     *
+     * @param changesRestored The number of changes restored from the journal.
+     * @param keptFileName    The name of the file the journal was moved to.
+     */
+    public static void printJournalCorruptedError(int changesRestored, String keptFileName) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "The journal of recent changes is corrupted :(");
+        System.out.println(TAB_SPACE + "Only the first " + changesRestored + " changes in it were restored.");
+        System.out.println(TAB_SPACE + "The whole journal was kept in " + keptFileName + ".");
+        System.out.println(LINE);
+    }
+
+    /**
+     * The function `printSaveError` prints an error message indicating that some of the data could not be
+     * saved to its file.
+     *
+     * @param dataName The name of the data that could not be saved, such as "transactions".
+     */
+    public static void printSaveError(String dataName) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "Error saving " + dataName + ".");
+        System.out.println(LINE);
+    }
+
     /**
      * The function `printSearchResults` prints search results of transactions with
      * specific formatting
      * and handles cases where no matching transactions are found.
      *
-     * @param transactions The `transactions` parameter is an ArrayList of
+     * @param transactions The `transactions` parameter is a List of
      *                     Transaction objects. Each
      *                     Transaction object represents a specific transaction with
      *                     details such as transaction type,
      *                     account number, account name, description, date, amount,
      *                     and category.
-     * @param indices      The `indices` parameter in the `printSearchResults`
-     *                     method is an `ArrayList` of
-     *                     `Integer` values. These indices represent the positions
-     *                     of the matching transactions in the
-     *                     original list of transactions. The method uses these
-     *                     indices to display the search results with
-     *                     the corresponding transaction number.
+     *                     Each transaction is shown with its ID, which can be used
+     *                     in the `edit` and `delete` commands.
      */
     //@@author Vavinan
-    public static void printSearchResults(ArrayList<Transaction> transactions, ArrayList<Integer> indices) {
+    public static void printSearchResults(List<Transaction> transactions) {
         if (transactions.isEmpty()) {
             System.out.println("No matching Transactions found");
         } else {
             System.out.println("Search results:");
             System.out.println(TAB_SPACE + TABLE_BORDER);
-            System.out.printf(TAB_SPACE + TAB_SPACE + "%-5s %-10s %-20s %-20s %-30s %-15s %-15s %-15s%n", "ID", "Type",
-                    "Account Number", "Account Name", "Transaction", "Date", "Amount", "Category");
-            int i = 0;
-            for (Transaction t : transactions) {
-                // System.out.println((indices.get(i) + 1) + ". " + transactions.get(i));
-                System.out.printf(TAB_SPACE + TAB_SPACE + "%-5d %-10s %-20d %-20.45s %-30.45s %-15s %-15.2f %-15s%n",
-                        indices.get(i) + 1, t.getTransactionType(), t.getAccountNumber(), t.getAccountName(),
-                        t.getDescription(), t.getDate(), t.getAmount(), t.getCategory().getCategoryName());
-                i++;
-            }
+            new TransactionTableRenderer(System.out, TransactionTableRenderer.ALL_COLUMNS).render(transactions);
             System.out.println(TAB_SPACE + TABLE_BORDER);
         }
 
@@ -1105,9 +1098,101 @@ public class UserInterface {
 
     public static void printSearchHelp(){
         System.out.println(HELP_BORDER);
-        System.out.println(TAB_SPACE + "SYNTAX : search [KEYWORD] \n");
+        System.out.println(TAB_SPACE + "SYNTAX : search [KEYWORD] [MORE_KEYWORDS...] [OR KEYWORD...] " +
+                "[/limit/[COUNT]] [/page/[PAGE]] \n");
         System.out.println(TAB_SPACE + "The keyword can be anything representing description, date, " +
                 "category or amount");
+        System.out.println(TAB_SPACE + "Keywords match the start of a word, or any part of a description. " +
+                "All keywords must match, unless they are separated by OR");
+        System.out.println(TAB_SPACE + "Use /limit/ and /page/ to show one page of the latest results, " +
+                "as in the list command");
+        System.out.println(HELP_BORDER);
+    }
+
+    /**
+     * The function `isInteractive` returns whether the user is typing at a terminal, as opposed to the
+     * commands being piped in or run in batch mode, in which case nothing should wait for the user.
+     *
+     * @return true if the input comes from a terminal.
+     */
+    public static boolean isInteractive() {
+        return !isBatchMode && System.console() != null;
+    }
+
+    /**
+     * The function `isBatchMode` returns whether commands are run from a batch, in which case the user is
+     * never asked for input and every argument must be given in the command.
+     *
+     * @return true in batch mode.
+     */
+    public static boolean isBatchMode() {
+        return isBatchMode;
+    }
+
+    public static void setBatchMode(boolean isBatchMode) {
+        UserInterface.isBatchMode = isBatchMode;
+    }
+
+    /**
+     * The function `printBatchFileError` prints an error message for a batch file that cannot be read.
+     *
+     * @param fileName The name of the batch file.
+     */
+    public static void printBatchFileError(String fileName) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "Cannot read the batch file " + fileName + ".");
+        System.out.println(LINE);
+    }
+
+    /**
+     * The function `printPageFooter` prints which transactions of a listing are shown on the current page.
+     *
+     * @param first The position of the first transaction shown, counting from 1.
+     * @param last  The position of the last transaction shown.
+     * @param total The number of transactions in the listing.
+     */
+    public static void printPageFooter(int first, int last, int total) {
+        System.out.println(TAB_SPACE + "Showing transactions " + first + " to " + last + " of " + total + ".");
+    }
+
+    /**
+     * The function `printPageOutOfRange` tells the user that the requested page is past the oldest
+     * transactions of the listing.
+     *
+     * @param pageNumber The requested page.
+     * @param pageCount  The number of pages in the listing.
+     */
+    public static void printPageOutOfRange(int pageNumber, int pageCount) {
+        System.out.println(LINE);
+        System.out.println(TAB_SPACE + "There is no page " + pageNumber + ". The listing has " + pageCount +
+                (pageCount == 1 ? " page." : " pages."));
+        System.out.println(LINE);
+    }
+
+    /**
+     * The function `isNextPageWanted` asks the user whether to show the next page of older transactions.
+     *
+     * @param remaining The number of older transactions not shown yet.
+     * @return true unless the user types q.
+     */
+    public static boolean isNextPageWanted(int remaining) {
+        System.out.println(TAB_SPACE + remaining + " older transactions are not shown. " +
+                "Press Enter to show more, or type q to stop:");
+        return !in.nextLine().trim().equalsIgnoreCase("q");
+    }
+
+    /**
+     * The function `printQueryHelp` prints the syntax of the `query` command and the filters it accepts.
+     */
+    public static void printQueryHelp() {
+        System.out.println(HELP_BORDER);
+        System.out.println(TAB_SPACE + "SYNTAX : query /[FILTER]/[VALUE] [MORE_FILTERS...] \n");
+        System.out.println(TAB_SPACE + "/from/[DD-MM-YYYY]  /to/[DD-MM-YYYY]  : dates, inclusive");
+        System.out.println(TAB_SPACE + "/acc/[ACCOUNT_NUMBER]  /cat/[CATEGORY]  /type/[income or expense]");
+        System.out.println(TAB_SPACE + "/min/[AMOUNT]  /max/[AMOUNT]  : amounts, inclusive and ignoring sign");
+        System.out.println(TAB_SPACE + "/kw/[KEYWORDS]  : keywords, as in the search command");
+        System.out.println(TAB_SPACE + "Only transactions that match every filter are shown. " +
+                "Example: query /from/01-01-2024 /cat/1 /min/50");
         System.out.println(HELP_BORDER);
     }
 
@@ -6,9 +6,14 @@ import budgetbuddy.exceptions.InvalidIndexException;
 import budgetbuddy.transaction.TransactionList;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AccountManagerTest {
 
@@ -54,5 +59,36 @@ public class AccountManagerTest {
         assertThrows(IllegalArgumentException.class, () -> accountManager.getAccountByAccountNumber(9999));
     }
 
+    @Test
+    void editingLoadedAccountShouldMarkAccountsAsUnsaved() {
+        ArrayList<Account> accounts = new ArrayList<>();
+        accounts.add(new Account(1234, "Test Account", 1000.00));
+        HashSet<Integer> existingAccountNumbers = new HashSet<>();
+        existingAccountNumbers.add(1234);
+        AccountManager accountManager = new AccountManager(accounts, existingAccountNumbers);
+        assertFalse(accountManager.hasUnsavedChanges());
+        accountManager.getAccountByAccountNumber(1234).setName("Renamed Account");
+        assertTrue(accountManager.hasUnsavedChanges());
+    }
+
+    @Test
+    void getAccountByAccountNumberShouldFindLoadedAccountsAfterRemoval()
+            throws InvalidIndexException, InvalidArgumentSyntaxException, EmptyArgumentException {
+        ArrayList<Account> accounts = new ArrayList<>();
+        accounts.add(new Account(1234, "First Account", 1000.00));
+        accounts.add(new Account(5678, "Second Account", 500.00));
+        HashSet<Integer> existingAccountNumbers = new HashSet<>();
+        existingAccountNumbers.add(1234);
+        existingAccountNumbers.add(5678);
+        AccountManager accountManager = new AccountManager(accounts, existingAccountNumbers);
+        accountManager.addAccount("Third Account", 0);
+        int newAccountNumber = accountManager.getAccount(2).getAccountNumber();
 
+        accountManager.removeAccount("delete-acc 1234", new TransactionList());
+
+        assertEquals("Second Account", accountManager.getAccountByAccountNumber(5678).getName());
+        assertEquals("Third Account", accountManager.getAccountByAccountNumber(newAccountNumber).getName());
+        assertEquals("Second Account", accountManager.getAccount(0).getName());
+        assertThrows(IllegalArgumentException.class, () -> accountManager.getAccountByAccountNumber(1234));
+    }
 }
@@ -0,0 +1,52 @@
+package budgetbuddy.account;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccountNumberAllocatorTest {
+
+    @Test
+    void allocate_wholeRange_returnsEveryNumberOnceThenFails() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(1000, 1099, new Random(42));
+        HashSet<Integer> allocated = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            int accountNumber = allocator.allocate();
+            assertTrue(accountNumber >= 1000 && accountNumber <= 1099);
+            assertTrue(allocated.add(accountNumber));
+        }
+        assertFalse(allocator.hasFreeNumber());
+        assertThrows(IllegalStateException.class, allocator::allocate);
+    }
+
+    @Test
+    void allocate_afterMarkTakenAndRelease_returnsOnlyFreeNumber() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(1000, 1004, new Random(7));
+        for (int accountNumber = 1000; accountNumber <= 1004; accountNumber++) {
+            allocator.markTaken(accountNumber);
+        }
+        allocator.markTaken(1000);
+        allocator.markTaken(9999);
+        allocator.release(1003);
+
+        assertTrue(allocator.hasFreeNumber());
+        assertEquals(1003, allocator.allocate());
+        assertFalse(allocator.hasFreeNumber());
+    }
+
+    @Test
+    void allocate_widerRange_staysInRange() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(1000, 999999, new Random(1));
+        for (int i = 0; i < 1000; i++) {
+            int accountNumber = allocator.allocate();
+            assertTrue(allocator.isInRange(accountNumber));
+        }
+        assertFalse(allocator.isInRange(1000000));
+    }
+}
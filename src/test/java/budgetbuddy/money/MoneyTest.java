@@ -0,0 +1,47 @@
+package budgetbuddy.money;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+
+    @Test
+    public void parseCents_plainDecimals_exact() {
+        assertEquals(1250, Money.parseCents("12.5"));
+        assertEquals(-5, Money.parseCents("-0.05"));
+        assertEquals(100000, Money.parseCents("1000"));
+        assertEquals(7, Money.parseCents(".07"));
+    }
+
+    @Test
+    public void parseCents_extraDigitsOrExponent_roundsHalfUp() {
+        assertEquals(101, Money.parseCents("1.005"));
+        assertEquals(1000000000, Money.parseCents("1.0E7"));
+    }
+
+    @Test
+    public void parseCents_invalid_throwsNumberFormatException() {
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("-"));
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("1e30"));
+    }
+
+    @Test
+    public void format_alwaysTwoDecimalPlaces() {
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("-3.00", Money.format(-300));
+        assertEquals("0.00", Money.format(0));
+    }
+
+    @Test
+    public void repeatedAdditions_doNotDrift() {
+        long balance = 0;
+        for (int i = 0; i < 1000; i++) {
+            balance += Money.fromDouble(0.1);
+        }
+        assertEquals("100.00", Money.format(balance));
+    }
+}
@@ -2,16 +2,23 @@ package budgetbuddy.parser;
 import budgetbuddy.account.Account;
 import budgetbuddy.exceptions.EmptyArgumentException;
 import budgetbuddy.exceptions.InvalidAddTransactionSyntax;
+import budgetbuddy.exceptions.InvalidArgumentSyntaxException;
 import budgetbuddy.exceptions.InvalidCategoryException;
 import budgetbuddy.exceptions.InvalidEditTransactionData;
 import budgetbuddy.exceptions.InvalidTransactionTypeException;
 import org.junit.jupiter.api.Test;
+import budgetbuddy.transaction.PageRequest;
+import budgetbuddy.transaction.TransactionQuery;
 import budgetbuddy.transaction.type.Transaction;
+import budgetbuddy.ui.UserInterface;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ParserTest {
 
@@ -58,4 +65,81 @@ public class ParserTest {
 
 
 
+
+    @Test
+    public void parseQuery_readsEveryFilter() throws EmptyArgumentException, InvalidArgumentSyntaxException,
+            InvalidCategoryException, InvalidTransactionTypeException {
+        Parser parser = new Parser();
+        TransactionQuery query = parser.parseQuery("query /from/01-01-2024 /to/31-01-2024 /acc/1234 /cat/1 "
+                + "/type/expense /min/50 /max/99.5 /kw/coffee beans");
+
+        assertEquals(LocalDate.of(2024, 1, 1).toEpochDay(), query.getFromEpochDay());
+        assertEquals(LocalDate.of(2024, 1, 31).toEpochDay(), query.getToEpochDay());
+        assertEquals(1234, query.getAccountNumber());
+        assertEquals("Dining", query.getCategory().getCategoryName());
+        assertEquals(5000, query.getMinAmountInCents());
+        assertEquals(9950, query.getMaxAmountInCents());
+        assertEquals("coffee beans", query.getKeywords());
+    }
+
+    @Test
+    public void parseQuery_invalidFilters_throwExceptions() throws EmptyArgumentException,
+            InvalidArgumentSyntaxException, InvalidCategoryException, InvalidTransactionTypeException {
+        Parser parser = new Parser();
+
+        assertThrows(EmptyArgumentException.class, () -> parser.parseQuery("query"));
+        assertThrows(EmptyArgumentException.class, () -> parser.parseQuery("query /min/"));
+        assertThrows(InvalidArgumentSyntaxException.class, () -> parser.parseQuery("query /when/today"));
+        assertThrows(InvalidArgumentSyntaxException.class, () -> parser.parseQuery("query /from/2024-01-01"));
+        assertThrows(InvalidTransactionTypeException.class, () -> parser.parseQuery("query /type/refund"));
+        assertFalse(parser.parseQuery("query /type/income").hasKeywords());
+    }
+
+    @Test
+    public void parsePageRequest_readsOptionsAfterKeywords() throws EmptyArgumentException,
+            InvalidArgumentSyntaxException {
+        Parser parser = new Parser();
+        PageRequest page = parser.parsePageRequest("search lunch OR dinner /page/3 /limit/20");
+
+        assertEquals(20, page.getLimit());
+        assertEquals(3, page.getPageNumber());
+        assertEquals("search lunch OR dinner ", Parser.removePageOptions("search lunch OR dinner /page/3 /limit/20"));
+        assertEquals(PageRequest.DEFAULT_LIMIT, parser.parsePageRequest("list /page/2").getLimit());
+        assertFalse(parser.parsePageRequest("list").isGiven());
+        assertEquals("list", Parser.removePageOptions("list"));
+
+        assertThrows(EmptyArgumentException.class, () -> parser.parsePageRequest("list /limit/"));
+        assertThrows(InvalidArgumentSyntaxException.class, () -> parser.parsePageRequest("list /limit/0"));
+        assertThrows(InvalidArgumentSyntaxException.class, () -> parser.parsePageRequest("list /page/two"));
+        assertThrows(InvalidArgumentSyntaxException.class, () -> parser.parsePageRequest("list /page/1 /size/5"));
+    }
+
+    @Test
+    public void parseInlineEdit_keepsValuesThatAreNotGiven() throws EmptyArgumentException,
+            InvalidEditTransactionData, InvalidCategoryException {
+        Parser parser = new Parser();
+        Account account = new Account(1);
+        Transaction transaction = parser.parseEditTransaction("expense | Grocery | 12-11-2022 | 50.00 | 2", account);
+
+        assertEquals("edit 3", Parser.parseCommandHead("edit 3 /$/12.50 /c/1"));
+        assertEquals("Expense | Grocery | 12-11-2022 | 12.50 | 1",
+                Parser.parseInlineEdit("edit 3 /$/12.50 /c/1", transaction));
+        assertEquals("income | Weekly groceries | 12-11-2022 | 50.00 | 2",
+                Parser.parseInlineEdit("edit 3 /n/Weekly groceries /t/income", transaction));
+        assertThrows(EmptyArgumentException.class, () -> Parser.parseInlineEdit("edit 3 /$/ /c/1", transaction));
+    }
+
+    @Test
+    public void parseInlineArgument_missingInBatchMode_throwsException() throws EmptyArgumentException {
+        assertEquals("4110", Parser.parseInlineArgument("list 5 /acc/4110 /limit/20", "acc"));
+        assertNull(Parser.parseInlineArgument("list 5", "acc"));
+        assertThrows(EmptyArgumentException.class, () -> Parser.parseInlineArgument("list 5 /acc/", "acc"));
+
+        UserInterface.setBatchMode(true);
+        try {
+            assertThrows(EmptyArgumentException.class, () -> Parser.parseInlineArgument("list 5", "acc"));
+        } finally {
+            UserInterface.setBatchMode(false);
+        }
+    }
 }
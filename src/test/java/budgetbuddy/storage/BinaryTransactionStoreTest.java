@@ -0,0 +1,115 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.TransactionTable;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryTransactionStoreTest {
+
+    private static BinaryTransactionStore createStore() throws IOException {
+        Path path = Files.createTempFile("transactions", ".bin");
+        path.toFile().deleteOnExit();
+        return new BinaryTransactionStore(path, false);
+    }
+
+    @Test
+    public void writeThenRead_roundTripsAllFields() throws IOException, FileCorruptedException,
+            InvalidCategoryException {
+        Income income = new Income(1234, "Main", "Salary", 2500.5, "01-03-2024");
+        income.setCategory(Category.fromNumber(5));
+        Expense expense = new Expense(1234, "Main", "Caf\u00e9 au lait", 4.2, "29-02-2024");
+        expense.setCategory(Category.fromNumber(1));
+        TransactionTable transactions = new TransactionTable(Arrays.asList(income, expense));
+
+        BinaryTransactionStore store = createStore();
+        store.write(transactions);
+        List<Transaction> loaded = store.read(new HashSet<>(Arrays.asList(1234)));
+
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(0) instanceof Income);
+        assertEquals(2500.5, loaded.get(0).getAmount());
+        assertEquals(income.getDate(), loaded.get(0).getDate());
+        assertEquals(income.getCategory(), loaded.get(0).getCategory());
+        assertTrue(loaded.get(1) instanceof Expense);
+        assertEquals(-4.2, loaded.get(1).getAmount());
+        assertEquals("Caf\u00e9 au lait", loaded.get(1).getDescription());
+        assertSame(loaded.get(0).getAccountName(), loaded.get(1).getAccountName());
+    }
+
+    @Test
+    public void writeThenRead_keepsTransactionIds() throws IOException, FileCorruptedException,
+            InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 3; i++) {
+            Income income = new Income(1234, "Main", "Salary" + i, 100, "01-03-2024");
+            income.setCategory(Category.fromNumber(5));
+            table.add(income);
+        }
+        table.removeById(2);
+
+        BinaryTransactionStore store = createStore();
+        store.write(table);
+        TransactionTable loaded = store.read(new HashSet<>(Arrays.asList(1234)));
+
+        assertEquals(2, loaded.size());
+        assertEquals(1, loaded.getId(0));
+        assertEquals(3, loaded.getId(1));
+        assertEquals("Salary2", loaded.getById(3).getDescription());
+    }
+
+    @Test
+    public void writeThenRead_highestIdDeleted_doesNotReuseIt() throws IOException, FileCorruptedException,
+            InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 3; i++) {
+            Income income = new Income(1234, "Main", "Salary" + i, 100, "01-03-2024");
+            income.setCategory(Category.fromNumber(5));
+            table.add(income);
+        }
+        table.removeById(3);
+
+        BinaryTransactionStore store = createStore();
+        store.write(table);
+        TransactionTable loaded = store.read(new HashSet<>(Arrays.asList(1234)));
+
+        assertEquals(4, loaded.getNextRowId());
+    }
+
+    @Test
+    public void read_unknownAccountNumber_throwsFileCorruptedException() throws IOException,
+            InvalidCategoryException {
+        Income income = new Income(1234, "Main", "Salary", 100, "01-03-2024");
+        income.setCategory(Category.fromNumber(5));
+        BinaryTransactionStore store = createStore();
+        store.write(new TransactionTable(Arrays.asList(income)));
+
+        assertThrows(FileCorruptedException.class, () -> store.read(new HashSet<>(Arrays.asList(4321))));
+    }
+
+    @Test
+    public void read_notABinaryFile_throwsFileCorruptedException() throws IOException {
+        Path path = Files.createTempFile("transactions", ".bin");
+        path.toFile().deleteOnExit();
+        Files.write(path, "Salary ,5 ,Income ,01-03-2024 ,100.0 ,1234 ,Main\n".getBytes());
+
+        assertThrows(FileCorruptedException.class, () -> new BinaryTransactionStore(path, false)
+                .read(new HashSet<>(Arrays.asList(1234))));
+    }
+}
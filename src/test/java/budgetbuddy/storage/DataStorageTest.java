@@ -3,6 +3,7 @@ package budgetbuddy.storage;
 import budgetbuddy.account.Account;
 import budgetbuddy.categories.Category;
 import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.TransactionTable;
 import budgetbuddy.transaction.type.Expense;
 import budgetbuddy.transaction.type.Transaction;
 import org.junit.jupiter.api.Test;
@@ -10,9 +11,20 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -26,7 +38,7 @@ public class DataStorageTest {
                 "25-03-2024", new Account(1));
         t.setCategory(Category.fromNumber(1));
         transactionArrayList.add(t);
-        ArrayList<Integer> existingAccountNumbers = new ArrayList<>();
+        HashSet<Integer> existingAccountNumbers = new HashSet<>();
         existingAccountNumbers.add(1);
         try {
             dataStorage.readTransactionFile(existingAccountNumbers);
@@ -49,7 +61,7 @@ public class DataStorageTest {
                 "25-03-2024", new Account(1));
         t.setCategory(Category.fromNumber(1));
         expectedTransactions.add(t);
-        ArrayList<Integer> existingAccountNumbers = new ArrayList<>();
+        HashSet<Integer> existingAccountNumbers = new HashSet<>();
         existingAccountNumbers.add(1);
         dataStorage.readTransactionFile(existingAccountNumbers);
         dataStorage.saveTransactions(expectedTransactions);
@@ -73,4 +85,273 @@ public class DataStorageTest {
             FileWriter fw = new FileWriter(DataStorage.TRANSACTIONS_FILE_PATH, false);
         }
     }
+
+    @Test
+    public void appendToJournal_interruptedWrite_restoresJournalSize() throws IOException,
+            InvalidCategoryException {
+        DataStorage dataStorage = new DataStorage();
+        Path journalPath = Paths.get(DataStorage.JOURNAL_FILE_PATH);
+        Files.deleteIfExists(journalPath);
+        ArrayList<JournalEntry> entries = new ArrayList<>();
+        entries.add(JournalEntry.delete(1));
+        dataStorage.appendToJournal(entries);
+        long journalSize = Files.size(journalPath);
+
+        Transaction lunch = new Expense(1, "Main", "Lunch", 500L, LocalDate.of(2024, 1, 1));
+        lunch.setCategory(Category.fromNumber(1));
+        Transaction interrupting = new Expense(1, "Main", "Dinner", 900L, LocalDate.of(2024, 1, 1)) {
+            @Override
+            public String getDescription() {
+                Thread.currentThread().interrupt();
+                return super.getDescription();
+            }
+        };
+        interrupting.setCategory(Category.fromNumber(1));
+        entries.clear();
+        for (int i = 0; i < 10000; i++) {
+            entries.add(JournalEntry.edit(i == 5000 ? interrupting : lunch));
+        }
+        try {
+            assertThrows(IOException.class, () -> dataStorage.appendToJournal(entries));
+            assertTrue(Thread.interrupted());
+            assertEquals(journalSize, Files.size(journalPath));
+        } finally {
+            Thread.interrupted();
+            Files.deleteIfExists(journalPath);
+        }
+    }
+
+    @Test
+    public void saveTransactions_failedWrite_keepsOldFileAndJournal() throws IOException,
+            InvalidCategoryException {
+        DataStorage dataStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, false);
+        Path textPath = Paths.get(DataStorage.TRANSACTIONS_FILE_PATH);
+        Path journalPath = Paths.get(DataStorage.JOURNAL_FILE_PATH);
+        Path temporaryPath = Paths.get(DataStorage.TRANSACTIONS_FILE_PATH + ".tmp");
+        byte[] savedText = Files.exists(textPath) ? Files.readAllBytes(textPath) : null;
+        Transaction lunch = createExpense(1, 1, "Lunch");
+        Transaction failing = new Expense(1, "Main", "Dinner", 900L, LocalDate.of(2024, 1, 1)) {
+            @Override
+            public String getDescription() {
+                throw new IllegalStateException("Disk full");
+            }
+        };
+        failing.setCategory(Category.fromNumber(1));
+        ArrayList<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            transactions.add(i == 5000 ? failing : lunch);
+        }
+
+        try {
+            dataStorage.saveTransactions(List.of(lunch));
+            byte[] oldText = Files.readAllBytes(textPath);
+            ArrayList<JournalEntry> entries = new ArrayList<>();
+            entries.add(JournalEntry.delete(1));
+            dataStorage.appendToJournal(entries);
+
+            assertThrows(IllegalStateException.class, () -> dataStorage.saveTransactions(transactions));
+            assertArrayEquals(oldText, Files.readAllBytes(textPath));
+            assertTrue(Files.exists(journalPath));
+        } finally {
+            Files.deleteIfExists(journalPath);
+            Files.deleteIfExists(temporaryPath);
+            if (savedText == null) {
+                Files.deleteIfExists(textPath);
+            } else {
+                Files.write(textPath, savedText);
+            }
+        }
+    }
+
+    @Test
+    public void replayJournal_appliesAddEditDeleteAndDeleteAccount() throws IOException,
+            InvalidCategoryException {
+        DataStorage dataStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, true);
+        Path journalPath = Paths.get(DataStorage.JOURNAL_FILE_PATH);
+        Files.deleteIfExists(journalPath);
+        ArrayList<JournalEntry> entries = new ArrayList<>();
+        entries.add(JournalEntry.add(createExpense(4, 1, "Coffee")));
+        entries.add(JournalEntry.edit(createExpense(1, 1, "Edited")));
+        entries.add(JournalEntry.delete(3));
+        entries.add(JournalEntry.deleteAccount(2));
+        dataStorage.appendToJournal(entries);
+
+        TransactionTable transactions = createSnapshot();
+        try {
+            dataStorage.replayJournal(transactions, createAccountNumbers());
+        } finally {
+            Files.deleteIfExists(journalPath);
+        }
+
+        assertEquals(2, transactions.size());
+        assertEquals("Edited", transactions.getById(1).getDescription());
+        assertEquals("Coffee", transactions.getById(4).getDescription());
+    }
+
+    @Test
+    public void replayJournal_tornLastLine_keepsEarlierEntriesAndJournal() throws IOException,
+            InvalidCategoryException {
+        DataStorage dataStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, true);
+        Path journalPath = Paths.get(DataStorage.JOURNAL_FILE_PATH);
+        Path corruptPath = Paths.get(DataStorage.JOURNAL_FILE_PATH + DataStorage.CORRUPT_FILE_SUFFIX);
+        Files.deleteIfExists(journalPath);
+        ArrayList<JournalEntry> entries = new ArrayList<>();
+        entries.add(JournalEntry.add(createExpense(4, 1, "Coffee")));
+        dataStorage.appendToJournal(entries);
+        Files.write(journalPath, "add ,5 ,Tea ,1 ,Exp".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        long journalSize = Files.size(journalPath);
+
+        TransactionTable transactions = createSnapshot();
+        try {
+            dataStorage.replayJournal(transactions, createAccountNumbers());
+
+            assertEquals(4, transactions.size());
+            assertEquals("Coffee", transactions.getById(4).getDescription());
+            assertFalse(Files.exists(journalPath));
+            assertEquals(journalSize, Files.size(corruptPath));
+        } finally {
+            Files.deleteIfExists(corruptPath);
+            Files.deleteIfExists(Paths.get(DataStorage.BINARY_TRANSACTIONS_FILE_PATH));
+        }
+    }
+
+    @Test
+    public void readBinaryTransactionFile_journalWithoutSnapshot_migratesJournal() throws IOException,
+            InvalidCategoryException {
+        DataStorage dataStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, true);
+        Path journalPath = Paths.get(DataStorage.JOURNAL_FILE_PATH);
+        Path binaryPath = Paths.get(DataStorage.BINARY_TRANSACTIONS_FILE_PATH);
+        Path textPath = Paths.get(DataStorage.TRANSACTIONS_FILE_PATH);
+        byte[] savedText = Files.exists(textPath) ? Files.readAllBytes(textPath) : null;
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(binaryPath);
+        Files.deleteIfExists(textPath);
+        ArrayList<JournalEntry> entries = new ArrayList<>();
+        entries.add(JournalEntry.add(createExpense(1, 1, "Coffee")));
+        entries.add(JournalEntry.add(createExpense(2, 2, "Tea")));
+        dataStorage.appendToJournal(entries);
+
+        try {
+            TransactionTable transactions = dataStorage.readBinaryTransactionFile(createAccountNumbers());
+
+            assertEquals(2, transactions.size());
+            assertFalse(Files.exists(journalPath));
+            TransactionTable reloaded = dataStorage.readBinaryTransactionFile(createAccountNumbers());
+            assertEquals("Tea", reloaded.getById(2).getDescription());
+        } finally {
+            Files.deleteIfExists(journalPath);
+            Files.deleteIfExists(binaryPath);
+            if (savedText != null) {
+                Files.write(textPath, savedText);
+            }
+        }
+    }
+
+    @Test
+    public void loadTransactions_textSnapshotWithHighestIdDeleted_doesNotReuseIt() throws IOException,
+            InvalidCategoryException {
+        DataStorage dataStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, false);
+        Path textPath = Paths.get(DataStorage.TRANSACTIONS_FILE_PATH);
+        byte[] savedText = Files.exists(textPath) ? Files.readAllBytes(textPath) : null;
+        Files.deleteIfExists(Paths.get(DataStorage.JOURNAL_FILE_PATH));
+        TransactionTable transactions = createSnapshot();
+        transactions.removeById(3);
+
+        try {
+            Files.write(textPath, new byte[0]);
+            dataStorage.saveTransactionSnapshot(transactions);
+            TransactionTable loaded = dataStorage.loadTransactions(createAccountNumbers()).getTransactions();
+
+            assertEquals(2, loaded.size());
+            assertEquals(4, loaded.getNextRowId());
+        } finally {
+            if (savedText == null) {
+                Files.deleteIfExists(textPath);
+            } else {
+                Files.write(textPath, savedText);
+            }
+        }
+    }
+
+    @Test
+    public void loadTransactions_textFormatWithOnlyBinarySnapshot_migratesBinarySnapshot() throws IOException,
+            InvalidCategoryException {
+        DataStorage binaryStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, true);
+        DataStorage textStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, false);
+        Path binaryPath = Paths.get(DataStorage.BINARY_TRANSACTIONS_FILE_PATH);
+        Path migratedPath = Paths.get(DataStorage.MIGRATED_BINARY_TRANSACTIONS_FILE_PATH);
+        Path textPath = Paths.get(DataStorage.TRANSACTIONS_FILE_PATH);
+        byte[] savedText = Files.exists(textPath) ? Files.readAllBytes(textPath) : null;
+        Files.deleteIfExists(Paths.get(DataStorage.JOURNAL_FILE_PATH));
+
+        try {
+            binaryStorage.saveTransactionSnapshot(createSnapshot());
+            Files.deleteIfExists(textPath);
+            TransactionTable loaded = textStorage.loadTransactions(createAccountNumbers()).getTransactions();
+
+            assertEquals(3, loaded.size());
+            assertFalse(Files.exists(binaryPath));
+            assertTrue(Files.exists(migratedPath));
+            TransactionTable reloaded = textStorage.loadTransactions(createAccountNumbers()).getTransactions();
+            assertEquals("Dinner", reloaded.getById(3).getDescription());
+        } finally {
+            Files.deleteIfExists(binaryPath);
+            Files.deleteIfExists(migratedPath);
+            if (savedText == null) {
+                Files.deleteIfExists(textPath);
+            } else {
+                Files.write(textPath, savedText);
+            }
+        }
+    }
+
+    @Test
+    public void readBinaryTransactionFile_corruptedFile_keepsCopy() throws IOException {
+        DataStorage dataStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, true);
+        Path binaryPath = Paths.get(DataStorage.BINARY_TRANSACTIONS_FILE_PATH);
+        Path corruptPath = Paths.get(DataStorage.BINARY_TRANSACTIONS_FILE_PATH + DataStorage.CORRUPT_FILE_SUFFIX);
+        Path textPath = Paths.get(DataStorage.TRANSACTIONS_FILE_PATH);
+        byte[] savedText = Files.exists(textPath) ? Files.readAllBytes(textPath) : null;
+        byte[] garbage = "not a binary snapshot".getBytes(StandardCharsets.UTF_8);
+        Files.deleteIfExists(Paths.get(DataStorage.JOURNAL_FILE_PATH));
+        Files.deleteIfExists(textPath);
+        Files.write(binaryPath, garbage);
+
+        try {
+            TransactionTable transactions = dataStorage.readBinaryTransactionFile(createAccountNumbers());
+
+            assertEquals(0, transactions.size());
+            assertFalse(Files.exists(binaryPath));
+            assertArrayEquals(garbage, Files.readAllBytes(corruptPath));
+        } finally {
+            Files.deleteIfExists(binaryPath);
+            Files.deleteIfExists(corruptPath);
+            if (savedText != null) {
+                Files.write(textPath, savedText);
+            }
+        }
+    }
+
+    private static TransactionTable createSnapshot() throws InvalidCategoryException {
+        TransactionTable transactions = new TransactionTable();
+        transactions.add(createExpense(1, 1, "Lunch"));
+        transactions.add(createExpense(2, 2, "Taxi"));
+        transactions.add(createExpense(3, 1, "Dinner"));
+        return transactions;
+    }
+
+    private static Transaction createExpense(int id, int accountNumber, String description)
+            throws InvalidCategoryException {
+        Transaction expense = new Expense(accountNumber, "Main", description, 500L, LocalDate.of(2024, 1, 1));
+        expense.setCategory(Category.fromNumber(1));
+        expense.setId(id);
+        return expense;
+    }
+
+    private static HashSet<Integer> createAccountNumbers() {
+        HashSet<Integer> accountNumbers = new HashSet<>();
+        accountNumbers.add(1);
+        accountNumbers.add(2);
+        return accountNumbers;
+    }
 }
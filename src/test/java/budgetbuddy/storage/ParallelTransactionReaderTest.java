@@ -0,0 +1,63 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelTransactionReaderTest {
+    private static final int LINE_COUNT = 50000;
+
+    private static Transaction parseLine(String line) throws FileCorruptedException {
+        if (line.startsWith("bad")) {
+            throw new FileCorruptedException("Invalid line");
+        }
+        return new Income(1, "test", line, 1, "01-01-2024");
+    }
+
+    private static Path writeLines(int lineCount, String lastLine) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            content.append("transaction number ").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+            if (i % 1000 == 0) {
+                content.append("   \n");
+            }
+        }
+        content.append(lastLine);
+        Path path = Files.createTempFile("transactions", ".txt");
+        path.toFile().deleteOnExit();
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void read_multipleChunks_keepsFileOrder() throws IOException, FileCorruptedException,
+            InvalidCategoryException {
+        Path path = writeLines(LINE_COUNT, "last line");
+        ArrayList<Transaction> transactions = new ParallelTransactionReader(
+                ParallelTransactionReaderTest::parseLine).read(path);
+
+        assertEquals(LINE_COUNT + 1, transactions.size());
+        for (int i = 0; i < LINE_COUNT; i++) {
+            assertEquals("transaction number " + i, transactions.get(i).getDescription());
+        }
+        assertEquals("last line", transactions.get(LINE_COUNT).getDescription());
+    }
+
+    @Test
+    public void read_corruptedLine_throwsFileCorruptedException() throws IOException {
+        Path path = writeLines(LINE_COUNT, "bad line\n");
+        assertThrows(FileCorruptedException.class, () -> new ParallelTransactionReader(
+                ParallelTransactionReaderTest::parseLine).read(path));
+    }
+}
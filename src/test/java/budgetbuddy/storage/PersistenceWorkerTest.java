@@ -0,0 +1,84 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.account.Account;
+import budgetbuddy.account.AccountManager;
+import budgetbuddy.transaction.TransactionList;
+import budgetbuddy.transaction.TransactionTable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PersistenceWorkerTest {
+    private static final int ACCOUNT_NUMBER = 1234;
+    private static final int TRANSACTION_COUNT = 100;
+
+    @Test
+    public void shutdown_whileFlushIsWriting_letsFlushFinish() throws Exception {
+        Path journalPath = Paths.get(DataStorage.JOURNAL_FILE_PATH);
+        Path accountsPath = Paths.get(DataStorage.ACCOUNTS_FILE_PATH);
+        byte[] savedAccounts = Files.exists(accountsPath) ? Files.readAllBytes(accountsPath) : null;
+        Files.createDirectories(journalPath.getParent());
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(Paths.get(DataStorage.BINARY_TRANSACTIONS_FILE_PATH));
+        Files.write(Paths.get(DataStorage.TRANSACTIONS_FILE_PATH), new byte[0]);
+
+        Thread testThread = Thread.currentThread();
+        CountDownLatch isFlushWriting = new CountDownLatch(1);
+        Account account = new Account(ACCOUNT_NUMBER, "Main", 100) {
+            @Override
+            public String getName() {
+                if (Thread.currentThread() != testThread && isFlushWriting.getCount() > 0) {
+                    isFlushWriting.countDown();
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getName();
+            }
+        };
+        ArrayList<Account> accounts = new ArrayList<>();
+        accounts.add(account);
+        HashSet<Integer> accountNumbers = new HashSet<>();
+        accountNumbers.add(ACCOUNT_NUMBER);
+        AccountManager accountManager = new AccountManager(accounts, accountNumbers);
+        TransactionList transactions = new TransactionList();
+        Object stateLock = new Object();
+        PersistenceWorker worker = new PersistenceWorker(transactions, accountManager, stateLock, 0);
+        try {
+            synchronized (stateLock) {
+                for (int i = 0; i < TRANSACTION_COUNT; i++) {
+                    transactions.processTransaction("add /a/" + ACCOUNT_NUMBER + " /t/expense /n/Item" + i
+                            + " /$/1 /d/01-01-2024 /c/1", account);
+                }
+                worker.requestFlush();
+            }
+            isFlushWriting.await();
+            worker.shutdown();
+
+            DataStorage textStorage = new DataStorage(DataStorage.DEFAULT_BUFFER_SIZE, false, false);
+            HashSet<Integer> loadedAccountNumbers = new HashSet<>();
+            ArrayList<Account> loadedAccounts = textStorage.readAccountFile(loadedAccountNumbers);
+            assertEquals(1, loadedAccounts.size());
+            assertEquals(account.getBalanceInCents(), loadedAccounts.get(0).getBalanceInCents());
+            TransactionTable loaded = textStorage.loadTransactions(loadedAccountNumbers).getTransactions();
+            assertEquals(TRANSACTION_COUNT, loaded.size());
+            assertEquals("Item" + (TRANSACTION_COUNT - 1), loaded.getById(TRANSACTION_COUNT).getDescription());
+        } finally {
+            Files.deleteIfExists(journalPath);
+            if (savedAccounts == null) {
+                Files.deleteIfExists(accountsPath);
+            } else {
+                Files.write(accountsPath, savedAccounts);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.exceptions.FileCorruptedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RecordScannerTest {
+
+    @Test
+    public void nextFields_transactionRecord_readsEveryField() throws FileCorruptedException {
+        RecordScanner scanner = new RecordScanner().reset("Lunch ,1 ,Expense ,05-03-2024 ,-12.5 ,1234 ,Main");
+        assertEquals(7, scanner.countRemainingFields());
+        assertEquals("Lunch", scanner.nextString("description"));
+        assertEquals(1, scanner.nextInt("category"));
+        assertFalse(scanner.nextFieldEquals("type", "Income"));
+        assertTrue(scanner.nextFieldEquals("type", "Expense"));
+        assertEquals(LocalDate.of(2024, 3, 5), scanner.nextDate("date"));
+        assertEquals(-1250, scanner.nextCents("amount"));
+        assertEquals(1234, scanner.nextInt("account number"));
+        assertEquals("Main", scanner.nextString("account name"));
+        assertFalse(scanner.hasNextField());
+    }
+
+    @Test
+    public void nextCents_readsExactCents() throws FileCorruptedException {
+        String[] values = {"0.1", "-0.30", "123456.78", "1.0E7", "12.345", "7", "-0.05", "9999999999999999.5"};
+        long[] expectedCents = {10, -30, 12345678, 1000000000, 1235, 700, -5, 999999999999999950L};
+        RecordScanner scanner = new RecordScanner();
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(expectedCents[i], scanner.reset(values[i]).nextCents("amount"));
+        }
+    }
+
+    @Test
+    public void invalidFields_throwFileCorruptedException() {
+        RecordScanner scanner = new RecordScanner();
+        assertThrows(FileCorruptedException.class, () -> scanner.reset("12a").nextInt("number"));
+        assertThrows(FileCorruptedException.class, () -> scanner.reset("1.2.3").nextCents("amount"));
+        assertThrows(FileCorruptedException.class, () -> scanner.reset("31-02-2024").nextDate("date"));
+        assertThrows(FileCorruptedException.class, () -> scanner.reset("2024-02-01").nextDate("date"));
+        assertThrows(FileCorruptedException.class, () -> {
+            scanner.reset("only");
+            scanner.nextString("first");
+            scanner.nextString("second");
+        });
+    }
+}
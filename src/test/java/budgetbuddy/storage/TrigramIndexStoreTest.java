@@ -0,0 +1,88 @@
+package budgetbuddy.storage;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.exceptions.FileCorruptedException;
+import budgetbuddy.transaction.TransactionTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrigramIndexStoreTest {
+
+    private static TrigramIndexStore createStore() throws IOException {
+        Path path = Files.createTempFile("transactions", ".trigrams");
+        path.toFile().deleteOnExit();
+        return new TrigramIndexStore(path, false);
+    }
+
+    private static TransactionTable createTable(String... descriptions) {
+        TransactionTable table = new TransactionTable();
+        for (String description : descriptions) {
+            table.addRow(0, 1234, "Main", description, -500, 19800, Category.DINING, true);
+        }
+        return table;
+    }
+
+    private static TransactionTable createTable(int firstId, String... descriptions) {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < descriptions.length; i++) {
+            table.addRow(firstId + i, 1234, "Main", descriptions[i], -500, 19800, Category.DINING, true);
+        }
+        return table;
+    }
+
+    @Test
+    public void writeThenRead_afterRemovals_keepsRowIds() throws IOException, FileCorruptedException {
+        TransactionTable saved = createTable("Coffee", "Lunch", "Brunch", "Dinner");
+        saved.remove(0);
+        saved.getTrigramIndex();
+        TrigramIndexStore store = createStore();
+        store.write(saved);
+
+        TransactionTable loaded = createTable(2, "Lunch", "Brunch", "Dinner");
+        assertTrue(store.read(loaded));
+        assertTrue(loaded.hasTrigramIndex());
+        assertArrayEquals(new int[] {0, 1}, loaded.searchRows("unch"));
+    }
+
+    @Test
+    public void read_differentDescriptions_isIgnored() throws IOException, FileCorruptedException {
+        TransactionTable saved = createTable("Lunch", "Dinner");
+        saved.getTrigramIndex();
+        TrigramIndexStore store = createStore();
+        store.write(saved);
+
+        TransactionTable loaded = createTable("Lunch", "Supper");
+        assertFalse(store.read(loaded));
+        assertFalse(loaded.hasTrigramIndex());
+    }
+
+    @Test
+    public void read_sameDescriptionsWithOtherIds_isIgnored() throws IOException, FileCorruptedException {
+        TransactionTable saved = createTable("Lunch", "Dinner");
+        saved.getTrigramIndex();
+        TrigramIndexStore store = createStore();
+        store.write(saved);
+
+        TransactionTable loaded = createTable(3, "Lunch", "Dinner");
+        assertFalse(store.read(loaded));
+        assertFalse(loaded.hasTrigramIndex());
+    }
+
+    @Test
+    public void read_notAnIndexFile_throwsFileCorruptedException() throws IOException {
+        Path path = Files.createTempFile("transactions", ".trigrams");
+        path.toFile().deleteOnExit();
+        Files.write(path, "not an index file at all".getBytes());
+
+        assertThrows(FileCorruptedException.class, () -> new TrigramIndexStore(path, false)
+                .read(createTable("Lunch")));
+    }
+}
@@ -0,0 +1,51 @@
+package budgetbuddy.transaction;
+
+import budgetbuddy.account.Account;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BalanceLedgerTest {
+
+    @Test
+    public void applyReplaceAndReverse_keepBalanceInStep() {
+        Account account = Account.withBalanceInCents(1234, "Main", 10000);
+        Transaction original = new Expense(1234, "Main", "Lunch", 12.5, "01-03-2024");
+        Transaction edited = new Income(1234, "Main", "Refund", 5.0, "01-03-2024");
+
+        BalanceLedger.apply(account, original);
+        assertEquals(8750, account.getBalanceInCents());
+        BalanceLedger.replace(account, original, edited);
+        assertEquals(10500, account.getBalanceInCents());
+        BalanceLedger.reverse(account, edited);
+        assertEquals(10000, account.getBalanceInCents());
+    }
+
+    @Test
+    public void findDrift_reportsOnlyAccountsThatDoNotMatchTheirTransactions() {
+        TransactionTable transactions = new TransactionTable();
+        for (int i = 0; i < BalanceLedger.MIN_ROWS_PER_TASK + 10; i++) {
+            transactions.add(new Income(i % 2 == 0 ? 1111 : 2222, "Main", "Pay", 1.0, "01-03-2024"));
+        }
+        transactions.removeById(1);
+        long half = (BalanceLedger.MIN_ROWS_PER_TASK + 10) / 2;
+        Account matching = Account.withBalancesInCents(1111, "Even", 500, 500 + (half - 1) * 100);
+        Account drifted = Account.withBalancesInCents(2222, "Odd", 0, half * 100 + 7);
+        Account unopened = Account.withoutOpeningBalance(3333, "Empty", 900);
+
+        HashMap<Integer, Long> drift = BalanceLedger.findDrift(transactions,
+                Arrays.asList(matching, drifted, unopened));
+
+        assertEquals(1, drift.size());
+        assertEquals(Long.valueOf(7), drift.get(2222));
+        assertTrue(unopened.hasOpeningBalance());
+        assertEquals(900, unopened.getOpeningBalanceInCents());
+    }
+}
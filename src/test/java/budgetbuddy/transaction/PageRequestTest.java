@@ -0,0 +1,34 @@
+package budgetbuddy.transaction;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PageRequestTest {
+
+    @Test
+    public void getStartAndEnd_countPagesFromLatestTransactions() {
+        PageRequest page = new PageRequest(50, 1, true);
+
+        assertEquals(950, page.getStart(1000));
+        assertEquals(1000, page.getEnd(1000));
+        assertEquals(900, page.next().getStart(1000));
+        assertEquals(950, page.next().getEnd(1000));
+        assertEquals(20, page.getPageCount(1000));
+
+        PageRequest lastPage = new PageRequest(50, 3, true);
+        assertEquals(0, lastPage.getStart(120));
+        assertEquals(20, lastPage.getEnd(120));
+        assertEquals(3, lastPage.getPageCount(120));
+    }
+
+    @Test
+    public void getStartAndEnd_pagePastOldestTransactions_isEmpty() {
+        PageRequest page = new PageRequest(10, 5, true);
+
+        assertEquals(0, page.getStart(30));
+        assertEquals(0, page.getEnd(30));
+        assertEquals(0, new PageRequest(Integer.MAX_VALUE, 3, true).getEnd(30));
+        assertEquals(1, page.getPageCount(0));
+    }
+}
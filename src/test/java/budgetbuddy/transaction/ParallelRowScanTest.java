@@ -0,0 +1,38 @@
+package budgetbuddy.transaction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelRowScanTest {
+
+    @Test
+    public void filter_aboveThreshold_keepsOrderOfSequentialScan() {
+        ParallelRowScan scan = new ParallelRowScan(10);
+        int[] candidates = IntStream.range(0, 500).map(i -> i * 3).toArray();
+
+        int[] rows = scan.filter(1000, row -> row % 7 == 3);
+        int[] candidateRows = scan.filter(candidates.length, i -> candidates[i], row -> row % 2 == 0);
+
+        assertArrayEquals(IntStream.range(0, 1000).filter(row -> row % 7 == 3).toArray(), rows);
+        assertArrayEquals(IntStream.range(0, 500).map(i -> i * 3).filter(row -> row % 2 == 0).toArray(),
+                candidateRows);
+        assertArrayEquals(new int[0], scan.filter(0, row -> true));
+    }
+
+    @Test
+    public void forEach_aboveThreshold_visitsEveryPositionOnce() {
+        ParallelRowScan scan = new ParallelRowScan(10);
+        AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+
+        scan.forEach(1000, visits::incrementAndGet);
+
+        for (int position = 0; position < visits.length(); position++) {
+            assertEquals(1, visits.get(position));
+        }
+    }
+}
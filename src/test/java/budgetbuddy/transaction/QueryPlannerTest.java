@@ -0,0 +1,128 @@
+package budgetbuddy.transaction;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryPlannerTest {
+    private static final int ROW_COUNT = 400;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private TransactionTable table;
+    private QueryPlanner planner;
+
+    @BeforeEach
+    public void setUp() throws InvalidCategoryException {
+        table = new TransactionTable();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            int accountNumber = i % 40 == 0 ? 2222 : 1111;
+            String description = i % 10 == 0 ? "Coffee beans" : "Groceries";
+            long amountInCents = (i % 100) * 100L;
+            LocalDate date = FIRST_DAY.plusDays(i);
+            Transaction transaction = i % 2 == 0
+                    ? new Expense(accountNumber, "Main", description, amountInCents, date)
+                    : new Income(accountNumber, "Main", description, amountInCents, date);
+            transaction.setCategory(Category.fromNumber(i % 3 + 1));
+            table.add(transaction);
+        }
+        planner = new QueryPlanner(table);
+    }
+
+    private int[] scanForMatches(TransactionQuery query) {
+        return IntStream.range(0, table.getRowCount())
+                .filter(row -> table.isLiveRow(row) && query.matchesColumns(table, row))
+                .toArray();
+    }
+
+    @Test
+    public void choosePath_picksMostSelectiveIndexOrScan() {
+        TransactionQuery byAccount = new TransactionQuery();
+        byAccount.setAccountNumber(2222);
+        byAccount.setCategory(Category.DINING);
+        assertEquals(QueryPlanner.AccessPath.ACCOUNT_INDEX, planner.choosePath(byAccount, null));
+
+        TransactionQuery byDate = new TransactionQuery();
+        byDate.setAccountNumber(2222);
+        byDate.setFromEpochDay((int) FIRST_DAY.toEpochDay());
+        byDate.setToEpochDay((int) FIRST_DAY.plusDays(4).toEpochDay());
+        assertEquals(QueryPlanner.AccessPath.DATE_INDEX, planner.choosePath(byDate, null));
+
+        TransactionQuery byCategory = new TransactionQuery();
+        byCategory.setCategory(Category.DINING);
+        byCategory.setMinAmountInCents(5000);
+        assertEquals(QueryPlanner.AccessPath.SCAN, planner.choosePath(byCategory, null));
+        assertEquals(QueryPlanner.AccessPath.KEYWORD_INDEX, planner.choosePath(byCategory, new int[] {1, 2}));
+    }
+
+    @Test
+    public void execute_combinedFilters_matchesFullScan() {
+        TransactionQuery query = new TransactionQuery();
+        query.setFromEpochDay((int) FIRST_DAY.plusDays(50).toEpochDay());
+        query.setCategory(Category.DINING);
+        query.setExpense(true);
+        query.setMinAmountInCents(2000);
+        query.setMaxAmountInCents(8000);
+
+        int[] rows = planner.execute(query);
+
+        assertArrayEquals(scanForMatches(query), rows);
+        assertTrue(rows.length > 0);
+    }
+
+    @Test
+    public void execute_withKeywords_intersectsKeywordMatches() {
+        TransactionQuery query = new TransactionQuery();
+        query.setAccountNumber(1111);
+        query.setKeywords("coffee");
+
+        int[] rows = planner.execute(query);
+
+        assertEquals(ROW_COUNT / 10 - ROW_COUNT / 40, rows.length);
+        for (int row : rows) {
+            assertEquals("Coffee beans", table.getDescription(row));
+            assertEquals(1111, table.getAccountNumber(row));
+        }
+    }
+
+    @Test
+    public void execute_afterRemovals_skipsDeletedRows() {
+        table.removeById(1);
+        table.removeById(41);
+        TransactionQuery query = new TransactionQuery();
+        query.setAccountNumber(2222);
+
+        assertArrayEquals(scanForMatches(query), planner.execute(query));
+        assertEquals(ROW_COUNT / 40 - 2, planner.execute(query).length);
+    }
+
+    @Test
+    public void execute_splitAcrossThreads_matchesSequentialResults() {
+        TransactionQuery scanned = new TransactionQuery();
+        scanned.setExpense(false);
+        scanned.setMinAmountInCents(3000);
+        TransactionQuery indexed = new TransactionQuery();
+        indexed.setFromEpochDay((int) FIRST_DAY.plusDays(10).toEpochDay());
+        indexed.setToEpochDay((int) FIRST_DAY.plusDays(90).toEpochDay());
+        indexed.setKeywords("coffee");
+        int[] scannedRows = planner.execute(scanned);
+        int[] indexedRows = planner.execute(indexed);
+
+        table.setParallelScan(new ParallelRowScan(7));
+
+        assertArrayEquals(scannedRows, planner.execute(scanned));
+        assertArrayEquals(indexedRows, planner.execute(indexed));
+        assertArrayEquals(scanForMatches(scanned), scannedRows);
+        assertEquals(9, indexedRows.length);
+    }
+}
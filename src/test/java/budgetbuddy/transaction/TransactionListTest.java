@@ -7,6 +7,7 @@ import budgetbuddy.exceptions.EmptyArgumentException;
 import budgetbuddy.exceptions.InvalidAddTransactionSyntax;
 import budgetbuddy.exceptions.InvalidCategoryException;
 import budgetbuddy.exceptions.InvalidIndexException;
+import budgetbuddy.exceptions.InvalidTransactionIdException;
 import budgetbuddy.exceptions.InvalidTransactionTypeException;
 import budgetbuddy.transaction.type.Income;
 import org.junit.jupiter.api.Test;
@@ -15,24 +16,29 @@ import budgetbuddy.transaction.type.Transaction;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TransactionListTest {
 
     private TransactionList transactionList;
     private Account account;
-    private Account account2;
     private AccountManager accountManager;
 
     @BeforeEach
     public void setUp() throws IOException {
         transactionList = new TransactionList();
         account = new Account(1);
-        account2 = new Account(2);
-        accountManager = new AccountManager();
-        accountManager.getAccounts().add(account); // need to change this
+        ArrayList<Account> accounts = new ArrayList<>();
+        accounts.add(account);
+        HashSet<Integer> existingAccountNumbers = new HashSet<>();
+        existingAccountNumbers.add(account.getAccountNumber());
+        accountManager = new AccountManager(accounts, existingAccountNumbers);
     }
 
     @Test
@@ -40,13 +46,20 @@ public class TransactionListTest {
         assertEquals(0, transactionList.getTransactions().size());
     }
 
+    @Test
+    public void hasUnsavedChanges_onlyAfterMutation() throws InvalidTransactionTypeException,
+            InvalidAddTransactionSyntax, EmptyArgumentException, InvalidCategoryException {
+        assertFalse(transactionList.hasUnsavedChanges());
+        transactionList.processTransaction("add /a/ 1 /t/Income /n/Test /$/200 /d/14-03-2024 /c/1", account);
+        assertTrue(transactionList.hasUnsavedChanges());
+    }
+
     @Test
     public void processTransaction_addsTransaction()
             throws InvalidTransactionTypeException, InvalidAddTransactionSyntax,
             EmptyArgumentException, InvalidCategoryException {
         Transaction testTransaction = new Income(1, "test","Test", 200,
-                "14-03-2024",
-                account);
+                "14-03-2024");
         testTransaction.setCategory(Category.fromNumber(1));
         transactionList.processTransaction("add /a/ 1 /t/Income /n/Test /$/200 /d/14-03-2024 /c/1", account);
 
@@ -78,14 +91,23 @@ public class TransactionListTest {
                 "add /a/ 1 /t/Donation /n/Test /$/200 /d/14-03-2024 /c/2", account));
     }
 
+    @Test
+    public void processTransaction_withoutCategory_throwsInsteadOfAsking() throws InvalidAddTransactionSyntax {
+        String command = "add /a/ 1 /t/Income /n/Test /$/200 /d/14-03-2024 /c/3";
+        assertEquals(command, transactionList.completeAddCommand(command));
+        assertThrows(EmptyArgumentException.class, () -> transactionList.processTransaction(
+                "add /a/ 1 /t/Income /n/Test /$/200 /d/14-03-2024", account));
+        assertEquals(0, transactionList.getTransactions().size());
+    }
+
     @Test
     public void removeTransaction_removesCorrectTransaction() throws EmptyArgumentException,
             InvalidIndexException, InvalidCategoryException {
         Transaction testTransaction1 = new Income(1, "test","Test1", 100,
-                "14-03-2024", account);
+                "14-03-2024");
         testTransaction1.setCategory(Category.fromNumber(1));
         Transaction testTransaction2 = new Income(1, "test","Test2", 200,
-                "16-03-2024", account);
+                "16-03-2024");
         testTransaction1.setCategory(Category.fromNumber(2));
         transactionList.addTransaction(testTransaction1);
         transactionList.addTransaction(testTransaction2);
@@ -96,10 +118,39 @@ public class TransactionListTest {
         assertEquals(testTransaction2, transactionList.getTransactions().get(0));
     }
 
+    @Test
+    public void removeTransaction_byId_keepsIdsOfRemainingTransactions() throws EmptyArgumentException,
+            InvalidIndexException, InvalidCategoryException {
+        for (int i = 1; i <= 3; i++) {
+            Transaction income = new Income(1, "test", "Test" + i, 100 * i, "14-03-2024");
+            income.setCategory(Category.fromNumber(5));
+            transactionList.addTransaction(income);
+        }
+
+        transactionList.removeTransaction("delete 2", accountManager);
+
+        assertEquals("Test3", transactionList.getTransactions().getById(3).getDescription());
+        assertThrows(InvalidTransactionIdException.class, () -> transactionList.removeTransaction(
+                "delete 2", accountManager));
+    }
+
+    @Test
+    public void processAndRemoveTransaction_applyAndReverseBalance() throws InvalidTransactionTypeException,
+            InvalidAddTransactionSyntax, EmptyArgumentException, InvalidCategoryException, InvalidIndexException {
+        transactionList.processTransaction("add /a/ 1 /t/Income /n/Pay /$/200 /d/14-03-2024 /c/1", account);
+        transactionList.processTransaction("add /a/ 1 /t/Expense /n/Food /$/12.30 /d/15-03-2024 /c/2", account);
+        assertEquals(18770, account.getBalanceInCents());
+
+        transactionList.removeTransaction("delete 1", accountManager);
+
+        assertEquals(-1230, account.getBalanceInCents());
+        assertTrue(transactionList.checkBalances(accountManager.getAccounts()).isEmpty());
+    }
+
     @Test
     public void removeTransaction_withInvalidIndex_throwsIndexOutOfBoundsException() {
         Transaction testTransaction = new Income(1, "test","Test", 200,
-                "14-03-2024", account);
+                "14-03-2024");
         transactionList.addTransaction(testTransaction);
 
         assertThrows(InvalidIndexException.class, () -> transactionList.removeTransaction(
@@ -109,7 +160,7 @@ public class TransactionListTest {
     @Test
     public void removeTransaction_withMissingIndex_throwsEmptyArgumentException() {
         Transaction testTransaction = new Income(1, "test","Test", 100,
-                "14-03-2024", account);
+                "14-03-2024");
         transactionList.addTransaction(testTransaction);
 
         assertThrows(EmptyArgumentException.class, () -> transactionList.removeTransaction(
@@ -119,7 +170,7 @@ public class TransactionListTest {
     @Test
     public void removeTransaction_withInvalidIndex_throwsNumberFormatException() {
         Transaction testTransaction = new Income(1, "test","Test", 100,
-                "14-03-2024", account);
+                "14-03-2024");
         transactionList.addTransaction(testTransaction);
 
         assertThrows(NumberFormatException.class, () -> transactionList.removeTransaction(
@@ -129,19 +180,19 @@ public class TransactionListTest {
     @Test
     public void getAccountTransactions_filtersCorrectTransactions() throws InvalidCategoryException {
         Transaction testTransaction1 = new Income(1, "test","Test1", 100,
-                "15-03-2024", account);
+                "15-03-2024");
         testTransaction1.setCategory(Category.fromNumber(1));
         Transaction testTransaction2 = new Income(1, "test","Test2", 200,
-                "16-03-2024", account);
+                "16-03-2024");
         testTransaction2.setCategory(Category.fromNumber(1));
         Transaction testTransaction3 = new Income(2, "test","Test3", 300,
-                "18-03-2024", account2);
+                "18-03-2024");
         testTransaction3.setCategory(Category.fromNumber(1));
         transactionList.addTransaction(testTransaction1);
         transactionList.addTransaction(testTransaction2);
         transactionList.addTransaction(testTransaction3);
 
-        ArrayList<Transaction> accountTransactions;
+        List<Transaction> accountTransactions;
         accountTransactions = TransactionList.getAccountTransactions(transactionList.getTransactions(),1);
 
         assertEquals(2, accountTransactions.size());
@@ -152,19 +203,19 @@ public class TransactionListTest {
     @Test
     public void getCategoryTransactions_filtersCorrectTransactions() throws InvalidCategoryException {
         Transaction testTransaction1 = new Income(1, "test","Test1", 100,
-                "15-03-2024", account);
+                "15-03-2024");
         testTransaction1.setCategory(Category.fromNumber(1));
         Transaction testTransaction2 = new Income(1, "test","Test2", 200,
-                "16-03-2024", account);
+                "16-03-2024");
         testTransaction2.setCategory(Category.fromNumber(1));
         Transaction testTransaction3 = new Income(1, "test","Test3", 300,
-                "18-03-2024", account);
+                "18-03-2024");
         testTransaction3.setCategory(Category.fromNumber(5));
         transactionList.addTransaction(testTransaction1);
         transactionList.addTransaction(testTransaction2);
         transactionList.addTransaction(testTransaction3);
 
-        ArrayList<Transaction> categoryTransactions;
+        List<Transaction> categoryTransactions;
         categoryTransactions = TransactionList.getCategoryTransactions(transactionList.getTransactions(),
                 Category.fromNumber(1));
 
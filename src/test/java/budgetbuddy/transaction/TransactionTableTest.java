@@ -0,0 +1,264 @@
+package budgetbuddy.transaction;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionTableTest {
+
+    private static Transaction createExpense(int accountNumber, String description, double amount)
+            throws InvalidCategoryException {
+        Transaction expense = new Expense(accountNumber, "Main", description, amount, "01-03-2024");
+        expense.setCategory(Category.fromNumber(1));
+        return expense;
+    }
+
+    @Test
+    public void add_thenGet_returnsEqualTransaction() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        Transaction expense = createExpense(1, "Lunch", 12.5);
+        Transaction income = new Income(1, "Main", "Salary", 3000, "02-03-2024");
+        income.setCategory(Category.fromNumber(8));
+        table.add(expense);
+        table.add(income);
+
+        assertEquals(2, table.size());
+        assertEquals(expense, table.get(0));
+        assertTrue(table.get(0) instanceof Expense);
+        assertEquals(-1250, table.getAmountInCents(0));
+        assertEquals(income, table.get(1));
+        assertSame(table.get(0).getAccountName(), table.get(1).getAccountName());
+    }
+
+    @Test
+    public void remove_shiftsFollowingPositions() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 40; i++) {
+            table.add(createExpense(1, "Item" + i, i));
+        }
+        table.remove(0);
+        table.remove(5);
+
+        assertEquals(38, table.size());
+        assertEquals("Item1", table.get(0).getDescription());
+        assertEquals("Item7", table.get(5).getDescription());
+        assertEquals("Item39", table.get(37).getDescription());
+        assertEquals("Item1", table.iterator().next().getDescription());
+        assertEquals(38, table.stream().count());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(38));
+    }
+
+    @Test
+    public void removeRows_removesMatchingRowsInOnePass() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 10; i++) {
+            table.add(createExpense(i % 2 == 0 ? 1 : 2, "Item" + i, i));
+        }
+
+        assertEquals(5, table.removeRows(row -> table.getAccountNumber(row) == 2));
+        assertEquals(5, table.size());
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals(1, table.getAccountNumber(row));
+            assertEquals("Item" + row * 2, table.getDescription(row));
+        }
+    }
+
+    @Test
+    public void removeAccountRows_keepsOtherAccountsInOrder() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 10; i++) {
+            table.add(createExpense(i < 3 ? 1 : i % 2 + 2, "Item" + i, i));
+        }
+        assertEquals(4, table.selectAccount(3).size());
+
+        assertEquals(3, table.removeAccountRows(2).size());
+        assertEquals(7, table.size());
+        assertEquals("Item0", table.getDescription(0));
+        assertEquals("Item3", table.getDescription(3));
+        assertEquals("Item9", table.getDescription(6));
+        assertEquals(0, table.selectAccount(2).size());
+        assertEquals(4, table.selectAccount(3).size());
+    }
+
+    @Test
+    public void removeById_keepsOtherRowsInPlace() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 5; i++) {
+            table.add(createExpense(1, "Item" + i, i + 1));
+        }
+        assertEquals(5, table.getAccountRows(1).length);
+        assertEquals("Item1", table.removeById(2).getDescription());
+        assertEquals("Item3", table.removeById(4).getDescription());
+
+        assertNull(table.removeById(2));
+        assertNull(table.getById(4));
+        assertEquals(3, table.size());
+        assertEquals("Item2", table.getById(3).getDescription());
+        assertEquals("Item4", table.getDescription(4));
+        assertEquals(5, table.getId(4));
+        assertEquals(5, table.get(2).getId());
+        assertArrayEquals(new int[] {0, 2, 4}, table.getAccountRows(1));
+        assertArrayEquals(new int[] {0, 2, 4}, table.getRowsBetweenDays(0, Integer.MAX_VALUE));
+        assertEquals(5, table.getRowCount());
+    }
+
+    @Test
+    public void removeById_manyRows_compactsOncePastThreshold() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 4000; i++) {
+            table.add(createExpense(1, "Item" + i, 1));
+        }
+        for (int id = 1; id < 1024; id++) {
+            table.removeById(id);
+        }
+        assertEquals(4000, table.getRowCount());
+        assertEquals("Item1023", table.get(0).getDescription());
+
+        table.removeById(1024);
+
+        assertEquals(2976, table.getRowCount());
+        assertEquals(2976, table.size());
+        assertEquals("Item1024", table.getDescription(0));
+        assertEquals(1025, table.getId(0));
+    }
+
+    @Test
+    public void get_afterRemovalsInAnyOrder_skipsDeletedRows() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        ArrayList<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            table.add(createExpense(1, "Item" + i, 1));
+            expected.add("Item" + i);
+        }
+        for (int id = 1999; id > 0; id -= 7) {
+            table.removeById(id);
+            expected.remove("Item" + (id - 1));
+        }
+        for (int id = 3; id < 2000; id += 11) {
+            if (table.removeById(id) != null) {
+                expected.remove("Item" + (id - 1));
+            }
+        }
+        assertEquals(2000, table.getRowCount());
+
+        assertEquals(expected.size(), table.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), table.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void setById_keepsIdAndNewRowsGetHigherIds() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        table.add(createExpense(1, "Taxi", 8));
+        table.add(createExpense(1, "Lunch", 12));
+        table.removeById(1);
+        Transaction edited = createExpense(1, "Dinner", 20);
+        table.setById(2, edited);
+        Transaction added = createExpense(1, "Coffee", 3);
+        table.add(added);
+
+        assertEquals(2, edited.getId());
+        assertEquals("Dinner", table.getById(2).getDescription());
+        assertEquals(3, added.getId());
+        assertArrayEquals(new int[] {1}, table.searchRows("dinner"));
+        assertArrayEquals(new int[] {2}, table.searchRows("coffee"));
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(3, 1, "Main", "Old", -100, 19800,
+                Category.fromNumber(1), true));
+    }
+
+    @Test
+    public void categoryAndAccountRows_intersectAsBitmaps() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 8; i++) {
+            Transaction expense = createExpense(i % 2 + 1, "Item" + i, i);
+            expense.setCategory(Category.fromNumber(i < 4 ? 1 : 2));
+            table.add(expense);
+        }
+        BitSet rows = table.getCategoryRows(Category.fromNumber(2));
+        rows.and(table.getAccountRowSet(1));
+
+        assertEquals(4, table.selectCategory(Category.fromNumber(1)).size());
+        assertEquals(2, rows.cardinality());
+        assertEquals("Item4", table.selectRows(rows).get(0).getDescription());
+        assertEquals("Item6", table.selectRows(rows).get(1).getDescription());
+    }
+
+    @Test
+    public void categoryTotals_followAddsEditsAndRemovals() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 6; i++) {
+            table.add(createExpense(i % 2 + 1, "Item" + i, i + 1));
+        }
+        int index = Category.fromNumber(1).ordinal();
+        assertEquals(2100, table.getCategoryTotals().getExpenseTotals()[index]);
+
+        table.set(0, createExpense(1, "Item0", 10));
+        table.remove(5);
+        table.removeAccountRows(2);
+
+        assertEquals(1000 + 300 + 500, table.getCategoryTotals().getExpenseTotals()[index]);
+        assertEquals(0, table.getCategoryTotals().getExpenseTotals(2)[index]);
+    }
+
+    @Test
+    public void searchRows_afterRemovals_returnsCurrentRowIndices() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 6; i++) {
+            table.add(createExpense(i % 2 + 1, i % 3 == 0 ? "Lunch" + i : "Taxi" + i, i));
+        }
+        assertArrayEquals(new int[] {0, 3}, table.searchRows("lunch"));
+
+        table.remove(1);
+        table.removeAccountRows(1);
+        table.set(0, createExpense(2, "Lunch again", 1));
+
+        assertArrayEquals(new int[] {0}, table.searchRows("lunch"));
+        assertArrayEquals(new int[] {1}, table.searchRows("taxi"));
+    }
+
+    @Test
+    public void searchRows_keywordInsideWord_matchesDescriptionSubstring() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        table.add(createExpense(1, "Sunday brunch", 20));
+        table.add(createExpense(1, "Taxi", 12));
+        table.add(createExpense(1, "LUNCH", 8));
+
+        assertArrayEquals(new int[] {0, 2}, table.searchRows("unch"));
+        assertArrayEquals(new int[] {1}, table.searchRows("ax"));
+        assertArrayEquals(new int[] {2}, table.searchRows("unch AND lun"));
+    }
+
+    @Test
+    public void viewRows_readsRowsLazilyUntilTableChanges() throws InvalidCategoryException {
+        TransactionTable table = new TransactionTable();
+        for (int i = 0; i < 10; i++) {
+            table.add(createExpense(1, "Item" + i, i));
+        }
+        List<Transaction> views = table.viewRows(new int[] {7, 2, 5});
+        table.setById(3, createExpense(1, "Edited", 1));
+
+        assertEquals(3, views.size());
+        assertEquals("Item7", views.get(0).getDescription());
+        assertEquals("Edited", views.get(1).getDescription());
+        assertEquals(6, views.get(2).getId());
+
+        table.removeById(1);
+        assertThrows(ConcurrentModificationException.class, () -> views.get(0));
+    }
+}
@@ -0,0 +1,32 @@
+package budgetbuddy.transaction.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class AccountIndexTest {
+
+    @Test
+    public void getRows_afterBuild_returnsEachAccountsRows() {
+        AccountIndex index = new AccountIndex();
+        index.build(new int[] {1, 2, 1, 3, 2}, 5, new BitSet());
+
+        assertArrayEquals(new int[] {0, 2}, index.getRows(1));
+        assertArrayEquals(new int[] {1, 4}, index.getRows(2));
+        assertArrayEquals(new int[0], index.getRows(9));
+    }
+
+    @Test
+    public void addUpdateRemove_keepIndexInStepWithTable() {
+        AccountIndex index = new AccountIndex();
+        index.build(new int[] {1, 2, 1}, 3, new BitSet());
+        index.add(3, 2);
+        index.update(2, 1, 2);
+        index.remove(0, 1);
+
+        assertArrayEquals(new int[0], index.getRows(1));
+        assertArrayEquals(new int[] {1, 2, 3}, index.getRows(2));
+    }
+}
@@ -0,0 +1,44 @@
+package budgetbuddy.transaction.index;
+
+import budgetbuddy.categories.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CategoryIndexTest {
+
+    private static BitSet bitsOf(int... rows) {
+        BitSet bits = new BitSet();
+        for (int row : rows) {
+            bits.set(row);
+        }
+        return bits;
+    }
+
+    @Test
+    public void getRows_afterBuild_returnsEachCategorysRows() {
+        Category[] categories = {Category.DINING, Category.RENT, null, Category.DINING};
+        CategoryIndex index = new CategoryIndex();
+        index.build(row -> categories[row], categories.length);
+
+        assertEquals(bitsOf(0, 3), index.getRows(Category.DINING));
+        assertEquals(bitsOf(1), index.getRows(Category.RENT));
+        assertEquals(bitsOf(), index.getRows(Category.SALARY));
+    }
+
+    @Test
+    public void addUpdateRemove_keepIndexInStepWithTable() {
+        Category[] categories = {Category.DINING, Category.RENT, Category.DINING};
+        CategoryIndex index = new CategoryIndex();
+        index.build(row -> categories[row], categories.length);
+        index.add(3, Category.RENT);
+        index.update(2, Category.DINING, Category.SALARY);
+        index.remove(0, Category.DINING);
+
+        assertEquals(bitsOf(), index.getRows(Category.DINING));
+        assertEquals(bitsOf(1, 3), index.getRows(Category.RENT));
+        assertEquals(bitsOf(2), index.getRows(Category.SALARY));
+    }
+}
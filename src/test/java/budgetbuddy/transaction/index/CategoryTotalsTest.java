@@ -0,0 +1,44 @@
+package budgetbuddy.transaction.index;
+
+import budgetbuddy.categories.Category;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CategoryTotalsTest {
+    private static final int MARCH_FIRST = (int) LocalDate.of(2024, 3, 1).toEpochDay();
+    private static final int APRIL_FIRST = (int) LocalDate.of(2024, 4, 1).toEpochDay();
+
+    @Test
+    public void addAndRemove_keepTotalsPerCategory() {
+        CategoryTotals totals = new CategoryTotals();
+        totals.startBuild();
+        totals.add(Category.DINING, true, -450, 1, MARCH_FIRST);
+        totals.add(Category.DINING, true, -1250, 2, APRIL_FIRST);
+        totals.add(Category.SALARY, false, 300000, 1, APRIL_FIRST);
+        totals.add(null, true, -100, 1, MARCH_FIRST);
+        totals.remove(Category.DINING, true, -450, 1, MARCH_FIRST);
+
+        assertEquals(1250, totals.getExpenseTotals()[Category.DINING.ordinal()]);
+        assertEquals(0, totals.getIncomeTotals()[Category.DINING.ordinal()]);
+        assertEquals(300000, totals.getIncomeTotals()[Category.SALARY.ordinal()]);
+    }
+
+    @Test
+    public void breakdowns_splitTotalsByAccountAndMonth() {
+        CategoryTotals totals = new CategoryTotals();
+        totals.startBuild();
+        totals.add(Category.DINING, true, -450, 1, MARCH_FIRST);
+        totals.add(Category.DINING, true, -1250, 2, APRIL_FIRST);
+        totals.add(Category.SALARY, false, 300000, 1, APRIL_FIRST);
+
+        assertEquals(450, totals.getExpenseTotals(1)[Category.DINING.ordinal()]);
+        assertEquals(300000, totals.getIncomeTotals(1)[Category.SALARY.ordinal()]);
+        assertEquals(1250, totals.getExpenseTotals(YearMonth.of(2024, 4))[Category.DINING.ordinal()]);
+        assertEquals(0, totals.getIncomeTotals(YearMonth.of(2024, 3))[Category.SALARY.ordinal()]);
+        assertEquals(0, totals.getExpenseTotals(3)[Category.DINING.ordinal()]);
+    }
+}
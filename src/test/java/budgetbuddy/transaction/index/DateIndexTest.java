@@ -0,0 +1,62 @@
+package budgetbuddy.transaction.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class DateIndexTest {
+
+    @Test
+    public void getRowsBetween_inclusiveRange_returnsRowsInRowOrder() {
+        DateIndex index = new DateIndex();
+        index.build(new int[] {30, 10, 20, 10, 40}, 5, new BitSet());
+
+        assertArrayEquals(new int[] {0, 1, 2, 3}, index.getRowsBetween(10, 30));
+        assertArrayEquals(new int[] {0, 4}, index.getRowsBetween(25, Integer.MAX_VALUE));
+        assertArrayEquals(new int[0], index.getRowsBetween(41, 50));
+        assertArrayEquals(new int[0], index.getRowsBetween(30, 10));
+        assertEquals(4, index.countRowsBetween(10, 30));
+        assertEquals(0, index.countRowsBetween(30, 10));
+    }
+
+    @Test
+    public void addUpdateRemove_keepIndexInStepWithTable() {
+        DateIndex index = new DateIndex();
+        index.build(new int[] {10, 20, 30}, 3, new BitSet());
+        for (int row = 3; row < 40; row++) {
+            index.add(row, 50);
+        }
+        index.update(0, 10, 35);
+        index.remove(1, 20);
+
+        assertArrayEquals(new int[] {0, 2}, index.getRowsBetween(30, 35));
+        assertArrayEquals(new int[0], index.getRowsBetween(10, 20));
+        assertEquals(37, index.getRowsBetween(50, 50).length);
+    }
+
+    @Test
+    public void build_withDeletedRows_leavesThemOut() {
+        BitSet deletedRows = new BitSet();
+        deletedRows.set(1);
+        deletedRows.set(3);
+        DateIndex index = new DateIndex();
+        index.build(new int[] {30, 10, 20, 10, 40}, 5, deletedRows);
+
+        assertArrayEquals(new int[] {0, 2}, index.getRowsBetween(10, 30));
+        assertEquals(3, index.countRowsBetween(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void invalidate_dropsIndexUntilRebuilt() {
+        DateIndex index = new DateIndex();
+        index.build(new int[] {10}, 1, new BitSet());
+        index.invalidate();
+        index.add(1, 20);
+
+        assertFalse(index.isBuilt());
+    }
+}
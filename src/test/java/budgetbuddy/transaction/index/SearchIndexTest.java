@@ -0,0 +1,71 @@
+package budgetbuddy.transaction.index;
+
+import budgetbuddy.categories.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchIndexTest {
+    private static final int MARCH_FIRST = (int) LocalDate.of(2024, 3, 1).toEpochDay();
+    private static final int APRIL_FIRST = (int) LocalDate.of(2024, 4, 1).toEpochDay();
+
+    private SearchIndex index;
+
+    private static BitSet bitsOf(int... rowIds) {
+        BitSet bits = new BitSet();
+        for (int rowId : rowIds) {
+            bits.set(rowId);
+        }
+        return bits;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        int[] rowIds = {0, 1, 2};
+        Category[] categories = {Category.DINING, Category.GROCERIES, Category.SALARY};
+        int[] epochDays = {MARCH_FIRST, MARCH_FIRST, APRIL_FIRST};
+        long[] amountsInCents = {-450, -1250, 300000};
+        index = new SearchIndex();
+        index.build(rowIds, row -> categories[row], epochDays, amountsInCents, rowIds.length, new BitSet());
+    }
+
+    @Test
+    public void search_prefixOfAnyField_matchesRows() {
+        assertEquals(bitsOf(0), index.search("DIN"));
+        assertEquals(bitsOf(2), index.search("2024-04"));
+        assertEquals(bitsOf(0, 1), index.search("01-03-2024"));
+        assertEquals(bitsOf(1), index.search("12.5"));
+        assertEquals(bitsOf(), index.search("ining"));
+    }
+
+    @Test
+    public void search_keywordsAndOr_combineMatches() {
+        assertEquals(bitsOf(1), index.search("2024-03 groceries"));
+        assertEquals(bitsOf(1), index.search("2024-03 AND groceries"));
+        assertEquals(bitsOf(0, 2), index.search("dining OR salary"));
+        assertEquals(bitsOf(0, 2), index.search("2024-03 4.5 OR 3000"));
+    }
+
+    @Test
+    public void search_keywordMatcher_addsToKeywordMatches() {
+        Function<String, BitSet> matcher = keyword -> keyword.equals("ining") ? bitsOf(0, 2) : new BitSet();
+
+        assertEquals(bitsOf(0, 2), index.search("ining", matcher));
+        assertEquals(bitsOf(2), index.search("ining salary", matcher));
+    }
+
+    @Test
+    public void addAndRemove_updateMatches() {
+        index.remove(0, Category.DINING, MARCH_FIRST, -450);
+        index.add(3, Category.DINING, APRIL_FIRST, -2000);
+
+        assertEquals(bitsOf(3), index.search("dining"));
+        assertTrue(index.search("4.50").isEmpty());
+    }
+}
@@ -0,0 +1,40 @@
+package budgetbuddy.transaction.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void trigramsOf_repeatedAndMixedCase_returnsDistinctFoldedTrigrams() {
+        assertEquals(1, TrigramIndex.trigramsOf("AAAaaa").length);
+        assertArrayEquals(TrigramIndex.trigramsOf("lunch"), TrigramIndex.trigramsOf("LUNCH"));
+        assertEquals(0, TrigramIndex.trigramsOf("ab").length);
+    }
+
+    @Test
+    public void findCandidates_substring_returnsRowsWithAllTrigrams() {
+        TrigramIndex index = new TrigramIndex();
+        index.build(new int[] {0, 1, 2}, new String[] {"Chicken rice", "Ricecake", "Rice noodles"}, 3,
+                new BitSet());
+
+        assertArrayEquals(new int[] {0, 1, 2}, index.findCandidates("ice"));
+        assertArrayEquals(new int[] {0}, index.findCandidates("ken ri"));
+        assertArrayEquals(new int[0], index.findCandidates("pasta"));
+    }
+
+    @Test
+    public void addAndRemove_updateCandidates() {
+        TrigramIndex index = new TrigramIndex();
+        index.build(new int[] {0, 1}, new String[] {"Lunch", "Brunch"}, 2, new BitSet());
+        index.remove(0, "Lunch");
+        index.add(5, "Munchies");
+
+        assertArrayEquals(new int[] {1, 5}, index.findCandidates("unch"));
+        assertArrayEquals(new int[0], index.findCandidates("lun"));
+    }
+}
@@ -1,6 +1,7 @@
 package budgetbuddy.transaction.type;
 
 import budgetbuddy.account.Account;
+import budgetbuddy.transaction.BalanceLedger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +20,13 @@ class ExpenseTest {
     }
 
     @Test
-    void expenseDecreasesAccountBalance() {
+    void expenseLeavesAccountBalanceUntilApplied() {
+        assertEquals(0.0, account.getBalance());
+    }
+
+    @Test
+    void appliedExpenseDecreasesAccountBalance() {
+        BalanceLedger.apply(account, new Expense(1, "Test Account", "Test Expense", 100.0, "01-01-2023"));
         assertEquals(-100.0, account.getBalance());
     }
 
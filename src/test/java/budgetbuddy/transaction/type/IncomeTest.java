@@ -1,6 +1,7 @@
 package budgetbuddy.transaction.type;
 
 import budgetbuddy.account.Account;
+import budgetbuddy.transaction.BalanceLedger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +20,13 @@ public class IncomeTest {
     }
 
     @Test
-    void incomeIncreasesAccountBalance() {
+    void incomeLeavesAccountBalanceUntilApplied() {
+        assertEquals(0.0, account.getBalance());
+    }
+
+    @Test
+    void appliedIncomeIncreasesAccountBalance() {
+        BalanceLedger.apply(account, new Income(1, "Test Account", "Test Income", 100.0, "01-01-2023"));
         assertEquals(100.0, account.getBalance());
     }
 
@@ -0,0 +1,69 @@
+package budgetbuddy.ui;
+
+import budgetbuddy.categories.Category;
+import budgetbuddy.exceptions.InvalidCategoryException;
+import budgetbuddy.transaction.type.Expense;
+import budgetbuddy.transaction.type.Income;
+import budgetbuddy.transaction.type.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TransactionTableRendererTest {
+
+    private static String render(List<Transaction> transactions, TransactionTableRenderer.Column[] columns) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        new TransactionTableRenderer(out, columns).render(transactions);
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void render_allColumns_matchesFormattedTable() throws InvalidCategoryException {
+        List<Transaction> transactions = new ArrayList<>();
+        Transaction expense = new Expense(4110, "Main", "A description far longer than forty-five characters in total",
+                33350L, LocalDate.of(2023, 8, 9));
+        expense.setCategory(Category.fromNumber(5));
+        expense.setId(3);
+        Transaction income = new Income(2630, "Caf\u00e9 savings", "Pay", 5L, LocalDate.of(2024, 1, 1));
+        income.setCategory(Category.fromNumber(8));
+        income.setId(1234567);
+        transactions.add(expense);
+        transactions.add(income);
+
+        StringBuilder expected = new StringBuilder(String.format(
+                "        %-5s %-10s %-20s %-20s %-30s %-15s %-15s %-15s%n", "ID", "Type", "Account Number",
+                "Account Name", "Transaction", "Date", "Amount", "Category"));
+        for (Transaction t : transactions) {
+            expected.append(String.format("        %-5d %-10s %-20d %-20.45s %-30.45s %-15s %-15.2f %-15s%n",
+                    t.getId(), t.getTransactionType(), t.getAccountNumber(), t.getAccountName(), t.getDescription(),
+                    t.getDate(), t.getAmount(), t.getCategory().getCategoryName()));
+        }
+
+        assertEquals(expected.toString(), render(transactions, TransactionTableRenderer.ALL_COLUMNS));
+    }
+
+    @Test
+    public void render_moreRowsThanOneChunk_writesEveryRowInOrder() throws InvalidCategoryException {
+        List<Transaction> transactions = new ArrayList<>();
+        StringBuilder expected = new StringBuilder(String.format("        %-5s %-10s %-30s %-15s %-15s %-15s%n",
+                "ID", "Type", "Transaction", "Date", "Amount", "Category"));
+        for (int i = 1; i <= 2000; i++) {
+            Transaction expense = new Expense(4110, "Main", "Item" + i, i * 7L, LocalDate.of(2024, 1, 1));
+            expense.setCategory(Category.fromNumber(i % 9 + 1));
+            expense.setId(i);
+            transactions.add(expense);
+            expected.append(String.format("        %-5d %-10s %-30.45s %-15s %-15.2f %-15s%n", i, "Expense",
+                    "Item" + i, expense.getDate(), expense.getAmount(), expense.getCategory().getCategoryName()));
+        }
+
+        assertEquals(expected.toString(), render(transactions, TransactionTableRenderer.ACCOUNT_COLUMNS));
+    }
+}